@@ -0,0 +1,81 @@
+#!/usr/bin/env sh
+# Compares time-to-first-successful-request of the startup variants:
+#   jar      plain fat jar (java -jar)
+#   aot      Spring AOT-processed jar (-Dspring.aot.enabled=true)
+#   aot-cds  AOT plus an AppCDS archive recorded by a training run
+#   native   GraalVM executable, when target/payment-service exists
+#
+# Build first with `mvn -P aot package -DskipTests` (and `mvn -P native native:compile -DskipTests` for native).
+# Every run needs the database from DATABASE_URL / DATABASE_USERNAME / DATABASE_PASSWORD, as in production.
+#
+# Usage: scripts/startup-benchmark.sh [runs]   (default 5; PROBE_URL and PORT override the probe target)
+set -eu
+
+RUNS=${1:-5}
+PORT=${PORT:-8082}
+PROBE_URL=${PROBE_URL:-http://localhost:${PORT}/actuator/health}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+WORK="$ROOT/target/startup-benchmark"
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+JAR=$(ls "$ROOT"/target/*.jar 2>/dev/null | grep -v '\.original$' | head -n 1 || true)
+if [ -z "$JAR" ]; then
+    echo "No jar in target/; run: mvn -P aot package -DskipTests" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the command in the background and prints the milliseconds until PROBE_URL answers 2xx
+time_to_first_request() {
+    start=$(now_ms)
+    "$@" > "$WORK/last-run.log" 2>&1 &
+    pid=$!
+    until curl -fs -o /dev/null "$PROBE_URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Process exited before serving requests, see $WORK/last-run.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    end=$(now_ms)
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo $((end - start))
+}
+
+benchmark() {
+    name=$1
+    shift
+    results=""
+    i=0
+    while [ "$i" -lt "$RUNS" ]; do
+        results="$results $(time_to_first_request "$@")"
+        i=$((i + 1))
+    done
+    echo "$results" | tr ' ' '\n' | sed '/^$/d' | sort -n | awk -v name="$name" '
+        { ms[NR] = $1 }
+        END { printf "%-8s runs=%d min=%dms median=%dms max=%dms\n", name, NR, ms[1], ms[int((NR + 1) / 2)], ms[NR] }'
+}
+
+mkdir -p "$WORK"
+rm -rf "$WORK/application"
+"$JAVA" -Djarmode=tools -jar "$JAR" extract --destination "$WORK/application"
+APP_JAR="$WORK/application/$(basename "$JAR")"
+
+# Same training run as the Dockerfile: on the AOT path that aot-cds starts, stopping after refresh without
+# touching the database
+"$JAVA" -XX:ArchiveClassesAtExit="$WORK/application/application.jsa" -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.flyway.enabled=false -Dspring.jpa.hibernate.ddl-auto=none \
+    -Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false \
+    -jar "$APP_JAR" > "$WORK/training.log" 2>&1
+
+benchmark jar "$JAVA" -jar "$JAR"
+benchmark aot "$JAVA" -Dspring.aot.enabled=true -jar "$APP_JAR"
+benchmark aot-cds "$JAVA" -XX:SharedArchiveFile="$WORK/application/application.jsa" -Dspring.aot.enabled=true -jar "$APP_JAR"
+if [ -x "$ROOT/target/payment-service" ]; then
+    benchmark native "$ROOT/target/payment-service"
+fi
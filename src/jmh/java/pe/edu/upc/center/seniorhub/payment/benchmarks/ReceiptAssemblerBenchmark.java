@@ -0,0 +1,49 @@
+package pe.edu.upc.center.seniorhub.payment.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.UpdateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.CreateReceiptResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.ReceiptResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.UpdateReceiptResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.CreateReceiptCommandFromResourceAssembler;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.ReceiptResourceFromEntityAssembler;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.UpdateReceiptCommandFromResourceAssembler;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReceiptAssemblerBenchmark {
+
+    private Receipt receipt;
+    private CreateReceiptResource createResource;
+    private UpdateReceiptResource updateResource;
+
+    @Setup
+    public void setUp() {
+        receipt = ReceiptFixtures.receipt(7L);
+        createResource = ReceiptFixtures.createResource(7L);
+        updateResource = ReceiptFixtures.updateResource(7L);
+    }
+
+    @Benchmark
+    public ReceiptResource resourceFromEntity() {
+        return ReceiptResourceFromEntityAssembler.toResourceFromEntity(receipt);
+    }
+
+    @Benchmark
+    public CreateReceiptCommand createCommandFromResource() {
+        return CreateReceiptCommandFromResourceAssembler.toCommandFromResource(createResource);
+    }
+
+    @Benchmark
+    public UpdateReceiptCommand updateCommandFromResource() {
+        return UpdateReceiptCommandFromResourceAssembler.toCommandFromResource(7L, updateResource);
+    }
+}
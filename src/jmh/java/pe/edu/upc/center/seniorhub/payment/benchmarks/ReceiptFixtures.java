@@ -0,0 +1,47 @@
+package pe.edu.upc.center.seniorhub.payment.benchmarks;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.CreateReceiptResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.ReceiptResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.UpdateReceiptResource;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+
+final class ReceiptFixtures {
+    private static final Date ISSUE_DATE = new Date(1_790_000_000_000L);
+    private static final Date DUE_DATE = new Date(1_792_000_000_000L);
+
+    private ReceiptFixtures() {}
+
+    static Receipt receipt(long residentId) {
+        return new Receipt(ISSUE_DATE, DUE_DATE, Money.ofMinor(25_000), false, new ResidentId(residentId), 42L, ISSUE_DATE,
+                Money.ofMinor(10_000), 2L, "MONTHLY");
+    }
+
+    static CreateReceiptCommand createCommand(long residentId) {
+        return new CreateReceiptCommand(ISSUE_DATE, DUE_DATE, Money.ofMinor(25_000), false, new ResidentId(residentId), null,
+                ISSUE_DATE, Money.ZERO, 2L, "MONTHLY");
+    }
+
+    static CreateReceiptResource createResource(long residentId) {
+        return new CreateReceiptResource(ISSUE_DATE, DUE_DATE, Money.ofMinor(25_000), false, residentId, null, ISSUE_DATE, Money.ZERO,
+                2L, "MONTHLY");
+    }
+
+    static UpdateReceiptResource updateResource(long residentId) {
+        return new UpdateReceiptResource(ISSUE_DATE, DUE_DATE, Money.ofMinor(25_000), true, residentId, 42L, ISSUE_DATE, Money.ofMinor(25_000),
+                2L, "MONTHLY");
+    }
+
+    static List<ReceiptResource> resources(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ReceiptResource((long) i + 1, ISSUE_DATE, DUE_DATE, Money.ofMinor(25_000), false, (long) i + 1,
+                        42L, ISSUE_DATE, Money.ofMinor(10_000), 2L, "MONTHLY"))
+                .toList();
+    }
+}
@@ -0,0 +1,38 @@
+package pe.edu.upc.center.seniorhub.payment.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.ReceiptResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.serialization.MoneyJacksonModule;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReceiptJsonSerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int receipts;
+
+    private ObjectMapper objectMapper;
+    private List<ReceiptResource> resources;
+
+    @Setup
+    public void setUp() {
+        // Same defaults and Money module Spring Boot applies to the MVC ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new MoneyJacksonModule()).build();
+        resources = ReceiptFixtures.resources(receipts);
+    }
+
+    @Benchmark
+    public byte[] serializeReceiptList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(resources);
+    }
+}
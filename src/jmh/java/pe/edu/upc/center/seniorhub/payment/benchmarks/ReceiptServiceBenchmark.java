@@ -0,0 +1,88 @@
+package pe.edu.upc.center.seniorhub.payment.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.BulkCreateReceiptsCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptByReceiptIdQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsByResidentIdQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsPageQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptCommandService;
+import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptQueryService;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * Command and query services end to end against the embedded H2 database of the test profile.
+ * Query caches are disabled so the numbers reflect the database path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReceiptServiceBenchmark {
+
+    private static final int SEEDED_RECEIPTS = 10_000;
+
+    private final AtomicLong nextResidentId = new AtomicLong(1_000_000L);
+
+    private ConfigurableApplicationContext context;
+    private ReceiptCommandService commandService;
+    private ReceiptQueryService queryService;
+    private List<Long> receiptIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        var application = new SpringApplication(PaymentMicroserviceApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles("test");
+        context = application.run("--spring.cache.type=none", "--logging.level.root=warn");
+        commandService = context.getBean(ReceiptCommandService.class);
+        queryService = context.getBean(ReceiptQueryService.class);
+
+        var seed = LongStream.rangeClosed(1, SEEDED_RECEIPTS).mapToObj(ReceiptFixtures::createCommand).toList();
+        receiptIds = commandService.handle(new BulkCreateReceiptsCommand(seed)).stream()
+                .map(result -> result.receiptId())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Receipt> createReceipt() {
+        CreateReceiptCommand command = ReceiptFixtures.createCommand(nextResidentId.incrementAndGet());
+        return commandService.handle(command);
+    }
+
+    @Benchmark
+    public Optional<Receipt> getReceiptById() {
+        var receiptId = receiptIds.get(ThreadLocalRandom.current().nextInt(receiptIds.size()));
+        return queryService.handle(new GetReceiptByReceiptIdQuery(receiptId));
+    }
+
+    @Benchmark
+    public List<Receipt> getReceiptsByResident() {
+        var residentId = ThreadLocalRandom.current().nextLong(1, SEEDED_RECEIPTS + 1);
+        return queryService.handle(new GetReceiptsByResidentIdQuery(residentId));
+    }
+
+    @Benchmark
+    public List<Receipt> getReceiptsPage() {
+        var afterReceiptId = receiptIds.get(ThreadLocalRandom.current().nextInt(receiptIds.size() - 100));
+        return queryService.handle(new GetReceiptsPageQuery(afterReceiptId, 100));
+    }
+}
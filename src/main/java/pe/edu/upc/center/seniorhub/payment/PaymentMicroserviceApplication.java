@@ -2,10 +2,15 @@ package pe.edu.upc.center.seniorhub.payment;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.aot.PaymentRuntimeHints;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
+@ImportRuntimeHints(PaymentRuntimeHints.class)
 public class PaymentMicroserviceApplication {
 
     public static void main(String[] args) {
@@ -1,73 +1,231 @@
 package pe.edu.upc.center.seniorhub.payment.application.internal.commandservices;
 
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upc.center.seniorhub.payment.application.internal.eventhandlers.ResidentReceiptSummaryProjector;
+import pe.edu.upc.center.seniorhub.payment.application.internal.outboundservices.acl.ExternalResidentService;
 import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.BulkCreateReceiptsCommand;
 import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
 import pe.edu.upc.center.seniorhub.payment.domain.model.commands.DeleteReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.ExportReceiptsCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.RebuildResidentReceiptSummariesCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.RecordPaymentCommand;
 import pe.edu.upc.center.seniorhub.payment.domain.model.commands.UpdateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.events.ReceiptCreatedEvent;
+import pe.edu.upc.center.seniorhub.payment.domain.model.events.ReceiptDeletedEvent;
+import pe.edu.upc.center.seniorhub.payment.domain.model.events.ReceiptPaymentRecordedEvent;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptView;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.RecordedPayment;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.BulkCreateReceiptResult;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ReceiptExportResult;
 import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptCommandService;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.caching.ReceiptCacheInvalidator;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.export.ReceiptExporter;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.integration.outbox.NotificationOutboxEntry;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptBatchInsertRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptPaymentRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptSummaryContribution;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptSummaryRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.NotificationOutboxRepository;
 import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.ReceiptRepository;
-import pe.edu.upc.center.seniorhub.payment.infrastructure.integration.NotificationServiceClient;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 @Service
 public class ReceiptCommandServiceImpl implements ReceiptCommandService {
     private final ReceiptRepository receiptRepository;
-    private final NotificationServiceClient notificationServiceClient;
+    private final ReceiptBatchInsertRepository receiptBatchInsertRepository;
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final ReceiptSummaryRepository receiptSummaryRepository;
+    private final ReceiptPaymentRepository receiptPaymentRepository;
+    private final ReceiptCacheInvalidator receiptCacheInvalidator;
+    private final ResidentReceiptSummaryProjector residentReceiptSummaryProjector;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReceiptExporter receiptExporter;
+    private final ExternalResidentService externalResidentService;
+    private final TransactionTemplate transactionTemplate;
 
-    public ReceiptCommandServiceImpl(ReceiptRepository receiptRepository, NotificationServiceClient notificationServiceClient) {
+    public ReceiptCommandServiceImpl(ReceiptRepository receiptRepository,
+                                     ReceiptBatchInsertRepository receiptBatchInsertRepository,
+                                     NotificationOutboxRepository notificationOutboxRepository,
+                                     ReceiptSummaryRepository receiptSummaryRepository,
+                                     ReceiptPaymentRepository receiptPaymentRepository,
+                                     ReceiptCacheInvalidator receiptCacheInvalidator,
+                                     ResidentReceiptSummaryProjector residentReceiptSummaryProjector,
+                                     ApplicationEventPublisher eventPublisher,
+                                     ReceiptExporter receiptExporter,
+                                     ExternalResidentService externalResidentService,
+                                     TransactionTemplate transactionTemplate) {
         this.receiptRepository = receiptRepository;
-        this.notificationServiceClient = notificationServiceClient;
+        this.receiptBatchInsertRepository = receiptBatchInsertRepository;
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.receiptSummaryRepository = receiptSummaryRepository;
+        this.receiptPaymentRepository = receiptPaymentRepository;
+        this.receiptCacheInvalidator = receiptCacheInvalidator;
+        this.residentReceiptSummaryProjector = residentReceiptSummaryProjector;
+        this.eventPublisher = eventPublisher;
+        this.receiptExporter = receiptExporter;
+        this.externalResidentService = externalResidentService;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
-    public Long handle(CreateReceiptCommand command) {
-        if (this.receiptRepository.existsByResidentId(command.residentId())) {
-            throw new IllegalArgumentException("Receipt with Resident ID " + command.residentId() + " already exists");
+    @Timed(value = "payment.receipt.commands", extraTags = {"command", "create"})
+    public Optional<Receipt> handle(CreateReceiptCommand command) {
+        // Residents are verified before the transaction, so a slow residents service never holds a pool connection
+        if (!this.externalResidentService.exists(command.residentId().getValue())) {
+            return Optional.empty();
         }
+        return Optional.of(this.transactionTemplate.execute(status -> create(command)));
+    }
 
-        Receipt receipt = new Receipt(command);
+    private Receipt create(CreateReceiptCommand command) {
+        // Retried requests are deduplicated by their Idempotency-Key before reaching this handler
+        Receipt receipt;
         try {
-            this.receiptRepository.save(receipt);
+            receipt = this.receiptRepository.save(new Receipt(command));
         } catch (Exception e) {
             throw new IllegalArgumentException("Error while saving receipt: " + e.getMessage());
         }
 
-        // Send notification about created receipt (best-effort)
-        try {
-            String message = String.format("Receipt created: total=%.2f, due=%s",
-                    command.totalAmount() != null ? command.totalAmount() : 0.0f,
-                    command.dueDate() != null ? command.dueDate().toString() : "");
-
-            // ResidentId value object - obtain numeric id for notification
-            Long residentIdValue = null;
-            if (command.residentId() != null) {
-                try {
-                    residentIdValue = command.residentId().getValue();
-                } catch (Exception ignored) {
-                }
+        // Queue the notification in the same transaction; NotificationOutboxDispatcher delivers it
+        this.notificationOutboxRepository.save(receiptCreatedNotification(receipt.getId(), command));
+        this.receiptSummaryRepository.apply(List.of(ReceiptSummaryContribution.of(receipt)), List.of());
+        this.receiptCacheInvalidator.evict(receipt.getId(), command.residentId().getValue());
+
+        return receipt;
+    }
+
+    @Override
+    @Timed(value = "payment.receipt.commands", extraTags = {"command", "bulk-create"})
+    public List<BulkCreateReceiptResult> handle(BulkCreateReceiptsCommand command) {
+        var receipts = command.receipts();
+        var results = new BulkCreateReceiptResult[receipts.size()];
+
+        var valid = new ArrayList<Integer>();
+        for (int index = 0; index < receipts.size(); index++) {
+            var error = validate(receipts.get(index));
+            if (error != null) {
+                results[index] = BulkCreateReceiptResult.rejected(index, error);
+            } else {
+                valid.add(index);
             }
+        }
 
-            if (residentIdValue != null) {
-                notificationServiceClient.sendNotification(residentIdValue, message);
+        // One cache pass for the whole request, before the transaction; only its misses reach the residents
+        // service, in batches
+        var unknownResidents = this.externalResidentService.findUnknown(
+                valid.stream().map(index -> receipts.get(index).residentId().getValue()).toList());
+        var accepted = new ArrayList<CreateReceiptCommand>();
+        var acceptedIndexes = new ArrayList<Integer>();
+        for (var index : valid) {
+            var residentId = receipts.get(index).residentId().getValue();
+            if (unknownResidents.contains(residentId)) {
+                results[index] = BulkCreateReceiptResult.rejected(index, "Resident " + residentId + " does not exist");
+            } else {
+                accepted.add(receipts.get(index));
+                acceptedIndexes.add(index);
             }
-        } catch (Exception e) {
-            System.err.println("Failed to send notification for receipt: " + e.getMessage());
         }
 
-        return receipt.getId();
+        if (!accepted.isEmpty()) {
+            this.transactionTemplate.executeWithoutResult(status -> insert(accepted, acceptedIndexes, results));
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private void insert(List<CreateReceiptCommand> accepted, List<Integer> acceptedIndexes,
+                        BulkCreateReceiptResult[] results) {
+        var receiptIds = this.receiptBatchInsertRepository.insertReceipts(accepted);
+        var notifications = new ArrayList<NotificationOutboxEntry>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            results[acceptedIndexes.get(i)] = BulkCreateReceiptResult.created(acceptedIndexes.get(i), receiptIds.get(i));
+            notifications.add(receiptCreatedNotification(receiptIds.get(i), accepted.get(i)));
+            // The JDBC batch never materializes aggregates, so the handler raises what save() would have
+            this.eventPublisher.publishEvent(
+                    new ReceiptCreatedEvent(receiptIds.get(i), accepted.get(i).residentId().getValue()));
+        }
+        this.receiptBatchInsertRepository.insertOutboxEntries(notifications);
+        this.receiptSummaryRepository.apply(
+                accepted.stream().map(ReceiptSummaryContribution::of).toList(), List.of());
+        this.receiptCacheInvalidator.evict(receiptIds,
+                accepted.stream().map(receipt -> receipt.residentId().getValue()).toList());
+    }
+
+    private static String validate(CreateReceiptCommand command) {
+        if (command == null) {
+            return "Receipt must not be null";
+        }
+        if (command.residentId() == null) {
+            return "Resident ID is required";
+        }
+        if (command.issueDate() == null || command.dueDate() == null || command.paymentDate() == null) {
+            return "Issue, due and payment dates are required";
+        }
+        if (command.totalAmount() == null || command.totalAmount().isNegative()
+                || command.amountPaid() == null || command.amountPaid().isNegative()) {
+            return "Total amount and amount paid must be zero or positive";
+        }
+        if (command.status() == null || command.paymentMethod() == null || command.type() == null) {
+            return "Status, payment method and type are required";
+        }
+        return null;
+    }
+
+    private static NotificationOutboxEntry receiptCreatedNotification(Long receiptId, CreateReceiptCommand command) {
+        String message = String.format("Receipt created: total=%s, due=%s",
+                command.totalAmount() != null ? command.totalAmount() : Money.ZERO,
+                command.dueDate() != null ? command.dueDate().toString() : "");
+        return new NotificationOutboxEntry("receipt-created:" + receiptId, command.residentId().getValue(), message);
     }
 
     @Override
+    @Timed(value = "payment.receipt.commands", extraTags = {"command", "update"})
     public Optional<Receipt> handle(UpdateReceiptCommand command) {
+        // Whether the resident changes is only known inside the transaction. If it does and the residents cache
+        // cannot answer, that attempt rolls back before writing anything, the lookup runs with no pool connection
+        // held, and the update is retried with the answer
+        var attempt = this.transactionTemplate.execute(status -> update(command, null));
+        if (attempt.residentLookupRequired()) {
+            var newResidentExists = this.externalResidentService.exists(command.residentId().getValue());
+            attempt = this.transactionTemplate.execute(status -> update(command, newResidentExists));
+        }
+        return attempt.receipt();
+    }
+
+    private UpdateAttempt update(UpdateReceiptCommand command, Boolean newResidentExists) {
         var receiptId = command.receiptId();
+        var receiptToUpdate = this.receiptRepository.findById(receiptId)
+                .orElseThrow(() -> new IllegalArgumentException("Receipt " + receiptId + " does not exist"));
+        // If-Match precondition; a concurrent update after this check still fails on the versioned UPDATE
+        if (command.expectedVersion() != null && !command.expectedVersion().equals(receiptToUpdate.getVersion())) {
+            throw new OptimisticLockingFailureException("Receipt " + receiptId + " is at version "
+                    + receiptToUpdate.getVersion() + ", not " + command.expectedVersion());
+        }
 
-        if (!this.receiptRepository.existsById(receiptId)) {
-            throw new IllegalArgumentException("Receipt " + command.receiptId() + " does not exist");
+        if (command.residentId() != null && !command.residentId().equals(receiptToUpdate.getResidentId())) {
+            var exists = newResidentExists != null ? Optional.of(newResidentExists)
+                    : this.externalResidentService.existsIfCached(command.residentId().getValue());
+            if (exists.isEmpty()) {
+                return UpdateAttempt.RESIDENT_LOOKUP_REQUIRED;
+            }
+            if (!exists.get()) {
+                return UpdateAttempt.UNKNOWN_RESIDENT;
+            }
         }
 
-        var receiptToUpdate = this.receiptRepository.findById(receiptId).get();
+        var previousContribution = ReceiptSummaryContribution.of(receiptToUpdate);
         receiptToUpdate.updateInformation(
                 command.issueDate(),
                 command.dueDate(),
@@ -81,24 +239,111 @@ public class ReceiptCommandServiceImpl implements ReceiptCommandService {
                 command.type()
         );
 
+        // The entity is managed: saveAndFlush() merges nothing and only lets dirty checking issue the single
+        // UPDATE, but unlike a bare flush() it publishes the ReceiptUpdatedEvent registered above
         try {
-            var updatedReceipt = this.receiptRepository.save(receiptToUpdate);
-            return Optional.of(updatedReceipt);
+            this.receiptRepository.saveAndFlush(receiptToUpdate);
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new IllegalArgumentException("Error while updating receipt: " + e.getMessage());
         }
+        var updatedContribution = ReceiptSummaryContribution.of(receiptToUpdate);
+        if (!updatedContribution.equals(previousContribution)) {
+            this.receiptSummaryRepository.apply(List.of(updatedContribution), List.of(previousContribution));
+        }
+        this.receiptCacheInvalidator.evict(receiptId, previousContribution.residentId(), updatedContribution.residentId());
+        return new UpdateAttempt(Optional.of(receiptToUpdate), false);
+    }
+
+    private record UpdateAttempt(Optional<Receipt> receipt, boolean residentLookupRequired) {
+        static final UpdateAttempt UNKNOWN_RESIDENT = new UpdateAttempt(Optional.empty(), false);
+        static final UpdateAttempt RESIDENT_LOOKUP_REQUIRED = new UpdateAttempt(Optional.empty(), true);
     }
 
     @Override
-    public void handle(DeleteReceiptCommand command){
-        if (!this.receiptRepository.existsById(command.receiptId())){
-            throw new IllegalArgumentException("Receipt with id " + command.receiptId() + " does not exist");
+    @Transactional
+    @Timed(value = "payment.receipt.commands", extraTags = {"command", "record-payment"})
+    public Optional<RecordedPayment> handle(RecordPaymentCommand command) {
+        var receiptId = command.receiptId();
+        // Row lock first: concurrent payments on this receipt queue here, and the summary delta below is
+        // taken against the exact state this payment is applied to
+        var current = this.receiptPaymentRepository.findForUpdate(receiptId);
+        if (current.isEmpty()) {
+            return Optional.empty();
         }
+        var before = current.get();
+        if (command.expectedVersion() != null && !command.expectedVersion().equals(before.version())) {
+            throw new OptimisticLockingFailureException("Receipt " + receiptId + " is at version "
+                    + before.version() + ", not " + command.expectedVersion());
+        }
+        var outstanding = before.receipt().totalAmount().minus(before.receipt().amountPaid());
+        if (command.amount().compareTo(outstanding) > 0
+                || this.receiptPaymentRepository.recordPayment(command, Instant.now()) == 0) {
+            throw new IllegalArgumentException("Payment of " + command.amount() + " exceeds the outstanding "
+                    + outstanding + " of receipt " + receiptId);
+        }
+
+        var after = afterPayment(before, command);
+        this.receiptSummaryRepository.apply(List.of(ReceiptSummaryContribution.of(after.receipt())),
+                List.of(ReceiptSummaryContribution.of(before.receipt())));
+        this.receiptCacheInvalidator.evict(receiptId, after.receipt().residentId());
+        this.eventPublisher.publishEvent(new ReceiptPaymentRecordedEvent(receiptId, after.receipt().residentId(),
+                command.amount(), after.receipt().status()));
+        return Optional.of(after);
+    }
 
+    private static RecordedPayment afterPayment(RecordedPayment before, RecordPaymentCommand command) {
+        var receipt = before.receipt();
+        var amountPaid = receipt.amountPaid().plus(command.amount());
+        return new RecordedPayment(new ReceiptView(
+                receipt.receiptId(),
+                receipt.issueDate(),
+                receipt.dueDate(),
+                receipt.totalAmount(),
+                amountPaid.compareTo(receipt.totalAmount()) >= 0,
+                receipt.residentId(),
+                command.paymentId(),
+                command.paymentDate(),
+                amountPaid,
+                command.paymentMethod(),
+                receipt.type()), before.version() + 1);
+    }
+
+    @Override
+    @Transactional
+    @Timed(value = "payment.receipt.commands", extraTags = {"command", "delete"})
+    public void handle(DeleteReceiptCommand command){
+        var receiptId = command.receiptId();
+        // Primary key projection of the summary fields: enough to reverse the summaries and evict the resident's cache entry
+        var contribution = this.receiptRepository.findSummaryContributionById(receiptId)
+                .orElseThrow(() -> new IllegalArgumentException("Receipt with id " + receiptId + " does not exist"));
+
+        int deleted;
         try {
-            this.receiptRepository.deleteById(command.receiptId());
+            deleted = this.receiptRepository.deleteReceiptById(receiptId);
         }catch (Exception e){
             throw new IllegalArgumentException("Error while deleting receipt: "+ e.getMessage());
         }
+        if (deleted == 0) {
+            throw new IllegalArgumentException("Receipt with id " + receiptId + " does not exist");
+        }
+        this.receiptSummaryRepository.apply(List.of(), List.of(contribution));
+        this.receiptCacheInvalidator.evict(receiptId, contribution.residentId());
+        this.eventPublisher.publishEvent(new ReceiptDeletedEvent(receiptId, contribution.residentId()));
+    }
+
+    @Override
+    @Timed(value = "payment.receipt.commands", extraTags = {"command", "rebuild-resident-summaries"})
+    public int handle(RebuildResidentReceiptSummariesCommand command) {
+        // Not transactional: the projector commits chunk by chunk so a rebuild never holds one huge transaction
+        return this.residentReceiptSummaryProjector.rebuild();
+    }
+
+    @Override
+    @Timed(value = "payment.receipt.commands", extraTags = {"command", "export"})
+    public Optional<ReceiptExportResult> handle(ExportReceiptsCommand command) {
+        // Reads through its own cursor and commits nothing, so no transaction here either
+        return this.receiptExporter.export(command.exportName());
     }
 }
\ No newline at end of file
@@ -0,0 +1,183 @@
+package pe.edu.upc.center.seniorhub.payment.application.internal.eventhandlers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upc.center.seniorhub.payment.domain.model.events.ReceiptCreatedEvent;
+import pe.edu.upc.center.seniorhub.payment.domain.model.events.ReceiptDeletedEvent;
+import pe.edu.upc.center.seniorhub.payment.domain.model.events.ReceiptPaymentRecordedEvent;
+import pe.edu.upc.center.seniorhub.payment.domain.model.events.ReceiptUpdatedEvent;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ResidentReceiptSummaryRepository;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Projects receipt events into {@code resident_receipt_summary} off the request thread. Listeners run after
+ * the writing transaction commits and only mark the resident dirty; one background thread then recomputes
+ * dirty residents in chunks, so a burst of writes for one resident costs a single refresh and readers of
+ * the summary never take locks on {@code receipt} rows a writer is holding.
+ */
+@Component
+public class ResidentReceiptSummaryProjector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResidentReceiptSummaryProjector.class);
+    private static final String REFRESHES_METER = "payment.receipts.read-model.refreshes";
+
+    private final ResidentReceiptSummaryRepository summaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService projectionExecutor;
+    private final Set<Long> pendingResidentIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final int chunkSize;
+    private final Counter refreshedCounter;
+    private final Counter failedCounter;
+
+    public ResidentReceiptSummaryProjector(ResidentReceiptSummaryRepository summaryRepository,
+                                           TransactionTemplate transactionTemplate,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${payment.receipts.read-model.chunk-size:200}") int chunkSize) {
+        this.summaryRepository = summaryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.projectionExecutor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("read-model-projector").daemon(true).factory());
+        this.chunkSize = chunkSize;
+        this.refreshedCounter = meterRegistry.counter(REFRESHES_METER, "outcome", "refreshed");
+        this.failedCounter = meterRegistry.counter(REFRESHES_METER, "outcome", "failed");
+        meterRegistry.gaugeCollectionSize("payment.receipts.read-model.pending", List.of(), pendingResidentIds);
+    }
+
+    // fallbackExecution covers writes made outside a transaction, e.g. direct repository calls in tests
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ReceiptCreatedEvent event) {
+        enqueue(event.residentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ReceiptUpdatedEvent event) {
+        enqueue(event.previousResidentId(), event.residentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ReceiptPaymentRecordedEvent event) {
+        enqueue(event.residentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ReceiptDeletedEvent event) {
+        enqueue(event.residentId());
+    }
+
+    /** Picks up residents left pending by a failed refresh. */
+    @Scheduled(fixedDelayString = "${payment.receipts.read-model.retry-interval:PT30S}",
+            initialDelayString = "${payment.receipts.read-model.retry-interval:PT30S}")
+    public void retryPending() {
+        if (!pendingResidentIds.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    /** Blocks until every resident marked dirty before the call has been projected. */
+    public void flush() {
+        try {
+            projectionExecutor.submit(this::drain).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while flushing the receipt read model", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not flush the receipt read model", e.getCause());
+        }
+    }
+
+    /**
+     * Replays the whole model from {@code receipt}: every resident with receipts is recomputed in keyset
+     * chunks, then rows the replay did not touch (residents without receipts left) are dropped.
+     * Returns the number of residents projected.
+     */
+    public int rebuild() {
+        var startedAt = now();
+        int residents = 0;
+        long afterResidentId = Long.MIN_VALUE;
+        List<Long> residentIds;
+        do {
+            residentIds = summaryRepository.findResidentIdsAfter(afterResidentId, chunkSize);
+            if (!residentIds.isEmpty()) {
+                refresh(residentIds);
+                afterResidentId = residentIds.getLast();
+                residents += residentIds.size();
+            }
+        } while (residentIds.size() == chunkSize);
+        var removed = transactionTemplate.execute(status -> summaryRepository.deleteRefreshedBefore(startedAt));
+        LOGGER.info("Rebuilt receipt read model: {} residents projected, {} stale rows removed", residents, removed);
+        return residents;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        projectionExecutor.shutdown();
+    }
+
+    private void enqueue(Long... residentIds) {
+        for (var residentId : residentIds) {
+            if (residentId != null) {
+                pendingResidentIds.add(residentId);
+            }
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            projectionExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        // Cleared first: ids added while this drain runs either get picked up here or schedule the next one
+        drainScheduled.set(false);
+        while (!pendingResidentIds.isEmpty()) {
+            var chunk = new ArrayList<Long>(chunkSize);
+            var iterator = pendingResidentIds.iterator();
+            while (iterator.hasNext() && chunk.size() < chunkSize) {
+                chunk.add(iterator.next());
+                iterator.remove();
+            }
+            try {
+                refresh(chunk);
+            } catch (RuntimeException e) {
+                pendingResidentIds.addAll(chunk);
+                failedCounter.increment(chunk.size());
+                LOGGER.warn("Could not refresh the receipt read model for {} residents, retrying later", chunk.size(), e);
+                return;
+            }
+        }
+    }
+
+    private void refresh(List<Long> residentIds) {
+        // Sorted so a drain and a concurrent rebuild lock summary rows in the same order
+        var orderedIds = new TreeSet<>(residentIds);
+        transactionTemplate.executeWithoutResult(status -> summaryRepository.refresh(orderedIds, now()));
+        refreshedCounter.increment(orderedIds.size());
+    }
+
+    // DATETIME(6) keeps microseconds; truncating here keeps the rebuild cut-off comparable with refreshed_at
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,151 @@
+package pe.edu.upc.center.seniorhub.payment.application.internal.outboundservices.acl;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.integration.ResidentServiceClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Anti-corruption layer over the residents service: answers whether resident ids exist, from a bounded local
+ * cache wherever possible. Known residents are kept for {@code ttl} and unknown ones for the shorter
+ * {@code negativeTtl}, so a resident registered moments ago is accepted soon after. Lookups for an id that is
+ * already being fetched wait on that fetch instead of issuing another, and the misses of a bulk create go out
+ * as batched multi-id requests.
+ */
+@Service
+public class ExternalResidentService {
+
+    private final ResidentServiceClient residentServiceClient;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final ExecutorService lookupExecutor;
+    private final AsyncLoadingCache<Long, Boolean> residents;
+
+    public ExternalResidentService(ResidentServiceClient residentServiceClient, MeterRegistry meterRegistry,
+                                   @Value("${payment.residents.validation.enabled:true}") boolean enabled,
+                                   @Value("${payment.residents.cache.maximum-size:100000}") long maximumSize,
+                                   @Value("${payment.residents.cache.ttl:PT10M}") Duration ttl,
+                                   @Value("${payment.residents.cache.negative-ttl:PT30S}") Duration negativeTtl,
+                                   @Value("${payment.residents.lookup.max-batch-size:100}") int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("payment.residents.lookup.max-batch-size must be positive");
+        }
+        this.residentServiceClient = residentServiceClient;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        // Lookups block on HTTP; the downstream bulkhead, not this executor, bounds how many run at once
+        this.lookupExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("resident-lookup-", 0).factory());
+        this.residents = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating((Long residentId, Boolean exists) -> exists ? ttl : negativeTtl))
+                .executor(lookupExecutor)
+                .recordStats()
+                .buildAsync(new ResidentLoader());
+        CaffeineCacheMetrics.monitor(meterRegistry, residents.synchronous(), "residents");
+    }
+
+    public boolean exists(Long residentId) {
+        return findUnknown(List.of(residentId)).isEmpty();
+    }
+
+    /**
+     * Answers from the cache only, never calling the residents service: empty when the resident is not cached
+     * or its lookup is still running. Safe to call while holding a database connection.
+     */
+    public Optional<Boolean> existsIfCached(Long residentId) {
+        if (!enabled) {
+            return Optional.of(true);
+        }
+        var cached = residents.getIfPresent(residentId);
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.of(cached.join());
+    }
+
+    /** Loads any of {@code residentIds} missing from the cache, so later checks need no remote call. */
+    public void prefetch(Collection<Long> residentIds) {
+        findUnknown(residentIds);
+    }
+
+    /**
+     * Returns the ids in {@code residentIds} that the residents service does not know. Throws
+     * {@link ResidentServiceUnavailableException} when a cache miss cannot be resolved.
+     */
+    public Set<Long> findUnknown(Collection<Long> residentIds) {
+        if (!enabled || residentIds.isEmpty()) {
+            return Set.of();
+        }
+        Map<Long, Boolean> known;
+        try {
+            known = residents.getAll(new LinkedHashSet<>(residentIds)).join();
+        } catch (CompletionException e) {
+            throw new ResidentServiceUnavailableException("Could not verify residents with the residents service",
+                    e.getCause() != null ? e.getCause() : e);
+        }
+        var unknown = new LinkedHashSet<Long>();
+        known.forEach((residentId, exists) -> {
+            if (!exists) {
+                unknown.add(residentId);
+            }
+        });
+        return unknown;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    private final class ResidentLoader implements AsyncCacheLoader<Long, Boolean> {
+
+        @Override
+        public CompletableFuture<Boolean> asyncLoad(Long residentId, Executor executor) {
+            return asyncLoadAll(Set.of(residentId), executor).thenApply(loaded -> loaded.get(residentId));
+        }
+
+        // Only the ids missing from the cache arrive here; they are split into requests of maxBatchSize run side by side
+        @Override
+        public CompletableFuture<Map<Long, Boolean>> asyncLoadAll(Set<? extends Long> residentIds, Executor executor) {
+            var ids = new ArrayList<Long>(residentIds);
+            var batches = new ArrayList<CompletableFuture<Map<Long, Boolean>>>();
+            for (int from = 0; from < ids.size(); from += maxBatchSize) {
+                var batch = ids.subList(from, Math.min(from + maxBatchSize, ids.size()));
+                batches.add(CompletableFuture.supplyAsync(() -> lookUp(batch), executor));
+            }
+            return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+                var loaded = new HashMap<Long, Boolean>(ids.size() * 2);
+                batches.forEach(batch -> loaded.putAll(batch.join()));
+                return loaded;
+            });
+        }
+
+        private Map<Long, Boolean> lookUp(List<Long> batch) {
+            var existing = residentServiceClient.findExistingResidentIds(batch);
+            var loaded = new HashMap<Long, Boolean>(batch.size() * 2);
+            batch.forEach(residentId -> loaded.put(residentId, existing.contains(residentId)));
+            return loaded;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package pe.edu.upc.center.seniorhub.payment.application.internal.outboundservices.acl;
+
+/**
+ * The residents service could not be asked whether a resident exists. Unlike an unknown resident this is
+ * transient, so callers answer 503 and the client may retry.
+ */
+public class ResidentServiceUnavailableException extends RuntimeException {
+
+    public ResidentServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
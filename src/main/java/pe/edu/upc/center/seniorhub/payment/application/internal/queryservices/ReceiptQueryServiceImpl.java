@@ -1,41 +1,125 @@
 package pe.edu.upc.center.seniorhub.payment.application.internal.queryservices;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptCollectionVersion;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptVersion;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptView;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ResidentReceiptSummary;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsPageQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.SearchReceiptsQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.StreamAllReceiptsQuery;
 import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
 import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetAllReceiptsQuery;
 import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptByDateQuery;
 import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptByReceiptIdQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptVersionQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsVersionByResidentIdQuery;
 import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsByResidentIdQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetResidentReceiptSummaryQuery;
 import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptQueryService;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.caching.ReceiptCacheNames;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ResidentReceiptSummaryRepository;
 import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.ReceiptRepository;
+import pe.edu.upc.center.seniorhub.payment.shared.infrastructure.persistence.ReadFromPrimary;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+// Read-only transactions: Hibernate loads entities read-only and skips dirty checking and flushes. They are
+// routed to a read replica when one is configured, except in the @ReadFromPrimary methods below
 @Service
+@Transactional(readOnly = true)
 public class ReceiptQueryServiceImpl implements ReceiptQueryService{
     private final ReceiptRepository receiptRepository;
+    private final EntityManager entityManager;
+    private final ResidentReceiptSummaryRepository residentReceiptSummaryRepository;
 
-    public ReceiptQueryServiceImpl(ReceiptRepository receiptRepository){
+    public ReceiptQueryServiceImpl(ReceiptRepository receiptRepository, EntityManager entityManager,
+                                   ResidentReceiptSummaryRepository residentReceiptSummaryRepository){
         this.receiptRepository = receiptRepository;
+        this.entityManager = entityManager;
+        this.residentReceiptSummaryRepository = residentReceiptSummaryRepository;
     }
 
     @Override
+    @Timed(value = "payment.receipt.queries", extraTags = {"query", "all"})
     public List<Receipt> handle(GetAllReceiptsQuery query) {return receiptRepository.findAll();}
 
     @Override
+    @Timed(value = "payment.receipt.queries", extraTags = {"query", "page"})
+    public List<Receipt> handle(GetReceiptsPageQuery query) {
+        return receiptRepository.findPageAfter(query.afterReceiptId(), Limit.of(query.size()));
+    }
+
+    @Override
+    @Timed(value = "payment.receipt.queries", extraTags = {"query", "stream"})
+    public void handle(StreamAllReceiptsQuery query, Consumer<Receipt> consumer) {
+        try (Stream<Receipt> receipts = receiptRepository.streamAllOrderById()) {
+            receipts.forEach(receipt -> {
+                consumer.accept(receipt);
+                // Detach each row once written so the persistence context stays empty
+                entityManager.detach(receipt);
+            });
+        }
+    }
+
+    // Cache fills and the versions behind ETags must see the caller's own writes: a replica up to max-replica-lag
+    // behind would re-cache a just-evicted row as it was before the write, or answer If-Match with a stale ETag
+    @Override
+    @Timed(value = "payment.receipt.queries", extraTags = {"query", "by-resident"})
+    @ReadFromPrimary
+    @Cacheable(cacheNames = ReceiptCacheNames.RECEIPTS_BY_RESIDENT, key = "#query.id()")
     public List<Receipt> handle(GetReceiptsByResidentIdQuery query) {
         return receiptRepository.findByResidentId(new ResidentId(query.id()));
     }
 
+    // Served from the projected read model: one primary key row, no aggregation over receipt
+    @Override
+    @Timed(value = "payment.receipt.queries", extraTags = {"query", "resident-summary"})
+    public Optional<ResidentReceiptSummary> handle(GetResidentReceiptSummaryQuery query) {
+        return residentReceiptSummaryRepository.findByResidentId(query.residentId());
+    }
+
     @Override
-    public Optional<Receipt> handle(GetReceiptByDateQuery query){
+    @Timed(value = "payment.receipt.queries", extraTags = {"query", "by-payment-date"})
+    public List<Receipt> handle(GetReceiptByDateQuery query){
         return receiptRepository.findByPaymentDate(query.date());
     }
 
     @Override
+    @Timed(value = "payment.receipt.queries", extraTags = {"query", "search"})
+    public List<ReceiptView> handle(SearchReceiptsQuery query) {
+        return receiptRepository.search(query);
+    }
+
+    // Version projections back the conditional GETs: an indexed lookup that never loads the entities
+    @Override
+    @Timed(value = "payment.receipt.queries", extraTags = {"query", "version-by-id"})
+    @ReadFromPrimary
+    public Optional<ReceiptVersion> handle(GetReceiptVersionQuery query) {
+        return receiptRepository.findVersionById(query.receiptId());
+    }
+
+    @Override
+    @Timed(value = "payment.receipt.queries", extraTags = {"query", "version-by-resident"})
+    @ReadFromPrimary
+    public ReceiptCollectionVersion handle(GetReceiptsVersionByResidentIdQuery query) {
+        return receiptRepository.findCollectionVersionByResidentId(query.residentId());
+    }
+
+    @Override
+    @Timed(value = "payment.receipt.queries", extraTags = {"query", "by-id"})
+    @ReadFromPrimary
+    @Cacheable(cacheNames = ReceiptCacheNames.RECEIPTS_BY_ID, key = "#query.receiptId()")
     public Optional<Receipt> handle(GetReceiptByReceiptIdQuery query){
         return receiptRepository.findById(query.receiptId());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package pe.edu.upc.center.seniorhub.payment.application.internal.queryservices;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.CollectedTotal;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.OverdueTotal;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ResidentBalance;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetCollectedTotalsQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetOverdueTotalsQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetResidentBalancesQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptReportQueryService;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptSummaryRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ResidentReceiptSummaryRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.ReceiptRepository;
+
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class ReceiptReportQueryServiceImpl implements ReceiptReportQueryService {
+
+    private final ReceiptSummaryRepository receiptSummaryRepository;
+    private final ResidentReceiptSummaryRepository residentReceiptSummaryRepository;
+    private final ReceiptRepository receiptRepository;
+
+    public ReceiptReportQueryServiceImpl(ReceiptSummaryRepository receiptSummaryRepository,
+                                         ResidentReceiptSummaryRepository residentReceiptSummaryRepository,
+                                         ReceiptRepository receiptRepository) {
+        this.receiptSummaryRepository = receiptSummaryRepository;
+        this.residentReceiptSummaryRepository = residentReceiptSummaryRepository;
+        this.receiptRepository = receiptRepository;
+    }
+
+    // Eventually consistent: the read model trails committed writes by one projector drain
+    @Override
+    @Timed(value = "payment.receipt.queries", extraTags = {"query", "resident-balances"})
+    public List<ResidentBalance> handle(GetResidentBalancesQuery query) {
+        return residentReceiptSummaryRepository.findResidentBalances(query.residentId(), query.outstandingOnly());
+    }
+
+    @Override
+    @Timed(value = "payment.receipt.queries", extraTags = {"query", "collected-totals"})
+    public List<CollectedTotal> handle(GetCollectedTotalsQuery query) {
+        return receiptSummaryRepository.findCollectedTotals(query.from(), query.to(), query.groupBy());
+    }
+
+    // Overdue depends on the reference date, so it cannot be pre-summed; the GROUP BY reads only
+    // unpaid receipts through idx_receipt_status_due_date
+    @Override
+    @Timed(value = "payment.receipt.queries", extraTags = {"query", "overdue-totals"})
+    public List<OverdueTotal> handle(GetOverdueTotalsQuery query) {
+        return receiptRepository.sumOverdueByType(query.asOf());
+    }
+}
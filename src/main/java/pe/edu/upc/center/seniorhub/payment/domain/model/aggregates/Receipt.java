@@ -3,13 +3,22 @@ package pe.edu.upc.center.seniorhub.payment.domain.model.aggregates;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.events.ReceiptCreatedEvent;
+import pe.edu.upc.center.seniorhub.payment.domain.model.events.ReceiptUpdatedEvent;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
 import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
 import pe.edu.upc.center.seniorhub.payment.shared.domain.aggregates.AuditableAbstractAggregateRoot;
 
 import java.util.Date;
 
 @Entity
-@Table(name = "receipt")
+@Table(name = "receipt",
+        indexes = {
+                @Index(name = "idx_receipt_resident_issue_date", columnList = "residentId, issueDate"),
+                @Index(name = "idx_receipt_issue_date", columnList = "issueDate"),
+                @Index(name = "idx_receipt_payment_date", columnList = "paymentDate"),
+                @Index(name = "idx_receipt_status_due_date", columnList = "status, dueDate")
+        })
 public class Receipt extends AuditableAbstractAggregateRoot<Receipt> {
 
     @NotNull
@@ -23,8 +32,8 @@ public class Receipt extends AuditableAbstractAggregateRoot<Receipt> {
     private Date dueDate;
 
     @NotNull
-    @Column(nullable = false)
-    private Float totalAmount;
+    @Column(name = "totalAmountMinor", nullable = false)
+    private Money totalAmount;
 
     @NotNull
     @Column(nullable = false)
@@ -43,8 +52,8 @@ public class Receipt extends AuditableAbstractAggregateRoot<Receipt> {
     private Date paymentDate;
 
     @NotNull
-    @Column(nullable = false)
-    private Float amountPaid;
+    @Column(name = "amountPaidMinor", nullable = false)
+    private Money amountPaid;
 
     @NotNull
     @Column(nullable = false)
@@ -54,9 +63,13 @@ public class Receipt extends AuditableAbstractAggregateRoot<Receipt> {
     @Column(nullable = false)
     private String type;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Constructor completo
-    public Receipt(Date issueDate, Date dueDate, Float totalAmount, Boolean status, ResidentId residentId, Long paymentId,
-                   Date paymentDate, Float amountPaid, Long paymentMethod, String type){
+    public Receipt(Date issueDate, Date dueDate, Money totalAmount, Boolean status, ResidentId residentId, Long paymentId,
+                   Date paymentDate, Money amountPaid, Long paymentMethod, String type){
      this.issueDate = issueDate;
      this.dueDate = dueDate;
      this.totalAmount = totalAmount;
@@ -87,10 +100,18 @@ public class Receipt extends AuditableAbstractAggregateRoot<Receipt> {
         );
     }
 
+    // The IDENTITY id only exists once the INSERT ran; Spring Data publishes the event when save() returns
+    @PostPersist
+    void onPersisted() {
+        registerEvent(new ReceiptCreatedEvent(getId(), residentId.getValue()));
+    }
+
     // Método para actualizar información básica
-    public void updateInformation(Date issueDate, Date dueDate, Float totalAmount, Boolean status, ResidentId residentId,
+    public void updateInformation(Date issueDate, Date dueDate, Money totalAmount, Boolean status, ResidentId residentId,
                                   Long paymentId,
-                                  Date paymentDate, Float amountPaid, Long paymentMethod, String type){
+                                  Date paymentDate, Money amountPaid, Long paymentMethod, String type){
+        registerEvent(new ReceiptUpdatedEvent(getId(), this.residentId.getValue(),
+                residentId == null ? null : residentId.getValue()));
         this.issueDate = issueDate;
         this.dueDate = dueDate;
         this.totalAmount = totalAmount;
@@ -106,12 +127,13 @@ public class Receipt extends AuditableAbstractAggregateRoot<Receipt> {
     // Getters
     public Date getIssueDate() { return issueDate; }
     public Date getDueDate() { return dueDate; }
-    public Float getTotalAmount() { return totalAmount; }
+    public Money getTotalAmount() { return totalAmount; }
     public Boolean getStatus() { return status; }
     public ResidentId getResidentId() { return residentId; }
     public Long getPaymentId() { return paymentId; }
     public Date getPaymentDate() { return paymentDate; }
-    public Float getAmountPaid() { return amountPaid; }
+    public Money getAmountPaid() { return amountPaid; }
     public Long getPaymentMethod() { return paymentMethod; }
     public String getType() { return type; }
+    public Long getVersion() { return version; }
 }
\ No newline at end of file
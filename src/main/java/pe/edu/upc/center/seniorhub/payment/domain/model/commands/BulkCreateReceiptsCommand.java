@@ -0,0 +1,13 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.commands;
+
+import java.util.List;
+
+public record BulkCreateReceiptsCommand(List<CreateReceiptCommand> receipts) {
+
+    public BulkCreateReceiptsCommand {
+        if (receipts == null) {
+            throw new IllegalArgumentException("Receipts must not be null");
+        }
+        receipts = List.copyOf(receipts);
+    }
+}
@@ -1,17 +1,18 @@
 package pe.edu.upc.center.seniorhub.payment.domain.model.commands;
 
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
 import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
 import java.util.Date;
 
 public record CreateReceiptCommand(
         Date issueDate,
         Date dueDate,
-        Float totalAmount,
+        Money totalAmount,
         Boolean status,
         ResidentId residentId,
         Long paymentId,
         Date paymentDate,
-        Float amountPaid,
+        Money amountPaid,
         Long paymentMethod,
         String type
 ) {}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.commands;
+
+import java.util.regex.Pattern;
+
+public record ExportReceiptsCommand(String exportName) {
+
+    private static final Pattern EXPORT_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,99}");
+
+    public ExportReceiptsCommand {
+        // The name becomes a file name in the export directory, so no separators or leading dots
+        if (exportName == null || !EXPORT_NAME.matcher(exportName).matches()) {
+            throw new IllegalArgumentException("Export name must be 1-100 letters, digits, '.', '_' or '-'");
+        }
+    }
+}
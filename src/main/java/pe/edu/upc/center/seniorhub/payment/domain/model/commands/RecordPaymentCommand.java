@@ -0,0 +1,30 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.commands;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+import java.util.Date;
+
+/**
+ * Adds {@code amount} to a receipt's amount paid. Unlike {@link UpdateReceiptCommand} it only carries the
+ * payment, so concurrent partial payments add up instead of overwriting each other.
+ */
+public record RecordPaymentCommand(
+        Long receiptId,
+        Money amount,
+        Long paymentId,
+        Date paymentDate,
+        Long paymentMethod,
+        Long expectedVersion
+) {
+    public RecordPaymentCommand {
+        if (receiptId == null) {
+            throw new IllegalArgumentException("Receipt ID is required");
+        }
+        if (amount == null || amount.isNegative() || amount.isZero()) {
+            throw new IllegalArgumentException("Payment amount must be positive");
+        }
+        if (paymentDate == null || paymentMethod == null) {
+            throw new IllegalArgumentException("Payment date and payment method are required");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package pe.edu.upc.center.seniorhub.payment.domain.model.commands;
 
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
 import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
 import java.util.Date;
 
@@ -7,12 +8,13 @@ public record UpdateReceiptCommand(
         Long receiptId,
         Date issueDate,
         Date dueDate,
-        Float totalAmount,
+        Money totalAmount,
         Boolean status,
         ResidentId residentId,
         Long paymentId,
         Date paymentDate,
-        Float amountPaid,
+        Money amountPaid,
         Long paymentMethod,
-        String type
+        String type,
+        Long expectedVersion
 ) {}
\ No newline at end of file
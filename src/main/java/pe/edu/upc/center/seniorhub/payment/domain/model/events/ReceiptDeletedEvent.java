@@ -0,0 +1,4 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.events;
+
+public record ReceiptDeletedEvent(Long receiptId, Long residentId) {
+}
@@ -0,0 +1,6 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.events;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+public record ReceiptPaymentRecordedEvent(Long receiptId, Long residentId, Money amount, Boolean paidInFull) {
+}
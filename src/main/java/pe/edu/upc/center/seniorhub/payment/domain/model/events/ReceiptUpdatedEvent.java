@@ -0,0 +1,8 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.events;
+
+/**
+ * A receipt's details were replaced; {@code previousResidentId} differs from {@code residentId} when the
+ * receipt moved to another resident.
+ */
+public record ReceiptUpdatedEvent(Long receiptId, Long previousResidentId, Long residentId) {
+}
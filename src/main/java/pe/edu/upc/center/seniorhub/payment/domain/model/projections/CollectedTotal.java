@@ -0,0 +1,12 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.projections;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+import java.time.YearMonth;
+
+/**
+ * Amount collected for one group; dimensions that were not grouped on are null.
+ */
+public record CollectedTotal(YearMonth period, Long paymentMethod, String type, long receiptCount,
+                             Money amountCollected) {
+}
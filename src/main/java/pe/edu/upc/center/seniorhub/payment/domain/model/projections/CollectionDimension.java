@@ -0,0 +1,7 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.projections;
+
+public enum CollectionDimension {
+    PERIOD,
+    PAYMENT_METHOD,
+    TYPE
+}
@@ -0,0 +1,11 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.projections;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+public record OverdueTotal(String type, long receiptCount, long residentCount, Money outstanding) {
+
+    // Target of the GROUP BY constructor expression, which yields the outstanding sum in minor units
+    public OverdueTotal(String type, Long receiptCount, Long residentCount, Long outstandingMinorUnits) {
+        this(type, receiptCount, residentCount, Money.ofMinor(outstandingMinorUnits != null ? outstandingMinorUnits : 0L));
+    }
+}
@@ -0,0 +1,16 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.projections;
+
+import java.util.Date;
+
+/**
+ * Fingerprint of a set of receipts: any insert, update or delete changes the count, the version sum,
+ * the id sum or the latest update time.
+ */
+public record ReceiptCollectionVersion(long receiptCount, long versionSum, long idSum, Date lastModified) {
+
+    // Target of the aggregate constructor expression; SUM and MAX are null over an empty set
+    public ReceiptCollectionVersion(Long receiptCount, Long versionSum, Long idSum, Date lastModified) {
+        this(receiptCount != null ? receiptCount : 0L, versionSum != null ? versionSum : 0L,
+                idSum != null ? idSum : 0L, lastModified);
+    }
+}
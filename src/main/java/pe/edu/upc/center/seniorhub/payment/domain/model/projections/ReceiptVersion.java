@@ -0,0 +1,6 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.projections;
+
+import java.util.Date;
+
+public record ReceiptVersion(Long receiptId, Long version, Date updatedAt) {
+}
@@ -0,0 +1,22 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.projections;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+import java.util.Date;
+
+/**
+ * Read-only receipt row selected straight into a DTO, so search results are neither hydrated as
+ * entities nor tracked by the persistence context.
+ */
+public record ReceiptView(Long receiptId,
+                          Date issueDate,
+                          Date dueDate,
+                          Money totalAmount,
+                          Boolean status,
+                          Long residentId,
+                          Long paymentId,
+                          Date paymentDate,
+                          Money amountPaid,
+                          Long paymentMethod,
+                          String type) {
+}
@@ -0,0 +1,8 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.projections;
+
+/**
+ * A receipt's state around a payment together with its optimistic-locking version, read and written
+ * without hydrating the aggregate.
+ */
+public record RecordedPayment(ReceiptView receipt, Long version) {
+}
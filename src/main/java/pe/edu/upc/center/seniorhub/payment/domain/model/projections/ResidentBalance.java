@@ -0,0 +1,10 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.projections;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+public record ResidentBalance(Long residentId, long receiptCount, Money totalAmount, Money amountPaid) {
+
+    public Money outstanding() {
+        return totalAmount.minus(amountPaid);
+    }
+}
@@ -0,0 +1,24 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.projections;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+import java.util.Date;
+
+/**
+ * One resident's row of the receipt read model. {@code nextDueDate} is the earliest due date among unpaid
+ * receipts; {@code refreshedAt} tells how fresh the projection is.
+ */
+public record ResidentReceiptSummary(Long residentId,
+                                     long receiptCount,
+                                     long unpaidCount,
+                                     Money totalAmount,
+                                     Money amountPaid,
+                                     Date lastIssueDate,
+                                     Date nextDueDate,
+                                     Date lastPaymentDate,
+                                     Date refreshedAt) {
+
+    public Money outstanding() {
+        return totalAmount.minus(amountPaid);
+    }
+}
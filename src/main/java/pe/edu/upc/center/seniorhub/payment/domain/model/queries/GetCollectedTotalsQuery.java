@@ -0,0 +1,22 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.queries;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.CollectionDimension;
+
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.Set;
+
+public record GetCollectedTotalsQuery(YearMonth from, YearMonth to, Set<CollectionDimension> groupBy) {
+
+    public GetCollectedTotalsQuery {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both ends of the period range are required");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Period range starts after it ends");
+        }
+        groupBy = groupBy == null || groupBy.isEmpty()
+                ? EnumSet.noneOf(CollectionDimension.class)
+                : EnumSet.copyOf(groupBy);
+    }
+}
@@ -0,0 +1,12 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.queries;
+
+import java.util.Date;
+
+public record GetOverdueTotalsQuery(Date asOf) {
+
+    public GetOverdueTotalsQuery {
+        if (asOf == null) {
+            throw new IllegalArgumentException("Reference date is required");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.queries;
+
+public record GetReceiptsPageQuery(Long afterReceiptId, int size) {
+
+    public GetReceiptsPageQuery {
+        if (afterReceiptId == null || afterReceiptId < 0) {
+            afterReceiptId = 0L;
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.queries;
+
+public record GetResidentReceiptSummaryQuery(Long residentId) {
+    public GetResidentReceiptSummaryQuery {
+        if (residentId == null) {
+            throw new IllegalArgumentException("Resident ID is required");
+        }
+    }
+}
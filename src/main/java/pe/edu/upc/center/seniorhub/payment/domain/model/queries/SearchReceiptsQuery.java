@@ -0,0 +1,58 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.queries;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ReceiptSearchCursor;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ReceiptSortField;
+
+import java.util.Date;
+
+/**
+ * Receipt search. Every criterion is optional and ranges are inclusive; results are ordered by
+ * {@code sortField} then receipt id, and {@code after} continues from the previous page.
+ */
+public record SearchReceiptsQuery(Long residentId,
+                                  Date issueDateFrom,
+                                  Date issueDateTo,
+                                  Date dueDateFrom,
+                                  Date dueDateTo,
+                                  Date paymentDateFrom,
+                                  Date paymentDateTo,
+                                  Boolean status,
+                                  String type,
+                                  Long paymentMethod,
+                                  Money minTotalAmount,
+                                  Money maxTotalAmount,
+                                  Money minAmountPaid,
+                                  Money maxAmountPaid,
+                                  ReceiptSortField sortField,
+                                  boolean descending,
+                                  ReceiptSearchCursor after,
+                                  int size) {
+
+    public SearchReceiptsQuery {
+        requireOrdered(issueDateFrom, issueDateTo, "Issue date");
+        requireOrdered(dueDateFrom, dueDateTo, "Due date");
+        requireOrdered(paymentDateFrom, paymentDateTo, "Payment date");
+        if (minTotalAmount != null && maxTotalAmount != null && minTotalAmount.compareTo(maxTotalAmount) > 0) {
+            throw new IllegalArgumentException("Total amount range starts after it ends");
+        }
+        if (minAmountPaid != null && maxAmountPaid != null && minAmountPaid.compareTo(maxAmountPaid) > 0) {
+            throw new IllegalArgumentException("Amount paid range starts after it ends");
+        }
+        if (sortField == null) {
+            sortField = ReceiptSortField.ID;
+        }
+        if (after != null && (after.sortField() != sortField || after.descending() != descending)) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+    }
+
+    private static void requireOrdered(Date from, Date to, String name) {
+        if (from != null && to != null && from.after(to)) {
+            throw new IllegalArgumentException(name + " range starts after it ends");
+        }
+    }
+}
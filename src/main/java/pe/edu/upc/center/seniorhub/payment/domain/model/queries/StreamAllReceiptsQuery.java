@@ -0,0 +1,4 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.queries;
+
+public record StreamAllReceiptsQuery() {
+}
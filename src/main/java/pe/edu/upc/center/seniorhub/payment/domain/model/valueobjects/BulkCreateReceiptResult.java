@@ -0,0 +1,16 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects;
+
+public record BulkCreateReceiptResult(int index, Long receiptId, String error) {
+
+    public static BulkCreateReceiptResult created(int index, Long receiptId) {
+        return new BulkCreateReceiptResult(index, receiptId, null);
+    }
+
+    public static BulkCreateReceiptResult rejected(int index, String error) {
+        return new BulkCreateReceiptResult(index, null, error);
+    }
+
+    public boolean isCreated() {
+        return receiptId != null;
+    }
+}
@@ -0,0 +1,152 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects;
+
+/**
+ * An exact monetary amount held as a count of minor units (céntimos for PEN), so sums and differences
+ * are plain long arithmetic with no rounding.
+ */
+public record Money(long minorUnits, String currency) implements Comparable<Money> {
+
+    public static final String DEFAULT_CURRENCY = "PEN";
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0L, DEFAULT_CURRENCY);
+
+    /** Longest decimal form: sign, 17 integer digits, point and two fraction digits of Long.MIN_VALUE. */
+    public static final int MAX_DECIMAL_LENGTH = 21;
+
+    private static final long MINOR_PER_MAJOR = 100L;
+
+    public Money {
+        if (currency == null || currency.length() != 3) {
+            throw new IllegalArgumentException("Currency must be a three-letter ISO 4217 code");
+        }
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0L ? ZERO : new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    public static Money parse(CharSequence decimal) {
+        if (decimal == null) {
+            throw new IllegalArgumentException("Amount is required");
+        }
+        var chars = new char[decimal.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = decimal.charAt(i);
+        }
+        return parse(chars, 0, chars.length);
+    }
+
+    /**
+     * Parses a plain decimal such as {@code 120}, {@code -3.5} or {@code 80.00} straight from a character
+     * range. More than two fraction digits are accepted only when the extra digits are zeros.
+     */
+    public static Money parse(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        long major = 0L;
+        int integerDigits = 0;
+        try {
+            for (; i < end && chars[i] != '.'; i++, integerDigits++) {
+                major = Math.addExact(Math.multiplyExact(major, 10L), digit(chars[i]));
+            }
+            long minor = 0L;
+            int fractionDigits = 0;
+            if (i < end) {
+                for (i++; i < end; i++, fractionDigits++) {
+                    int digit = digit(chars[i]);
+                    if (fractionDigits < SCALE) {
+                        minor = minor * 10L + digit;
+                    } else if (digit != 0) {
+                        throw new IllegalArgumentException("Amounts have at most " + SCALE + " decimal places");
+                    }
+                }
+            }
+            if (integerDigits == 0 && fractionDigits == 0) {
+                throw new IllegalArgumentException("Amount has no digits");
+            }
+            for (; fractionDigits < SCALE; fractionDigits++) {
+                minor *= 10L;
+            }
+            long total = Math.addExact(Math.multiplyExact(major, MINOR_PER_MAJOR), minor);
+            return ofMinor(negative ? -total : total);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount is out of range");
+        }
+    }
+
+    private static int digit(char c) {
+        if (c < '0' || c > '9') {
+            throw new IllegalArgumentException("Amount must be a plain decimal number");
+        }
+        return c - '0';
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currency);
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0L;
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0L;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot combine " + currency + " and " + other.currency + " amounts");
+        }
+    }
+
+    /**
+     * Writes the decimal form (always two fraction digits) right-aligned ending at {@code end} and
+     * returns the index of its first character. {@code buffer} needs {@link #MAX_DECIMAL_LENGTH} free chars.
+     */
+    public int writeDecimal(char[] buffer, int end) {
+        int position = end;
+        // Work on the negative value so Long.MIN_VALUE needs no special case
+        long remaining = minorUnits < 0L ? minorUnits : -minorUnits;
+        for (int i = 0; i < SCALE; i++) {
+            buffer[--position] = (char) ('0' - remaining % 10L);
+            remaining /= 10L;
+        }
+        buffer[--position] = '.';
+        do {
+            buffer[--position] = (char) ('0' - remaining % 10L);
+            remaining /= 10L;
+        } while (remaining != 0L);
+        if (minorUnits < 0L) {
+            buffer[--position] = '-';
+        }
+        return position;
+    }
+
+    @Override
+    public String toString() {
+        var buffer = new char[MAX_DECIMAL_LENGTH];
+        int start = writeDecimal(buffer, buffer.length);
+        return new String(buffer, start, buffer.length - start);
+    }
+}
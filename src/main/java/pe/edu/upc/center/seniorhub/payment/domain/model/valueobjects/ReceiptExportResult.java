@@ -0,0 +1,18 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one export run. {@code completed} is false when the run stopped early and left a checkpoint
+ * for the next run to resume from; {@code resumed} tells whether this run continued such a checkpoint.
+ */
+public record ReceiptExportResult(String name,
+                                  boolean completed,
+                                  boolean resumed,
+                                  long rows,
+                                  String csvFile,
+                                  long csvBytes,
+                                  String columnarFile,
+                                  long columnarBytes,
+                                  Duration elapsed) {
+}
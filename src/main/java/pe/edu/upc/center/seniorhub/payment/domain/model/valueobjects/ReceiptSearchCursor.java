@@ -0,0 +1,14 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects;
+
+/**
+ * Position after the last receipt of a search page: its sort value (see {@link ReceiptSortField})
+ * and its id as the tie-breaker.
+ */
+public record ReceiptSearchCursor(ReceiptSortField sortField, boolean descending, long sortValue, long receiptId) {
+
+    public ReceiptSearchCursor {
+        if (sortField == null) {
+            throw new IllegalArgumentException("Cursor sort field is required");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptView;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Sort keys for receipt search. Each one has a long encoding of its value (epoch day for dates,
+ * minor units for amounts) that keyset cursors carry alongside the receipt id.
+ */
+public enum ReceiptSortField {
+    ID,
+    ISSUE_DATE,
+    DUE_DATE,
+    PAYMENT_DATE,
+    TOTAL_AMOUNT;
+
+    public long cursorValueOf(ReceiptView view) {
+        return switch (this) {
+            case ID -> view.receiptId();
+            case ISSUE_DATE -> toEpochDay(view.issueDate());
+            case DUE_DATE -> toEpochDay(view.dueDate());
+            case PAYMENT_DATE -> toEpochDay(view.paymentDate());
+            case TOTAL_AMOUNT -> view.totalAmount().minorUnits();
+        };
+    }
+
+    private static long toEpochDay(Date date) {
+        var localDate = date instanceof java.sql.Date sqlDate
+                ? sqlDate.toLocalDate()
+                : LocalDate.ofInstant(date.toInstant(), ZoneId.systemDefault());
+        return localDate.toEpochDay();
+    }
+}
@@ -1,14 +1,26 @@
 package pe.edu.upc.center.seniorhub.payment.domain.services;
 
 import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.BulkCreateReceiptsCommand;
 import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
 import pe.edu.upc.center.seniorhub.payment.domain.model.commands.DeleteReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.ExportReceiptsCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.RebuildResidentReceiptSummariesCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.RecordPaymentCommand;
 import pe.edu.upc.center.seniorhub.payment.domain.model.commands.UpdateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.RecordedPayment;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.BulkCreateReceiptResult;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ReceiptExportResult;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ReceiptCommandService {
-    Long handle(CreateReceiptCommand command);
+    Optional<Receipt> handle(CreateReceiptCommand command);
+    List<BulkCreateReceiptResult> handle(BulkCreateReceiptsCommand command);
     Optional<Receipt> handle(UpdateReceiptCommand command);
+    Optional<RecordedPayment> handle(RecordPaymentCommand command);
     void handle(DeleteReceiptCommand command);
+    int handle(RebuildResidentReceiptSummariesCommand command);
+    Optional<ReceiptExportResult> handle(ExportReceiptsCommand command);
 }
\ No newline at end of file
@@ -1,17 +1,34 @@
 package pe.edu.upc.center.seniorhub.payment.domain.services;
 
 import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptCollectionVersion;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptVersion;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptView;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ResidentReceiptSummary;
 import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetAllReceiptsQuery;
 import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptByDateQuery;
 import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsByResidentIdQuery;
 import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptByReceiptIdQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptVersionQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsVersionByResidentIdQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsPageQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetResidentReceiptSummaryQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.SearchReceiptsQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.StreamAllReceiptsQuery;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ReceiptQueryService {
     List<Receipt> handle(GetAllReceiptsQuery query);
+    List<Receipt> handle(GetReceiptsPageQuery query);
+    void handle(StreamAllReceiptsQuery query, Consumer<Receipt> consumer);
     List<Receipt> handle(GetReceiptsByResidentIdQuery query);
-    Optional<Receipt> handle(GetReceiptByDateQuery query);
+    Optional<ResidentReceiptSummary> handle(GetResidentReceiptSummaryQuery query);
+    List<Receipt> handle(GetReceiptByDateQuery query);
+    List<ReceiptView> handle(SearchReceiptsQuery query);
+    Optional<ReceiptVersion> handle(GetReceiptVersionQuery query);
+    ReceiptCollectionVersion handle(GetReceiptsVersionByResidentIdQuery query);
     Optional<Receipt> handle(GetReceiptByReceiptIdQuery query);
-}
\ No newline at end of file
+}
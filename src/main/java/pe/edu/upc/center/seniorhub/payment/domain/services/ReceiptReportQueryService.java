@@ -0,0 +1,16 @@
+package pe.edu.upc.center.seniorhub.payment.domain.services;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.CollectedTotal;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.OverdueTotal;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ResidentBalance;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetCollectedTotalsQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetOverdueTotalsQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetResidentBalancesQuery;
+
+import java.util.List;
+
+public interface ReceiptReportQueryService {
+    List<ResidentBalance> handle(GetResidentBalancesQuery query);
+    List<CollectedTotal> handle(GetCollectedTotalsQuery query);
+    List<OverdueTotal> handle(GetOverdueTotalsQuery query);
+}
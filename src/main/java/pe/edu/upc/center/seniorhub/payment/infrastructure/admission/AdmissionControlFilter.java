@@ -0,0 +1,149 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control in front of the receipt API. A request first needs a token from its client's bucket for
+ * its class (429 otherwise), then a slot under the adaptive concurrency limit (503 otherwise). Both answer
+ * immediately with Retry-After, so surplus load is turned away before it queues for a database connection.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String REQUESTS_METER = "payment.admission.requests";
+    private static final int MAX_CLIENT_ID_LENGTH = 64;
+
+    private final String clientHeader;
+    private final long retryAfterSeconds;
+    private final ClientRateLimiter rateLimiter;
+    private final GradientConcurrencyLimiter concurrencyLimiter;
+    private final Map<AdmissionPriority, Counter> admitted = new EnumMap<>(AdmissionPriority.class);
+    private final Map<AdmissionPriority, Counter> rateLimited = new EnumMap<>(AdmissionPriority.class);
+    private final Map<AdmissionPriority, Counter> shed = new EnumMap<>(AdmissionPriority.class);
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.clientHeader = properties.clientHeader();
+        this.retryAfterSeconds = Math.max(1L, properties.retryAfter().toSeconds());
+        this.rateLimiter = new ClientRateLimiter(properties.rate(), properties.maxTrackedClients(),
+                properties.maxClientsPerSource());
+        var concurrency = properties.concurrency();
+        this.concurrencyLimiter = new GradientConcurrencyLimiter(concurrency.initialLimit(), concurrency.minLimit(),
+                concurrency.maxLimit(), concurrency.windowSize(), concurrency.tolerance(), concurrency.longWindow(),
+                meterRegistry);
+        for (var priority : AdmissionPriority.values()) {
+            admitted.put(priority, meterRegistry.counter(REQUESTS_METER, "priority", priority.tag(), "outcome", "admitted"));
+            rateLimited.put(priority, meterRegistry.counter(REQUESTS_METER, "priority", priority.tag(), "outcome", "rate-limited"));
+            shed.put(priority, meterRegistry.counter(REQUESTS_METER, "priority", priority.tag(), "outcome", "shed"));
+        }
+    }
+
+    GradientConcurrencyLimiter concurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflights never reach a controller
+        return "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var priority = AdmissionPriority.of(request);
+        long now = System.nanoTime();
+
+        long waitNanos = rateLimiter.tryAcquire(sourceOf(request), clientIdOf(request), priority, now);
+        if (waitNanos > 0) {
+            rateLimited.get(priority).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, Math.max(1L, divideRoundingUp(waitNanos, TimeUnit.SECONDS.toNanos(1))));
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire(priority)) {
+            shed.get(priority).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds);
+            return;
+        }
+        admitted.get(priority).increment();
+
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (completed && request.isAsyncStarted()) {
+                // Streamed responses run far longer than a request's work; release without a latency sample
+                request.getAsyncContext().addListener(new ReleaseOnCompletion());
+            } else {
+                // Failed requests are released without a sample so fast failures do not raise the limit
+                concurrencyLimiter.release(completed ? System.nanoTime() - now : 0L);
+            }
+        }
+    }
+
+    // Who the request comes from, as far as the server can tell; the client header cannot change it
+    private static String sourceOf(HttpServletRequest request) {
+        var principal = request.getUserPrincipal();
+        return principal != null ? "principal:" + principal.getName() : "address:" + request.getRemoteAddr();
+    }
+
+    // Self-declared, so only a sub-key within the source
+    private String clientIdOf(HttpServletRequest request) {
+        var client = request.getHeader(clientHeader);
+        if (client == null || client.isBlank()) {
+            return null;
+        }
+        client = client.strip();
+        return client.length() > MAX_CLIENT_ID_LENGTH ? client.substring(0, MAX_CLIENT_ID_LENGTH) : client;
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+
+    private static long divideRoundingUp(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+
+    private final class ReleaseOnCompletion implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                concurrencyLimiter.release(0L);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A re-dispatch that starts async again drops the listeners; carry this one over
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.admission;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings under {@code payment.admission.*}. Rates apply per client and per request class; the concurrency
+ * limit is shared by every client of this instance. {@code maxTrackedClients} bounds the tracked sources
+ * (principals or remote addresses) and {@code maxClientsPerSource} the client ids each of them may declare.
+ */
+public record AdmissionControlProperties(
+        @DefaultValue("X-Client-Id") String clientHeader,
+        @DefaultValue("100000") long maxTrackedClients,
+        @DefaultValue("16") int maxClientsPerSource,
+        @DefaultValue("PT1S") Duration retryAfter,
+        @DefaultValue Rate rate,
+        @DefaultValue Concurrency concurrency
+) {
+
+    public record Rate(
+            @DefaultValue("200") double readPerSecond,
+            @DefaultValue("400") int readBurst,
+            @DefaultValue("50") double writePerSecond,
+            @DefaultValue("100") int writeBurst,
+            @DefaultValue("1") double bulkPerSecond,
+            @DefaultValue("5") int bulkBurst
+    ) {}
+
+    public record Concurrency(
+            @DefaultValue("40") int initialLimit,
+            @DefaultValue("8") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("50") int windowSize,
+            @DefaultValue("1.5") double tolerance,
+            @DefaultValue("600") int longWindow
+    ) {}
+}
@@ -0,0 +1,41 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Request classes for admission control. Each class may fill only its share of the adaptive concurrency
+ * limit, so as latency rises bulk work is shed first, then single writes, and reads last.
+ */
+public enum AdmissionPriority {
+    READ(1.0),
+    WRITE(0.8),
+    BULK(0.5);
+
+    private final double limitShare;
+
+    AdmissionPriority(double limitShare) {
+        this.limitShare = limitShare;
+    }
+
+    public double limitShare() {
+        return limitShare;
+    }
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+
+    static AdmissionPriority of(HttpServletRequest request) {
+        var path = request.getRequestURI();
+        // Bulk creates, exports, full-table streams and read-model rebuilds each hold a connection for far
+        // longer than one row
+        if (path.contains("/bulk") || path.contains("/exports") || path.endsWith("/stream")
+                || path.endsWith("/rebuild")) {
+            return BULK;
+        }
+        return switch (request.getMethod()) {
+            case "GET", "HEAD" -> READ;
+            default -> WRITE;
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One token bucket per client and request class, so a client flooding bulk creates neither uses up its own
+ * read allowance nor anybody else's. A client is its source (the authenticated principal, else the remote
+ * address) plus an optional self-declared client id. Each source may split its allowance between at most
+ * {@code maxClientsPerSource} client ids; further ids share the source's own buckets, so rotating the id buys
+ * no fresh buckets. Idle sources are dropped; a returning source starts with full bursts.
+ */
+final class ClientRateLimiter {
+
+    private static final String SOURCE_BUCKETS = "";
+
+    private final AdmissionControlProperties.Rate rate;
+    private final int maxClientsPerSource;
+    private final Cache<String, Source> sources;
+
+    ClientRateLimiter(AdmissionControlProperties.Rate rate, long maxTrackedSources, int maxClientsPerSource) {
+        this.rate = rate;
+        this.maxClientsPerSource = maxClientsPerSource;
+        this.sources = Caffeine.newBuilder()
+                .maximumSize(maxTrackedSources)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    /**
+     * Returns 0 if the request may proceed, else the nanoseconds until the client's next token. {@code clientId}
+     * is null when the request declares none.
+     */
+    long tryAcquire(String source, String clientId, AdmissionPriority priority, long now) {
+        return sources.get(source, key -> new Source()).bucket(clientId, priority, now).tryAcquire(now);
+    }
+
+    private TokenBucket newBucket(AdmissionPriority priority, long now) {
+        return switch (priority) {
+            case READ -> new TokenBucket(rate.readPerSecond(), rate.readBurst(), now);
+            case WRITE -> new TokenBucket(rate.writePerSecond(), rate.writeBurst(), now);
+            case BULK -> new TokenBucket(rate.bulkPerSecond(), rate.bulkBurst(), now);
+        };
+    }
+
+    private final class Source {
+
+        private final Map<String, Map<AdmissionPriority, TokenBucket>> clients = new ConcurrentHashMap<>();
+
+        TokenBucket bucket(String clientId, AdmissionPriority priority, long now) {
+            var key = clientId == null ? SOURCE_BUCKETS : clientId;
+            var buckets = clients.get(key);
+            if (buckets == null) {
+                // The source's own buckets do not count against its client ids
+                int clientIds = clients.size() - (clients.containsKey(SOURCE_BUCKETS) ? 1 : 0);
+                if (!key.equals(SOURCE_BUCKETS) && clientIds >= maxClientsPerSource) {
+                    key = SOURCE_BUCKETS;
+                }
+                buckets = clients.computeIfAbsent(key, k -> new EnumMap<>(AdmissionPriority.class));
+            }
+            synchronized (buckets) {
+                return buckets.computeIfAbsent(priority, p -> newBucket(p, now));
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows observed latency, after the gradient algorithm of Netflix's
+ * concurrency-limits. Completed requests are averaged in windows of {@code windowSize} samples (the short RTT)
+ * and folded into a slow moving average (the long RTT, the no-load baseline). While the short RTT stays within
+ * {@code tolerance} of the baseline the limit grows by about its square root per window; once requests queue
+ * (for Hikari connections, typically) the short RTT rises and the limit shrinks in proportion, down to half per
+ * window. Windows in which the limit was never approached say nothing about capacity and leave it unchanged.
+ */
+public class GradientConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final double tolerance;
+    private final double longRttFactor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private volatile double shortRttNanos;
+    private volatile double longRttNanos;
+
+    // Current window, guarded by this
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int windowSize, double tolerance,
+                                      int longWindow, MeterRegistry meterRegistry) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 0 < min <= initial <= max");
+        }
+        if (windowSize <= 0 || longWindow <= 0 || tolerance < 1d) {
+            throw new IllegalArgumentException("Window sizes must be positive and tolerance at least 1");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.tolerance = tolerance;
+        this.longRttFactor = 2d / (longWindow + 1);
+
+        Gauge.builder("payment.admission.limit", this, GradientConcurrencyLimiter::limit)
+                .description("Adaptive concurrency limit for the receipt API")
+                .register(meterRegistry);
+        Gauge.builder("payment.admission.in-flight", inFlight, AtomicInteger::get)
+                .description("Receipt API requests admitted and not yet completed")
+                .register(meterRegistry);
+        Gauge.builder("payment.admission.rtt", this, limiter -> limiter.shortRttNanos / 1e9)
+                .description("Average latency of the last sample window")
+                .tag("window", "short")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("payment.admission.rtt", this, limiter -> limiter.longRttNanos / 1e9)
+                .description("Long-term latency baseline the short window is compared with")
+                .tag("window", "long")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /** Admits a request if its priority's share of the limit is not used up; pair with {@link #release}. */
+    public boolean tryAcquire(AdmissionPriority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.limitShare()));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Completes an admitted request; a non-positive {@code rttNanos} releases it without taking a sample. */
+    public void release(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (rttNanos > 0) {
+            sample(rttNanos, inFlightAtCompletion);
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightAtCompletion) {
+        windowRttSum += rttNanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtCompletion);
+        if (++windowSamples < windowSize) {
+            return;
+        }
+        double shortRtt = (double) windowRttSum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowRttSum = 0L;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        double longRtt = longRttNanos == 0d ? shortRtt : longRttNanos + (shortRtt - longRttNanos) * longRttFactor;
+        // After a long slowdown the baseline has crept up; let it come back down faster once latency recovers
+        if (longRtt / shortRtt > 2d) {
+            longRtt *= 0.95;
+        }
+        shortRttNanos = shortRtt;
+        longRttNanos = longRtt;
+
+        double current = limit;
+        if (maxInFlight < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1d, tolerance * longRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        limit = Math.max(minLimit, Math.min(maxLimit, current * (1d - SMOOTHING) + target * SMOOTHING));
+    }
+}
@@ -0,0 +1,38 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.admission;
+
+/**
+ * Classic token bucket: {@code burst} tokens at most, refilled continuously at {@code permitsPerSecond}.
+ * Time is passed in so callers share one {@code System.nanoTime()} read and tests need no clock.
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double permitsPerSecond, int burst, long now) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Token bucket rate and burst must be positive");
+        }
+        this.capacity = burst;
+        this.tokensPerNano = permitsPerSecond / NANOS_PER_SECOND;
+        this.tokens = burst;
+        this.refilledAt = now;
+    }
+
+    /** Takes one token and returns 0, or returns how many nanoseconds until one will be available. */
+    synchronized long tryAcquire(long now) {
+        if (now > refilledAt) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+        if (tokens >= 1d) {
+            tokens -= 1d;
+            return 0L;
+        }
+        return (long) Math.ceil((1d - tokens) / tokensPerNano);
+    }
+}
@@ -0,0 +1,51 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.aot;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.context.properties.bind.BindableRuntimeHintsRegistrar;
+import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.admission.AdmissionControlProperties;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.integration.outbox.NotificationOutboxEntry;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.converters.MoneyAttributeConverter;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.CreateReceiptResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.ReceiptResource;
+import pe.edu.upc.center.seniorhub.payment.shared.domain.aggregates.AuditableAbstractAggregateRoot;
+import pe.edu.upc.center.seniorhub.payment.shared.infrastructure.http.DownstreamServiceProperties;
+import pe.edu.upc.center.seniorhub.payment.shared.infrastructure.persistence.ReplicaDataSourceProperties;
+
+/**
+ * Reflection and resource hints for the native image that Spring AOT cannot infer from bean definitions
+ * and controller signatures alone.
+ */
+public class PaymentRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final MemberCategory[] PERSISTENT_MEMBERS = {
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_DECLARED_METHODS,
+            MemberCategory.DECLARED_FIELDS
+    };
+
+    private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Hibernate instantiates the entities and the ResidentId embeddable and sets their fields reflectively
+        for (var type : new Class<?>[] {Receipt.class, ResidentId.class, AuditableAbstractAggregateRoot.class,
+                NotificationOutboxEntry.class, MoneyAttributeConverter.class}) {
+            hints.reflection().registerType(type, PERSISTENT_MEMBERS);
+        }
+
+        // Read and written through ObjectMapper directly: NDJSON bulk lines, streamed exports, stored idempotent replies
+        bindingHints.registerReflectionHints(hints.reflection(), CreateReceiptResource.class, ReceiptResource.class);
+
+        // Bound with Binder by hand rather than through @ConfigurationProperties beans
+        BindableRuntimeHintsRegistrar.forTypes(DownstreamServiceProperties.class, ReplicaDataSourceProperties.class,
+                AdmissionControlProperties.class)
+                .registerHints(hints, classLoader);
+
+        hints.resources().registerPattern("db/migration/*.sql");
+    }
+}
@@ -0,0 +1,55 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.caching;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Evicts the query-side receipt caches for the rows a command touched. Inside a transaction the eviction
+ * waits until commit, so a concurrent read cannot re-cache the pre-commit state.
+ */
+@Component
+public class ReceiptCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    public ReceiptCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void evict(Long receiptId, Long... residentIds) {
+        evict(receiptId == null ? List.of() : List.of(receiptId), List.of(residentIds));
+    }
+
+    public void evict(Collection<Long> receiptIds, Collection<Long> residentIds) {
+        var receiptKeys = List.copyOf(receiptIds);
+        var residentKeys = residentIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(receiptKeys, residentKeys);
+                }
+            });
+        } else {
+            evictNow(receiptKeys, residentKeys);
+        }
+    }
+
+    private void evictNow(Collection<Long> receiptIds, Collection<Long> residentIds) {
+        evictKeys(cacheManager.getCache(ReceiptCacheNames.RECEIPTS_BY_ID), receiptIds);
+        evictKeys(cacheManager.getCache(ReceiptCacheNames.RECEIPTS_BY_RESIDENT), residentIds);
+    }
+
+    private static void evictKeys(Cache cache, Collection<Long> keys) {
+        if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.caching;
+
+public final class ReceiptCacheNames {
+    public static final String RECEIPTS_BY_ID = "receiptsById";
+    public static final String RECEIPTS_BY_RESIDENT = "receiptsByResident";
+
+    private ReceiptCacheNames() {}
+}
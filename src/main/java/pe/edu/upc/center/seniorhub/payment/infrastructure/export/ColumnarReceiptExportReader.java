@@ -0,0 +1,131 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.export;
+
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptExportRow;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static pe.edu.upc.center.seniorhub.payment.infrastructure.export.ReceiptColumnarFormat.*;
+
+/** Reads a {@link ReceiptColumnarFormat} file back row group by row group, e.g. to verify an export. */
+public final class ColumnarReceiptExportReader {
+
+    private ColumnarReceiptExportReader() {
+    }
+
+    /** Hands every row to {@code consumer} and returns the row count, after checking the trailer. */
+    public static long read(Path file, Consumer<ReceiptExportRow> consumer) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            readHeader(channel);
+            var inflater = new Inflater(true);
+            try {
+                long rows = 0L;
+                int rowGroups = 0;
+                int rowCount;
+                while ((rowCount = readFully(channel, 4).getInt()) > 0) {
+                    readRowGroup(channel, inflater, rowCount, consumer);
+                    rows += rowCount;
+                    rowGroups++;
+                }
+                var trailer = readFully(channel, 8 + 4 + MAGIC.length);
+                if (trailer.getLong() != rows || trailer.getInt() != rowGroups) {
+                    throw new IOException("Columnar export trailer does not match its row groups");
+                }
+                checkMagic(trailer);
+                return rows;
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+
+    private static void readHeader(FileChannel channel) throws IOException {
+        checkMagic(readFully(channel, MAGIC.length));
+        int columnCount = readFully(channel, 2).getShort();
+        if (columnCount != COLUMNS.size()) {
+            throw new IOException("Expected " + COLUMNS.size() + " columns, found " + columnCount);
+        }
+        for (var column : COLUMNS) {
+            var definition = readFully(channel, 3);
+            var type = definition.get();
+            var name = new String(readFully(channel, definition.getShort()).array(), StandardCharsets.UTF_8);
+            if (type != column.type().ordinal() || !name.equals(column.name())) {
+                throw new IOException("Unexpected column " + name + " in columnar export");
+            }
+        }
+    }
+
+    private static void readRowGroup(FileChannel channel, Inflater inflater, int rowCount,
+                                     Consumer<ReceiptExportRow> consumer) throws IOException {
+        var columns = new ByteBuffer[COLUMNS.size()];
+        for (int column = 0; column < columns.length; column++) {
+            var lengths = readFully(channel, 8);
+            var raw = new byte[lengths.getInt()];
+            var compressed = readFully(channel, lengths.getInt()).array();
+            inflater.reset();
+            inflater.setInput(compressed);
+            try {
+                if (inflater.inflate(raw) != raw.length || !inflater.finished()) {
+                    throw new IOException("Truncated column " + COLUMNS.get(column).name());
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt column " + COLUMNS.get(column).name(), e);
+            }
+            columns[column] = ByteBuffer.wrap(raw);
+        }
+        var previous = new long[COLUMNS.size()];
+        for (int row = 0; row < rowCount; row++) {
+            consumer.accept(new ReceiptExportRow(
+                    nextLong(columns, previous, RECEIPT_ID),
+                    LocalDate.ofEpochDay(nextLong(columns, previous, ISSUE_DATE)),
+                    LocalDate.ofEpochDay(nextLong(columns, previous, DUE_DATE)),
+                    nextLong(columns, previous, TOTAL_AMOUNT),
+                    columns[STATUS].get() != 0,
+                    nextLong(columns, previous, RESIDENT_ID),
+                    columns[PAYMENT_ID].get() != 0 ? nextLong(columns, previous, PAYMENT_ID) : null,
+                    LocalDate.ofEpochDay(nextLong(columns, previous, PAYMENT_DATE)),
+                    nextLong(columns, previous, AMOUNT_PAID),
+                    nextLong(columns, previous, PAYMENT_METHOD),
+                    nextString(columns[TYPE])));
+        }
+    }
+
+    private static long nextLong(ByteBuffer[] columns, long[] previous, int column) throws IOException {
+        previous[column] += unZigZag(getVarLong(columns[column]));
+        return previous[column];
+    }
+
+    private static String nextString(ByteBuffer column) throws IOException {
+        int length = (int) getVarLong(column);
+        var text = new String(column.array(), column.position(), length, StandardCharsets.UTF_8);
+        column.position(column.position() + length);
+        return text;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int length) throws IOException {
+        var buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Columnar export ends early");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void checkMagic(ByteBuffer buffer) throws IOException {
+        var magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a columnar receipt export");
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.export;
+
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptExportRow;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static pe.edu.upc.center.seniorhub.payment.infrastructure.export.ReceiptColumnarFormat.*;
+
+/**
+ * Writes the {@link ReceiptColumnarFormat} file. Rows are held column by column in arrays sized to one
+ * row group, so memory is fixed by the row group size; each full group is encoded and compressed column
+ * by column with one reused {@link Deflater}.
+ */
+final class ColumnarReceiptExportWriter implements ReceiptExportWriter, AutoCloseable {
+
+    private final FileChannel channel;
+    private final int rowGroupSize;
+    private final long[][] values;
+    private final boolean[] paymentIdPresent;
+    private final byte[][] types;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private ByteBuffer raw;
+    private byte[] compressed;
+    private int bufferedRows;
+    private long totalRows;
+    private int rowGroups;
+
+    ColumnarReceiptExportWriter(FileChannel channel, int rowGroupSize, long totalRows, int rowGroups) {
+        this.channel = channel;
+        this.rowGroupSize = rowGroupSize;
+        this.values = new long[COLUMNS.size()][rowGroupSize];
+        this.paymentIdPresent = new boolean[rowGroupSize];
+        this.types = new byte[rowGroupSize][];
+        // Widest fixed-size column: a presence byte plus a varint per row
+        this.raw = ByteBuffer.allocate(rowGroupSize * (MAX_VARINT_LENGTH + 1));
+        this.compressed = new byte[raw.capacity()];
+        this.totalRows = totalRows;
+        this.rowGroups = rowGroups;
+    }
+
+    void writeHeader() throws IOException {
+        var header = ByteBuffer.allocate(MAGIC.length + 2 + COLUMNS.size() * 64);
+        header.put(MAGIC).putShort((short) COLUMNS.size());
+        for (var column : COLUMNS) {
+            var name = column.name().getBytes(StandardCharsets.UTF_8);
+            header.put((byte) column.type().ordinal()).putShort((short) name.length).put(name);
+        }
+        writeFully(channel, header.flip());
+    }
+
+    @Override
+    public void write(ReceiptExportRow row) throws IOException {
+        int i = bufferedRows;
+        values[RECEIPT_ID][i] = row.receiptId();
+        values[ISSUE_DATE][i] = row.issueDate().toEpochDay();
+        values[DUE_DATE][i] = row.dueDate().toEpochDay();
+        values[TOTAL_AMOUNT][i] = row.totalAmountMinor();
+        values[STATUS][i] = row.status() ? 1L : 0L;
+        values[RESIDENT_ID][i] = row.residentId();
+        paymentIdPresent[i] = row.paymentId() != null;
+        values[PAYMENT_ID][i] = row.paymentId() != null ? row.paymentId() : 0L;
+        values[PAYMENT_DATE][i] = row.paymentDate().toEpochDay();
+        values[AMOUNT_PAID][i] = row.amountPaidMinor();
+        values[PAYMENT_METHOD][i] = row.paymentMethod();
+        types[i] = row.type().getBytes(StandardCharsets.UTF_8);
+        if (++bufferedRows == rowGroupSize) {
+            writeRowGroup();
+        }
+    }
+
+    /** Writes the buffered rows as a (possibly short) row group. */
+    @Override
+    public long flush() throws IOException {
+        if (bufferedRows > 0) {
+            writeRowGroup();
+        }
+        return channel.position();
+    }
+
+    /** Ends the file; the writer must not be used afterwards. */
+    long finish() throws IOException {
+        flush();
+        var trailer = ByteBuffer.allocate(4 + 8 + 4 + MAGIC.length)
+                .putInt(0).putLong(totalRows).putInt(rowGroups).put(MAGIC);
+        writeFully(channel, trailer.flip());
+        return channel.position();
+    }
+
+    long totalRows() {
+        return totalRows;
+    }
+
+    int rowGroups() {
+        return rowGroups;
+    }
+
+    @Override
+    public void close() {
+        deflater.end();
+    }
+
+    private void writeRowGroup() throws IOException {
+        writeFully(channel, ByteBuffer.allocate(4).putInt(bufferedRows).flip());
+        for (int column = 0; column < COLUMNS.size(); column++) {
+            raw.clear();
+            encode(column);
+            raw.flip();
+            writeCompressed();
+        }
+        totalRows += bufferedRows;
+        rowGroups++;
+        bufferedRows = 0;
+    }
+
+    private void encode(int column) {
+        var longs = values[column];
+        switch (COLUMNS.get(column).type()) {
+            case INT64, DATE -> {
+                long previous = 0L;
+                for (int i = 0; i < bufferedRows; i++) {
+                    putVarLong(raw, zigZag(longs[i] - previous));
+                    previous = longs[i];
+                }
+            }
+            case NULLABLE_INT64 -> {
+                long previous = 0L;
+                for (int i = 0; i < bufferedRows; i++) {
+                    raw.put(paymentIdPresent[i] ? (byte) 1 : (byte) 0);
+                    if (paymentIdPresent[i]) {
+                        putVarLong(raw, zigZag(longs[i] - previous));
+                        previous = longs[i];
+                    }
+                }
+            }
+            case BOOLEAN -> {
+                for (int i = 0; i < bufferedRows; i++) {
+                    raw.put((byte) longs[i]);
+                }
+            }
+            case STRING -> {
+                int length = 0;
+                for (int i = 0; i < bufferedRows; i++) {
+                    length += MAX_VARINT_LENGTH + types[i].length;
+                }
+                ensureCapacity(length);
+                for (int i = 0; i < bufferedRows; i++) {
+                    putVarLong(raw, types[i].length);
+                    raw.put(types[i]);
+                    types[i] = null;
+                }
+            }
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (raw.capacity() < length) {
+            raw = ByteBuffer.allocate(length);
+            compressed = new byte[length];
+        }
+    }
+
+    private void writeCompressed() throws IOException {
+        int rawLength = raw.remaining();
+        deflater.reset();
+        deflater.setInput(raw.array(), 0, rawLength);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+        writeFully(channel, ByteBuffer.allocate(8).putInt(rawLength).putInt(compressedLength).flip());
+        writeFully(channel, ByteBuffer.wrap(compressed, 0, compressedLength));
+    }
+}
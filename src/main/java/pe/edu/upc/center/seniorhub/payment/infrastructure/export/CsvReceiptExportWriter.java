@@ -0,0 +1,152 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.export;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptExportRow;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * RFC 4180 CSV with a header line, amounts as plain decimals and dates as ISO {@code yyyy-MM-dd}. Fields
+ * are encoded straight into a direct buffer that is drained to the channel whenever a row might not fit.
+ */
+final class CsvReceiptExportWriter implements ReceiptExportWriter {
+
+    static final String HEADER = "receipt_id,issue_date,due_date,total_amount,status,resident_id,payment_id,"
+            + "payment_date,amount_paid,payment_method,type\r\n";
+
+    // Every field except type: 11 numbers or dates of at most 21 characters plus separators
+    private static final int MAX_FIXED_ROW_LENGTH = 11 * (Money.MAX_DECIMAL_LENGTH + 1) + 2;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final char[] digits = new char[Money.MAX_DECIMAL_LENGTH];
+
+    CsvReceiptExportWriter(FileChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    void writeHeader() {
+        buffer.put(HEADER.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public void write(ReceiptExportRow row) throws IOException {
+        var type = row.type().getBytes(StandardCharsets.UTF_8);
+        // Quoting at worst doubles every byte of type
+        int maxLength = MAX_FIXED_ROW_LENGTH + 2 * type.length + 2;
+        if (buffer.remaining() < maxLength) {
+            drain();
+            if (buffer.remaining() < maxLength) {
+                throw new IOException("Receipt " + row.receiptId() + " does not fit the export buffer");
+            }
+        }
+        putLong(row.receiptId());
+        buffer.put((byte) ',');
+        putDate(row.issueDate());
+        buffer.put((byte) ',');
+        putDate(row.dueDate());
+        buffer.put((byte) ',');
+        putDecimal(row.totalAmountMinor());
+        buffer.put((byte) ',');
+        buffer.put(row.status() ? (byte) '1' : (byte) '0');
+        buffer.put((byte) ',');
+        putLong(row.residentId());
+        buffer.put((byte) ',');
+        if (row.paymentId() != null) {
+            putLong(row.paymentId());
+        }
+        buffer.put((byte) ',');
+        putDate(row.paymentDate());
+        buffer.put((byte) ',');
+        putDecimal(row.amountPaidMinor());
+        buffer.put((byte) ',');
+        putLong(row.paymentMethod());
+        buffer.put((byte) ',');
+        putText(type);
+        buffer.put((byte) '\r').put((byte) '\n');
+    }
+
+    @Override
+    public long flush() throws IOException {
+        drain();
+        return channel.position();
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        ReceiptColumnarFormat.writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private void putLong(long value) {
+        int start = digits.length;
+        long remaining = value < 0L ? value : -value;
+        do {
+            digits[--start] = (char) ('0' - remaining % 10L);
+            remaining /= 10L;
+        } while (remaining != 0L);
+        if (value < 0L) {
+            digits[--start] = '-';
+        }
+        putAscii(start);
+    }
+
+    private void putDecimal(long minorUnits) {
+        putAscii(Money.ofMinor(minorUnits).writeDecimal(digits, digits.length));
+    }
+
+    private void putAscii(int start) {
+        for (int i = start; i < digits.length; i++) {
+            buffer.put((byte) digits[i]);
+        }
+    }
+
+    private void putDate(LocalDate date) {
+        if (date == null) {
+            return;
+        }
+        int year = date.getYear();
+        if (year < 1000 || year > 9999) {
+            buffer.put(date.toString().getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        putDigits(year, 4);
+        buffer.put((byte) '-');
+        putDigits(date.getMonthValue(), 2);
+        buffer.put((byte) '-');
+        putDigits(date.getDayOfMonth(), 2);
+    }
+
+    private void putDigits(int value, int width) {
+        for (int divisor = width == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    private void putText(byte[] text) {
+        boolean quote = false;
+        for (byte b : text) {
+            if (b == ',' || b == '"' || b == '\r' || b == '\n') {
+                quote = true;
+                break;
+            }
+        }
+        if (!quote) {
+            buffer.put(text);
+            return;
+        }
+        buffer.put((byte) '"');
+        for (byte b : text) {
+            if (b == '"') {
+                buffer.put((byte) '"');
+            }
+            buffer.put(b);
+        }
+        buffer.put((byte) '"');
+    }
+}
@@ -0,0 +1,93 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Layout of the {@code .rcol} receipt export, a small Parquet-like columnar file:
+ * <pre>
+ * header    magic "RCPTCOL1", column count (short), per column: type (byte), name length (short), UTF-8 name
+ * row group row count (int, &gt; 0), per column: raw length (int), compressed length (int), DEFLATE bytes
+ * ...
+ * trailer   0 (int), total rows (long), row group count (int), magic "RCPTCOL1"
+ * </pre>
+ * Numbers inside a column are zig-zag varints of the difference to the previous value, so sorted ids and
+ * clustered dates shrink to a byte or two before compression. Row groups are self-delimiting, which is
+ * what lets an interrupted export truncate to the last complete group and append.
+ */
+final class ReceiptColumnarFormat {
+
+    static final byte[] MAGIC = "RCPTCOL1".getBytes(StandardCharsets.US_ASCII);
+
+    enum ColumnType { INT64, NULLABLE_INT64, DATE, BOOLEAN, STRING }
+
+    record Column(String name, ColumnType type) {}
+
+    static final int RECEIPT_ID = 0;
+    static final int ISSUE_DATE = 1;
+    static final int DUE_DATE = 2;
+    static final int TOTAL_AMOUNT = 3;
+    static final int STATUS = 4;
+    static final int RESIDENT_ID = 5;
+    static final int PAYMENT_ID = 6;
+    static final int PAYMENT_DATE = 7;
+    static final int AMOUNT_PAID = 8;
+    static final int PAYMENT_METHOD = 9;
+    static final int TYPE = 10;
+
+    static final List<Column> COLUMNS = List.of(
+            new Column("receipt_id", ColumnType.INT64),
+            new Column("issue_date", ColumnType.DATE),
+            new Column("due_date", ColumnType.DATE),
+            new Column("total_amount_minor", ColumnType.INT64),
+            new Column("status", ColumnType.BOOLEAN),
+            new Column("resident_id", ColumnType.INT64),
+            new Column("payment_id", ColumnType.NULLABLE_INT64),
+            new Column("payment_date", ColumnType.DATE),
+            new Column("amount_paid_minor", ColumnType.INT64),
+            new Column("payment_method", ColumnType.INT64),
+            new Column("type", ColumnType.STRING));
+
+    /** Longest varint of a 64-bit value. */
+    static final int MAX_VARINT_LENGTH = 10;
+
+    private ReceiptColumnarFormat() {
+    }
+
+    static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0L) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer buffer) throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in columnar export");
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1L);
+    }
+
+    static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
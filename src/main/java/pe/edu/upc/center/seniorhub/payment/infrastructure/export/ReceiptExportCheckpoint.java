@@ -0,0 +1,52 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.export;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * How far an unfinished export got: the last receipt written and the size of both files at that point.
+ * It is only stored after both files were forced to disk, and replaced atomically, so on restart the files
+ * can be truncated to these sizes and the cursor reopened after {@code lastReceiptId}.
+ */
+record ReceiptExportCheckpoint(long lastReceiptId, long rows, int rowGroups, long csvBytes, long columnarBytes) {
+
+    static Optional<ReceiptExportCheckpoint> load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        var properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        try {
+            return Optional.of(new ReceiptExportCheckpoint(
+                    Long.parseLong(properties.getProperty("last-receipt-id")),
+                    Long.parseLong(properties.getProperty("rows")),
+                    Integer.parseInt(properties.getProperty("row-groups")),
+                    Long.parseLong(properties.getProperty("csv-bytes")),
+                    Long.parseLong(properties.getProperty("columnar-bytes"))));
+        } catch (NumberFormatException e) {
+            throw new IOException("Unreadable export checkpoint " + file, e);
+        }
+    }
+
+    void store(Path file) throws IOException {
+        var properties = new Properties();
+        properties.setProperty("last-receipt-id", Long.toString(lastReceiptId));
+        properties.setProperty("rows", Long.toString(rows));
+        properties.setProperty("row-groups", Integer.toString(rowGroups));
+        properties.setProperty("csv-bytes", Long.toString(csvBytes));
+        properties.setProperty("columnar-bytes", Long.toString(columnarBytes));
+        var temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary)) {
+            properties.store(writer, null);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,14 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.export;
+
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptExportRow;
+
+import java.io.IOException;
+
+/** Appends receipts to one export file through a fixed-size buffer. */
+interface ReceiptExportWriter {
+
+    void write(ReceiptExportRow row) throws IOException;
+
+    /** Writes out everything buffered and returns the file size, a position the export can resume from. */
+    long flush() throws IOException;
+}
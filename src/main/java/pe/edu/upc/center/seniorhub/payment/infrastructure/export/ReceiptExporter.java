@@ -0,0 +1,202 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.export;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ReceiptExportResult;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptExportRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptExportRow;
+import pe.edu.upc.center.seniorhub.payment.shared.infrastructure.scheduling.DatabaseSchedulerLock;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Writes every receipt to {@code <name>.csv} and {@code <name>.rcol} (see {@link ReceiptColumnarFormat})
+ * in the export directory, from a single forward-only cursor. Both files are written as {@code .part}
+ * files; after every row group they are forced to disk and a checkpoint is stored, so a run that dies or
+ * loses the lock is resumed by the next run with the same name instead of starting over. Runs nightly on
+ * one replica and on demand through the exports endpoint; both share one {@link DatabaseSchedulerLock}.
+ */
+@Component
+public class ReceiptExporter {
+
+    static final String LOCK_NAME = "receipt-export";
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReceiptExporter.class);
+
+    private final ReceiptExportRepository receiptExportRepository;
+    private final DatabaseSchedulerLock schedulerLock;
+    private final Path directory;
+    private final int rowGroupSize;
+    private final int bufferSize;
+    private final Duration lockLease;
+    private final Counter exportedCounter;
+    private final Timer exportTimer;
+
+    public ReceiptExporter(ReceiptExportRepository receiptExportRepository,
+                           DatabaseSchedulerLock schedulerLock,
+                           MeterRegistry meterRegistry,
+                           @Value("${payment.receipts.export.directory:exports}") Path directory,
+                           @Value("${payment.receipts.export.row-group-size:65536}") int rowGroupSize,
+                           @Value("${payment.receipts.export.buffer-size:262144}") int bufferSize,
+                           @Value("${payment.receipts.export.lock-lease:PT10M}") Duration lockLease) {
+        this.receiptExportRepository = receiptExportRepository;
+        this.schedulerLock = schedulerLock;
+        this.directory = directory;
+        this.rowGroupSize = rowGroupSize;
+        this.bufferSize = bufferSize;
+        this.lockLease = lockLease;
+        this.exportedCounter = meterRegistry.counter("payment.receipts.export.rows");
+        this.exportTimer = meterRegistry.timer("payment.receipts.export.runs");
+    }
+
+    @Scheduled(cron = "${payment.receipts.export.cron:0 30 2 * * *}")
+    public void exportNightly() {
+        var result = export("receipts-" + LocalDate.now());
+        if (result.isEmpty()) {
+            LOGGER.debug("Nightly receipt export skipped; another replica holds {}", LOCK_NAME);
+        }
+    }
+
+    /** Runs or resumes the export called {@code name}; empty if another export is running. */
+    public Optional<ReceiptExportResult> export(String name) {
+        return export(name, Integer.MAX_VALUE);
+    }
+
+    Optional<ReceiptExportResult> export(String name, int maxRowGroups) {
+        if (!schedulerLock.tryAcquire(LOCK_NAME, lockLease)) {
+            return Optional.empty();
+        }
+        try {
+            var result = exportTimer.record(() -> run(name, maxRowGroups));
+            LOGGER.info("Receipt export {} {}: {} rows, {} + {} bytes in {}", name,
+                    result.completed() ? "completed" : "stopped", result.rows(), result.csvBytes(),
+                    result.columnarBytes(), result.elapsed());
+            return Optional.of(result);
+        } finally {
+            schedulerLock.release(LOCK_NAME);
+        }
+    }
+
+    private ReceiptExportResult run(String name, int maxRowGroups) {
+        long started = System.nanoTime();
+        var csvFile = directory.resolve(name + ".csv");
+        var columnarFile = directory.resolve(name + ".rcol");
+        var csvPart = directory.resolve(name + ".csv.part");
+        var columnarPart = directory.resolve(name + ".rcol.part");
+        var checkpointFile = directory.resolve(name + ".checkpoint");
+        try {
+            Files.createDirectories(directory);
+            var checkpoint = ReceiptExportCheckpoint.load(checkpointFile);
+            try (var csvChannel = FileChannel.open(csvPart, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 var columnarChannel = FileChannel.open(columnarPart, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 var columnar = new ColumnarReceiptExportWriter(columnarChannel, rowGroupSize,
+                         checkpoint.map(ReceiptExportCheckpoint::rows).orElse(0L),
+                         checkpoint.map(ReceiptExportCheckpoint::rowGroups).orElse(0))) {
+                var csv = new CsvReceiptExportWriter(csvChannel, bufferSize);
+                // Anything past the checkpoint was written after the last durable row group: drop it
+                csvChannel.truncate(checkpoint.map(ReceiptExportCheckpoint::csvBytes).orElse(0L));
+                columnarChannel.truncate(checkpoint.map(ReceiptExportCheckpoint::columnarBytes).orElse(0L));
+                csvChannel.position(csvChannel.size());
+                columnarChannel.position(columnarChannel.size());
+                if (checkpoint.isEmpty()) {
+                    csv.writeHeader();
+                    columnar.writeHeader();
+                }
+
+                var progress = new Progress(checkpoint.map(ReceiptExportCheckpoint::lastReceiptId).orElse(0L),
+                        maxRowGroups);
+                try {
+                    receiptExportRepository.forEachAfter(progress.lastReceiptId, row ->
+                            write(row, csv, columnar, csvChannel, columnarChannel, checkpointFile, progress));
+                } catch (StopExport e) {
+                    return new ReceiptExportResult(name, false, checkpoint.isPresent(), columnar.totalRows(),
+                            csvPart.getFileName().toString(), csvChannel.size(), columnarPart.getFileName().toString(),
+                            columnarChannel.size(),
+                            Duration.ofNanos(System.nanoTime() - started));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+
+                long csvBytes = csv.flush();
+                long columnarBytes = columnar.finish();
+                csvChannel.force(false);
+                columnarChannel.force(false);
+                var rows = columnar.totalRows();
+                exportedCounter.increment(progress.rowsWritten);
+                csvChannel.close();
+                columnarChannel.close();
+                Files.move(csvPart, csvFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.move(columnarPart, columnarFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.deleteIfExists(checkpointFile);
+                return new ReceiptExportResult(name, true, checkpoint.isPresent(), rows,
+                        csvFile.getFileName().toString(), csvBytes, columnarFile.getFileName().toString(), columnarBytes,
+                        Duration.ofNanos(System.nanoTime() - started));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Receipt export " + name + " failed", e);
+        }
+    }
+
+    private void write(ReceiptExportRow row, CsvReceiptExportWriter csv, ColumnarReceiptExportWriter columnar,
+                       FileChannel csvChannel, FileChannel columnarChannel, Path checkpointFile, Progress progress) {
+        try {
+            csv.write(row);
+            columnar.write(row);
+            progress.lastReceiptId = row.receiptId();
+            if (++progress.rowsWritten % rowGroupSize != 0) {
+                return;
+            }
+            // The columnar writer just emitted a full row group: both files end on the same row
+            long csvBytes = csv.flush();
+            long columnarBytes = columnar.flush();
+            csvChannel.force(false);
+            columnarChannel.force(false);
+            new ReceiptExportCheckpoint(progress.lastReceiptId, columnar.totalRows(), columnar.rowGroups(),
+                    csvBytes, columnarBytes).store(checkpointFile);
+            exportedCounter.increment(rowGroupSize);
+            progress.rowsWritten = 0;
+            if (--progress.remainingRowGroups == 0) {
+                throw new StopExport();
+            }
+            if (!schedulerLock.extend(LOCK_NAME, lockLease)) {
+                LOGGER.warn("Lost {} after receipt {}; stopping the export at its checkpoint", LOCK_NAME,
+                        progress.lastReceiptId);
+                throw new StopExport();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Progress {
+        private long lastReceiptId;
+        private long rowsWritten;
+        private int remainingRowGroups;
+
+        Progress(long lastReceiptId, int maxRowGroups) {
+            this.lastReceiptId = lastReceiptId;
+            this.remainingRowGroups = maxRowGroups;
+        }
+    }
+
+    /** Unwinds the cursor callback once a checkpoint is stored and the run must not continue. */
+    private static final class StopExport extends RuntimeException {
+        StopExport() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.IdempotencyKeyRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.IdempotencyRecord;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Idempotency keys: the {@code idempotency_key} table is the source of truth, fronted by a bounded
+ * in-process cache of completed responses. Completed responses never change, so the cache needs no
+ * invalidation and stays correct when several replicas share the table.
+ */
+@Component
+public class IdempotencyKeyStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdempotencyKeyStore.class);
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Cache<String, IdempotencyRecord> completedResponses;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+
+    public IdempotencyKeyStore(IdempotencyKeyRepository idempotencyKeyRepository,
+                               @Value("${payment.idempotency.ttl:PT24H}") Duration ttl,
+                               @Value("${payment.idempotency.cache-size:10000}") long cacheSize,
+                               @Value("${payment.idempotency.purge-batch-size:1000}") int purgeBatchSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = ttl;
+        this.purgeBatchSize = purgeBatchSize;
+        this.completedResponses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Optional<IdempotencyRecord> findCached(byte[] keyHash) {
+        return Optional.ofNullable(completedResponses.getIfPresent(cacheKey(keyHash)));
+    }
+
+    public Optional<IdempotencyRecord> find(byte[] keyHash) {
+        return idempotencyKeyRepository.find(keyHash, Instant.now());
+    }
+
+    /** Must run inside the transaction that performs the write, so the claim commits or rolls back with it. */
+    public boolean claim(byte[] keyHash, byte[] requestHash) {
+        var now = Instant.now();
+        return idempotencyKeyRepository.claim(keyHash, requestHash, now, now.plus(ttl));
+    }
+
+    public void complete(byte[] keyHash, IdempotencyRecord record) {
+        idempotencyKeyRepository.complete(keyHash, record);
+        // Only cache what has been committed; a rolled-back write must not be replayed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                completedResponses.put(cacheKey(keyHash), record);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${payment.idempotency.purge-interval:PT10M}",
+            initialDelayString = "${payment.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        // Small batches keep each DELETE's locks short while requests keep claiming new keys
+        var now = Instant.now();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = idempotencyKeyRepository.deleteExpired(now, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+        if (purged > 0) {
+            LOGGER.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private static String cacheKey(byte[] keyHash) {
+        return HexFormat.of().formatHex(keyHash);
+    }
+}
@@ -0,0 +1,144 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.IdempotencyRecord;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write at most once per {@code Idempotency-Key}. The key is claimed and the response stored in the
+ * same transaction as the write, so a retry either replays the stored response without touching the
+ * command side (no second write, no second notification) or, if the first attempt failed, runs again.
+ */
+@Component
+public class IdempotentRequestExecutor {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+    private static final String REQUESTS_METER = "payment.idempotency.requests";
+
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+    private final Counter inProgressCounter;
+    private final Counter mismatchCounter;
+
+    public IdempotentRequestExecutor(IdempotencyKeyStore idempotencyKeyStore, TransactionTemplate transactionTemplate,
+                                     ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.idempotencyKeyStore = idempotencyKeyStore;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.executedCounter = meterRegistry.counter(REQUESTS_METER, "outcome", "executed");
+        this.replayedCounter = meterRegistry.counter(REQUESTS_METER, "outcome", "replayed");
+        this.inProgressCounter = meterRegistry.counter(REQUESTS_METER, "outcome", "in-progress");
+        this.mismatchCounter = meterRegistry.counter(REQUESTS_METER, "outcome", "mismatch");
+    }
+
+    /**
+     * Executes {@code action} unless {@code idempotencyKey} was already used in {@code scope}. Keys are scoped
+     * per operation, and the request body is fingerprinted so a key reused for a different payload is
+     * rejected with 422 instead of silently returning the other request's response. Only 2xx responses are
+     * stored; anything else rolls the claim back and the client may retry with the same key.
+     */
+    public <T> ResponseEntity<T> execute(String scope, String idempotencyKey, Object request, Class<T> responseType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var keyHash = sha256((scope + '\n' + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+        var requestHash = sha256(toJson(request).getBytes(StandardCharsets.UTF_8));
+
+        // Retry storms are answered from memory once the first attempt has committed
+        var cached = idempotencyKeyStore.findCached(keyHash);
+        if (cached.isPresent()) {
+            return replay(cached.get(), requestHash, responseType);
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                if (!idempotencyKeyStore.claim(keyHash, requestHash)) {
+                    return idempotencyKeyStore.find(keyHash)
+                            .map(stored -> replay(stored, requestHash, responseType))
+                            .orElseGet(this::inProgress);
+                }
+                var response = action.get();
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    status.setRollbackOnly();
+                    return response;
+                }
+                idempotencyKeyStore.complete(keyHash, new IdempotencyRecord(requestHash, response.getStatusCode().value(),
+                        response.hasBody() ? toJson(response.getBody()) : null, response.getHeaders().getETag()));
+                executedCounter.increment();
+                return response;
+            });
+        } catch (PessimisticLockingFailureException e) {
+            // Timed out waiting for the first request holding the key
+            return inProgress();
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyRecord stored, byte[] requestHash, Class<T> responseType) {
+        if (!stored.matches(requestHash)) {
+            mismatchCounter.increment();
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        }
+        if (!stored.isCompleted()) {
+            return inProgress();
+        }
+        replayedCounter.increment();
+        var response = ResponseEntity.status(stored.responseStatus()).header(REPLAYED_HEADER, "true");
+        if (stored.responseETag() != null) {
+            response.eTag(stored.responseETag());
+        }
+        return response.body(stored.responseBody() == null ? null : fromJson(stored.responseBody(), responseType));
+    }
+
+    private <T> ResponseEntity<T> inProgress() {
+        inProgressCounter.increment();
+        return ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
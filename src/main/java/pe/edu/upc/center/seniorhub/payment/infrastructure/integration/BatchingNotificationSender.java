@@ -0,0 +1,218 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.integration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces notifications per user before they reach {@link NotificationServiceClient}. Messages queue up
+ * for at most {@code window} (or until {@code max-batch-size} are waiting); each flush groups them by user
+ * and sends one digest per user of up to {@code max-messages-per-digest} messages, so a bulk billing run
+ * costs one call per resident instead of one per receipt. Each message keeps its outbox dedup key inside the
+ * digest, so the service still deduplicates message by message. Digests go out concurrently on the client's
+ * pooled connections, at most {@code max-concurrency} at a time. The queue is bounded: when the service
+ * falls behind, the flusher waits for send permits, the queue fills and {@link #submit} blocks for up to
+ * {@code offer-timeout} before failing the message, which the outbox then retries with backoff.
+ */
+@Component
+public class BatchingNotificationSender {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingNotificationSender.class);
+    private static final String MESSAGES_METER = "payment.notifications.batching.messages";
+
+    private final NotificationServiceClient notificationServiceClient;
+    private final BlockingQueue<PendingNotification> queue;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final int maxMessagesPerDigest;
+    private final Duration offerTimeout;
+    private final Semaphore sendPermits;
+    private final ExecutorService sendExecutor;
+    private final Thread flusher;
+    private final Counter rejectedCounter;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary digestSize;
+    private volatile boolean running = true;
+
+    public BatchingNotificationSender(NotificationServiceClient notificationServiceClient,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${payment.notifications.batching.window:PT0.1S}") Duration window,
+                                      @Value("${payment.notifications.batching.max-batch-size:500}") int maxBatchSize,
+                                      @Value("${payment.notifications.batching.max-messages-per-digest:20}") int maxMessagesPerDigest,
+                                      @Value("${payment.notifications.batching.queue-capacity:1000}") int queueCapacity,
+                                      @Value("${payment.notifications.batching.offer-timeout:PT5S}") Duration offerTimeout,
+                                      @Value("${payment.notifications.batching.max-concurrency:8}") int maxConcurrency,
+                                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.notificationServiceClient = notificationServiceClient;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.maxMessagesPerDigest = maxMessagesPerDigest;
+        this.offerTimeout = offerTimeout;
+        this.sendPermits = new Semaphore(maxConcurrency);
+        // Either way at most maxConcurrency digests are in flight; virtual threads just make each one cheap
+        this.sendExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notification-send-", 0).factory())
+                : Executors.newFixedThreadPool(maxConcurrency);
+        this.rejectedCounter = meterRegistry.counter(MESSAGES_METER, "outcome", "rejected");
+        this.sentCounter = meterRegistry.counter(MESSAGES_METER, "outcome", "sent");
+        this.failedCounter = meterRegistry.counter(MESSAGES_METER, "outcome", "failed");
+        this.digestSize = DistributionSummary.builder("payment.notifications.batching.digest-size")
+                .baseUnit("messages")
+                .register(meterRegistry);
+        meterRegistry.gaugeCollectionSize("payment.notifications.batching.queued", List.of(), queue);
+        meterRegistry.gauge("payment.notifications.in-flight", sendPermits,
+                permits -> maxConcurrency - permits.availablePermits());
+        this.flusher = Thread.ofPlatform().name("notification-batcher").daemon(true).start(this::flushLoop);
+    }
+
+    /**
+     * Queues one message; the future completes with whether the digest carrying it was accepted, or
+     * exceptionally when the queue stayed full for the whole offer timeout.
+     */
+    public CompletableFuture<Boolean> submit(Long userId, String message, String dedupKey) {
+        var pending = new PendingNotification(userId, message, dedupKey, new CompletableFuture<>());
+        try {
+            if (running && queue.offer(pending, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return pending.result();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedCounter.increment();
+        return CompletableFuture.failedFuture(new RejectedExecutionException("Notification queue is full"));
+    }
+
+    private void flushLoop() {
+        var batch = new ArrayList<PendingNotification>(maxBatchSize);
+        while (running) {
+            try {
+                var first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    var next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // Digests already handed to the executor complete on their own; complete() ignores them
+                batch.forEach(pending -> pending.result().complete(false));
+                break;
+            } catch (RuntimeException e) {
+                LOGGER.warn("Notification batch failed", e);
+                batch.forEach(pending -> pending.result().complete(false));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingNotification> batch) throws InterruptedException {
+        var byUser = new LinkedHashMap<Long, List<PendingNotification>>();
+        for (var pending : batch) {
+            byUser.computeIfAbsent(pending.userId(), userId -> new ArrayList<>()).add(pending);
+        }
+        for (var messages : byUser.values()) {
+            for (int from = 0; from < messages.size(); from += maxMessagesPerDigest) {
+                var digest = List.copyOf(messages.subList(from, Math.min(from + maxMessagesPerDigest, messages.size())));
+                // Waiting here is the backpressure: the queue keeps filling while the service is saturated
+                sendPermits.acquire();
+                try {
+                    sendExecutor.execute(() -> send(digest));
+                } catch (RejectedExecutionException e) {
+                    sendPermits.release();
+                    digest.forEach(pending -> pending.result().complete(false));
+                }
+            }
+        }
+    }
+
+    private void send(List<PendingNotification> digest) {
+        boolean sent = false;
+        try {
+            var first = digest.getFirst();
+            sent = digest.size() == 1
+                    ? notificationServiceClient.sendNotification(first.userId(), first.message(), first.dedupKey())
+                    : notificationServiceClient.sendDigest(first.userId(), digestMessage(digest), digestKey(digest),
+                            digest.stream().map(pending -> new NotificationServiceClient.DigestItem(pending.dedupKey(),
+                                    pending.message())).toList());
+        } finally {
+            sendPermits.release();
+            digestSize.record(digest.size());
+            (sent ? sentCounter : failedCounter).increment(digest.size());
+            for (var pending : digest) {
+                pending.result().complete(sent);
+            }
+        }
+    }
+
+    private static String digestMessage(List<PendingNotification> digest) {
+        var message = new StringBuilder().append(digest.size()).append(" notifications:");
+        for (var pending : digest) {
+            message.append("\n- ").append(pending.message());
+        }
+        return message.toString();
+    }
+
+    // A retried digest with the same messages carries the same key, so the service can drop it whole. A message
+    // retried after a timeout usually lands in a different digest; its item's own dedup key covers that case
+    private static String digestKey(List<PendingNotification> digest) {
+        try {
+            var sha256 = MessageDigest.getInstance("SHA-256");
+            digest.stream().map(PendingNotification::dedupKey).sorted().forEach(key -> {
+                sha256.update(String.valueOf(key).getBytes(StandardCharsets.UTF_8));
+                sha256.update((byte) '\n');
+            });
+            return "digest:" + Base64.getUrlEncoder().withoutPadding().encodeToString(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        flusher.interrupt();
+        sendExecutor.shutdown();
+        PendingNotification pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().complete(false);
+        }
+    }
+
+    private record PendingNotification(Long userId, String message, String dedupKey, CompletableFuture<Boolean> result) {}
+}
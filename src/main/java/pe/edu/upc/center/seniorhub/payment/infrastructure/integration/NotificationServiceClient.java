@@ -1,47 +1,70 @@
 package pe.edu.upc.center.seniorhub.payment.infrastructure.integration;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
+import pe.edu.upc.center.seniorhub.payment.shared.infrastructure.http.DownstreamRestClientFactory;
 
 import java.time.LocalDate;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 @Service
+@RegisterReflectionForBinding(NotificationServiceClient.NotificationRequest.class)
 public class NotificationServiceClient {
 
-    private final RestClient restClient;
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationServiceClient.class);
+    private static final String NOTIFICATIONS_PATH = "/api/v1/notifications";
 
-    @Value("${services.notifications.url}")
-    private String notificationServiceUrl;
+    private final RestClient restClient;
 
-    public NotificationServiceClient(RestClient restClient) {
-        this.restClient = restClient;
+    public NotificationServiceClient(DownstreamRestClientFactory restClientFactory) {
+        this.restClient = restClientFactory.restClient("notifications");
     }
 
     public boolean sendNotification(Long userId, String message) {
+        return sendNotification(userId, message, null);
+    }
+
+    public boolean sendNotification(Long userId, String message, String idempotencyKey) {
+        return send(userId, message, idempotencyKey, null);
+    }
+
+    /**
+     * Sends several messages for one user as a single notification. Each item carries its message's own dedup
+     * key, the same key that message would send as Idempotency-Key on its own, so the service can drop the
+     * messages it already delivered even when a retry groups them into a different digest.
+     */
+    public boolean sendDigest(Long userId, String message, String idempotencyKey, List<DigestItem> items) {
+        return send(userId, message, idempotencyKey, List.copyOf(items));
+    }
+
+    private boolean send(Long userId, String message, String idempotencyKey, List<DigestItem> items) {
         try {
-            String url = notificationServiceUrl + "/api/v1/notifications";
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("userId", userId);
-            requestBody.put("type", "EMAIL");
-            requestBody.put("message", message);
-            requestBody.put("sentDate", LocalDate.now().toString());
-
-            restClient.post()
-                    .uri(url)
-                    .header("Content-Type", "application/json")
-                    .body(requestBody)
+            var request = restClient.post()
+                    .uri(NOTIFICATIONS_PATH)
+                    .contentType(MediaType.APPLICATION_JSON);
+            if (idempotencyKey != null) {
+                // Lets the notification service drop duplicates when the outbox retries a send
+                request.header("Idempotency-Key", idempotencyKey);
+            }
+            request.body(new NotificationRequest(userId, "EMAIL", message, LocalDate.now().toString(), items))
                     .retrieve()
                     .toBodilessEntity();
 
-            System.out.println("✅ Notification sent successfully to user: " + userId);
+            LOGGER.debug("Notification sent to user {}", userId);
             return true;
         } catch (Exception e) {
-            System.err.println("❌ Error sending notification: " + e.getMessage());
+            LOGGER.warn("Error sending notification to user {}: {}", userId, e.getMessage());
             return false;
         }
     }
+
+    public record DigestItem(String dedupKey, String message) {}
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record NotificationRequest(Long userId, String type, String message, String sentDate, List<DigestItem> items) {}
 }
@@ -0,0 +1,49 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.integration;
+
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import pe.edu.upc.center.seniorhub.payment.shared.infrastructure.http.DownstreamRestClientFactory;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RegisterReflectionForBinding(ResidentServiceClient.ResidentResponse.class)
+public class ResidentServiceClient {
+
+    private static final String RESIDENTS_PATH = "/api/v1/residents";
+
+    private final RestClient restClient;
+
+    public ResidentServiceClient(DownstreamRestClientFactory restClientFactory) {
+        this.restClient = restClientFactory.restClient("residents");
+    }
+
+    /**
+     * Returns the ids among {@code residentIds} that the residents service knows, in one
+     * {@code GET /api/v1/residents?ids=...} request. Failures propagate so callers can tell "unknown" from
+     * "could not check".
+     */
+    public Set<Long> findExistingResidentIds(Collection<Long> residentIds) {
+        var ids = residentIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        var residents = restClient.get()
+                .uri(uriBuilder -> uriBuilder.path(RESIDENTS_PATH).queryParam("ids", ids).build())
+                .retrieve()
+                .body(ResidentResponse[].class);
+
+        var existing = new HashSet<Long>();
+        if (residents != null) {
+            for (var resident : residents) {
+                if (resident != null && resident.id() != null && residentIds.contains(resident.id())) {
+                    existing.add(resident.id());
+                }
+            }
+        }
+        return existing;
+    }
+
+    record ResidentResponse(Long id) {}
+}
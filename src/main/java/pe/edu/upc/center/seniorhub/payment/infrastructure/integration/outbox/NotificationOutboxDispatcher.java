@@ -0,0 +1,134 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.integration.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.integration.BatchingNotificationSender;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.NotificationOutboxRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class NotificationOutboxDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+    private static final String DELIVERIES_METER = "payment.notifications.outbox.deliveries";
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final BatchingNotificationSender notificationSender;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public NotificationOutboxDispatcher(NotificationOutboxRepository outboxRepository,
+                                        BatchingNotificationSender notificationSender,
+                                        TransactionTemplate transactionTemplate,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${payment.notifications.outbox.batch-size:100}") int batchSize,
+                                        @Value("${payment.notifications.outbox.max-attempts:8}") int maxAttempts,
+                                        @Value("${payment.notifications.outbox.initial-backoff:PT5S}") Duration initialBackoff,
+                                        @Value("${payment.notifications.outbox.max-backoff:PT30M}") Duration maxBackoff,
+                                        @Value("${payment.notifications.outbox.lease:PT1M}") Duration lease) {
+        this.outboxRepository = outboxRepository;
+        this.notificationSender = notificationSender;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.sentCounter = meterRegistry.counter(DELIVERIES_METER, "outcome", "sent");
+        this.retriedCounter = meterRegistry.counter(DELIVERIES_METER, "outcome", "retry");
+        this.failedCounter = meterRegistry.counter(DELIVERIES_METER, "outcome", "failed");
+    }
+
+    @Scheduled(fixedDelayString = "${payment.notifications.outbox.poll-interval:PT1S}",
+            initialDelayString = "${payment.notifications.outbox.poll-interval:PT1S}")
+    public void dispatchPending() {
+        // Keep draining while batches come back full, so a backlog clears without waiting for the next tick
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize);
+    }
+
+    public int dispatchBatch() {
+        var claimed = transactionTemplate.execute(status -> claimBatch());
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        // The whole batch is handed over at once, so the sender can coalesce each user's entries into one digest
+        List<CompletableFuture<SendResult>> sends = new ArrayList<>(claimed.size());
+        for (var entry : claimed) {
+            sends.add(send(entry));
+        }
+        var results = sends.stream().map(CompletableFuture::join).toList();
+
+        transactionTemplate.executeWithoutResult(status -> recordResults(results));
+        return claimed.size();
+    }
+
+    private List<NotificationOutboxEntry> claimBatch() {
+        var now = Instant.now();
+        var due = outboxRepository.findDueForDispatch(NotificationOutboxStatus.PENDING, now, Limit.of(batchSize));
+        var leaseUntil = now.plus(lease);
+        due.forEach(entry -> entry.claim(leaseUntil));
+        return due;
+    }
+
+    private CompletableFuture<SendResult> send(NotificationOutboxEntry entry) {
+        return notificationSender.submit(entry.getUserId(), entry.getMessage(), entry.getDedupKey())
+                .handle((sent, error) -> error != null
+                        ? new SendResult(entry.getId(), false, error.getMessage())
+                        : new SendResult(entry.getId(), sent, sent ? null : "Notification service rejected the request"));
+    }
+
+    private void recordResults(List<SendResult> results) {
+        var now = Instant.now();
+        var resultsById = results.stream().collect(Collectors.toMap(SendResult::entryId, Function.identity()));
+        for (var entry : outboxRepository.findAllById(resultsById.keySet())) {
+            var result = resultsById.get(entry.getId());
+            if (result.sent()) {
+                entry.markSent(now);
+                sentCounter.increment();
+                continue;
+            }
+            entry.markAttemptFailed(result.error(), now.plus(backoffFor(entry.getAttempts())), maxAttempts);
+            if (entry.getStatus() == NotificationOutboxStatus.FAILED) {
+                failedCounter.increment();
+                LOGGER.warn("Giving up on notification {} after {} attempts: {}",
+                        entry.getDedupKey(), entry.getAttempts(), result.error());
+            } else {
+                retriedCounter.increment();
+            }
+        }
+    }
+
+    // Exponential backoff: initial * 2^(attempts-1), capped at maxBackoff
+    Duration backoffFor(int attempts) {
+        var shift = Math.min(Math.max(attempts - 1, 0), 20);
+        var backoff = initialBackoff.multipliedBy(1L << shift);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private record SendResult(Long entryId, boolean sent, String error) {}
+}
@@ -0,0 +1,92 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.integration.outbox;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "notification_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notification_outbox_dedup_key", columnNames = "dedup_key"),
+        indexes = @Index(name = "idx_notification_outbox_status_next_attempt", columnList = "status, next_attempt_at"))
+public class NotificationOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "dedup_key", nullable = false, length = 120)
+    private String dedupKey;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private NotificationOutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    private Instant sentAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public NotificationOutboxEntry() {}
+
+    public NotificationOutboxEntry(String dedupKey, Long userId, String message) {
+        var now = Instant.now();
+        this.dedupKey = dedupKey;
+        this.userId = userId;
+        this.message = message;
+        this.status = NotificationOutboxStatus.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = now;
+        this.createdAt = now;
+    }
+
+    // Leases the entry until leaseUntil so no other replica sends it concurrently
+    public void claim(Instant leaseUntil) {
+        this.attempts++;
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    public void markSent(Instant sentAt) {
+        this.status = NotificationOutboxStatus.SENT;
+        this.sentAt = sentAt;
+        this.lastError = null;
+    }
+
+    public void markAttemptFailed(String error, Instant retryAt, int maxAttempts) {
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        if (this.attempts >= maxAttempts) {
+            this.status = NotificationOutboxStatus.FAILED;
+        } else {
+            this.nextAttemptAt = retryAt;
+        }
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getDedupKey() { return dedupKey; }
+    public Long getUserId() { return userId; }
+    public String getMessage() { return message; }
+    public NotificationOutboxStatus getStatus() { return status; }
+    public int getAttempts() { return attempts; }
+    public Instant getNextAttemptAt() { return nextAttemptAt; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getSentAt() { return sentAt; }
+    public String getLastError() { return lastError; }
+}
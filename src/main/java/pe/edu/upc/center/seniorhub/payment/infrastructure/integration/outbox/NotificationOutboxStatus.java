@@ -0,0 +1,7 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.integration.outbox;
+
+public enum NotificationOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,76 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * {@code idempotency_key} rows. A key is claimed by inserting its row inside the caller's transaction, so a
+ * concurrent request with the same key blocks on the primary key until the first one commits or rolls back.
+ */
+@Repository
+public class IdempotencyKeyRepository {
+
+    private static final String INSERT = """
+            insert into idempotency_key (key_hash, request_hash, created_at, expires_at)
+            values (?, ?, ?, ?)""";
+
+    private static final String COMPLETE = """
+            update idempotency_key set response_status = ?, response_body = ?, response_etag = ?
+            where key_hash = ?""";
+
+    private static final String SELECT = """
+            select request_hash, response_status, response_body, response_etag
+            from idempotency_key where key_hash = ? and expires_at > ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claims the key; returns false when a live row already holds it. An expired row that the purge job
+     * has not removed yet is replaced.
+     */
+    public boolean claim(byte[] keyHash, byte[] requestHash, Instant now, Instant expiresAt) {
+        try {
+            insert(keyHash, requestHash, now, expiresAt);
+            return true;
+        } catch (DuplicateKeyException e) {
+            if (jdbcTemplate.update("delete from idempotency_key where key_hash = ? and expires_at <= ?",
+                    keyHash, Timestamp.from(now)) == 0) {
+                return false;
+            }
+            insert(keyHash, requestHash, now, expiresAt);
+            return true;
+        }
+    }
+
+    private void insert(byte[] keyHash, byte[] requestHash, Instant now, Instant expiresAt) {
+        jdbcTemplate.update(INSERT, keyHash, requestHash, Timestamp.from(now), Timestamp.from(expiresAt));
+    }
+
+    public void complete(byte[] keyHash, IdempotencyRecord record) {
+        jdbcTemplate.update(COMPLETE, record.responseStatus(), record.responseBody(), record.responseETag(), keyHash);
+    }
+
+    public Optional<IdempotencyRecord> find(byte[] keyHash, Instant now) {
+        return jdbcTemplate.query(SELECT, (rs, rowNum) -> new IdempotencyRecord(
+                        rs.getBytes("request_hash"),
+                        rs.getObject("response_status", Integer.class),
+                        rs.getString("response_body"),
+                        rs.getString("response_etag")),
+                keyHash, Timestamp.from(now)).stream().findFirst();
+    }
+
+    /** Deletes up to {@code limit} expired rows and returns how many went. */
+    public int deleteExpired(Instant now, int limit) {
+        return jdbcTemplate.update("delete from idempotency_key where expires_at <= ? limit ?",
+                Timestamp.from(now), limit);
+    }
+}
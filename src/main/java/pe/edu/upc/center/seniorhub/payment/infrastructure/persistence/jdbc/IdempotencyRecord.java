@@ -0,0 +1,18 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc;
+
+import java.util.Arrays;
+
+/**
+ * A stored {@code idempotency_key} row: the fingerprint of the request that claimed the key and, once it
+ * finished, the response to replay. {@code responseStatus} is null while the first request is running.
+ */
+public record IdempotencyRecord(byte[] requestHash, Integer responseStatus, String responseBody, String responseETag) {
+
+    public boolean isCompleted() {
+        return responseStatus != null;
+    }
+
+    public boolean matches(byte[] otherRequestHash) {
+        return Arrays.equals(requestHash, otherRequestHash);
+    }
+}
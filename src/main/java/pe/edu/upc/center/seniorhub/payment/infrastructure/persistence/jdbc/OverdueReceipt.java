@@ -0,0 +1,12 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+import java.time.LocalDate;
+
+/**
+ * An unpaid receipt past its due date that has not been marked yet; {@code (dueDate, receiptId)} is the
+ * sweep's keyset position.
+ */
+public record OverdueReceipt(Long receiptId, Long residentId, LocalDate dueDate, Money outstanding) {
+}
@@ -0,0 +1,85 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Chunked access to overdue receipts for the sweeper. Chunks are read in {@code (due_date, id)} order
+ * within idx_receipt_status_overdue_due_date and each one seeks past the last row of the previous chunk, so
+ * a sweep never re-reads rows or pays for an OFFSET. Candidates are read without locks; only the guarded
+ * update locks rows, and only those it marks, so payments on other receipts never wait for the sweep. A
+ * receipt paid after it was read fails the guard and is neither marked nor reminded.
+ */
+@Repository
+public class OverdueReceiptRepository {
+
+    private static final String SELECT_CHUNK = """
+            select id, resident_id, due_date, total_amount_minor - amount_paid_minor as outstanding_minor
+            from receipt
+            where status = false and due_date < :today and overdue_at is null
+              and (due_date > :afterDueDate or (due_date = :afterDueDate and id > :afterId))
+            order by due_date, id
+            limit :limit""";
+
+    private static final String MARK = """
+            update receipt set overdue_at = :now
+            where id in (:ids) and status = false and overdue_at is null""";
+
+    // The marked rows are this transaction's own writes, so this sees their current outstanding amount
+    private static final String SELECT_MARKED = """
+            select id, resident_id, due_date, total_amount_minor - amount_paid_minor as outstanding_minor
+            from receipt
+            where id in (:ids) and overdue_at = :now
+            order by due_date, id""";
+
+    private static final LocalDate START = LocalDate.of(1970, 1, 1);
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public OverdueReceiptRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /** Returns the next chunk of candidates after {@code after}, or from the start when it is null. */
+    public List<OverdueReceipt> findUnmarked(LocalDate today, OverdueReceipt after, int limit) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("today", Date.valueOf(today))
+                .addValue("afterDueDate", Date.valueOf(after == null ? START : after.dueDate()))
+                .addValue("afterId", after == null ? 0L : after.receiptId())
+                .addValue("limit", limit);
+        return namedParameterJdbcTemplate.query(SELECT_CHUNK, parameters, OverdueReceiptRepository::overdueReceipt);
+    }
+
+    /**
+     * Marks the candidates that are still unpaid and unmarked, and returns them as marked. {@code now} must
+     * fit the column's microsecond precision, since it also identifies the rows this call marked.
+     */
+    public List<OverdueReceipt> markOverdue(Collection<Long> receiptIds, Instant now) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("ids", receiptIds)
+                .addValue("now", Timestamp.from(now));
+        if (namedParameterJdbcTemplate.update(MARK, parameters) == 0) {
+            return List.of();
+        }
+        return namedParameterJdbcTemplate.query(SELECT_MARKED, parameters, OverdueReceiptRepository::overdueReceipt);
+    }
+
+    private static OverdueReceipt overdueReceipt(ResultSet rs, int rowNum) throws SQLException {
+        return new OverdueReceipt(
+                rs.getLong("id"),
+                rs.getLong("resident_id"),
+                rs.getDate("due_date").toLocalDate(),
+                Money.ofMinor(rs.getLong("outstanding_minor")));
+    }
+}
@@ -0,0 +1,122 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.integration.outbox.NotificationOutboxEntry;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.integration.outbox.NotificationOutboxStatus;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi-row inserts for bulk ingestion. Receipt ids stay IDENTITY-generated, so Hibernate cannot batch
+ * these inserts; plain JDBC batches (rewritten into multi-row INSERTs by the MySQL driver) can, and still
+ * hand back the generated keys.
+ */
+@Repository
+public class ReceiptBatchInsertRepository {
+
+    private static final String INSERT_RECEIPT = """
+            insert into receipt (issue_date, due_date, total_amount_minor, status, resident_id, payment_id,
+                                 payment_date, amount_paid_minor, payment_method, type, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    // An entry whose dedup_key is already queued is skipped, so re-enqueueing never fails the whole batch
+    private static final String INSERT_OUTBOX_ENTRY = """
+            insert into notification_outbox (dedup_key, user_id, message, status, attempts, next_attempt_at, created_at)
+            values (?, ?, ?, ?, 0, ?, ?)
+            on duplicate key update id = id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public ReceiptBatchInsertRepository(JdbcTemplate jdbcTemplate,
+                                        @Value("${payment.receipts.bulk.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public List<Long> insertReceipts(List<CreateReceiptCommand> commands) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> insertReceipts(connection, commands));
+    }
+
+    public void insertOutboxEntries(List<NotificationOutboxEntry> entries) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (var statement = connection.prepareStatement(INSERT_OUTBOX_ENTRY)) {
+                var now = Timestamp.from(Instant.now());
+                for (int i = 0; i < entries.size(); i++) {
+                    var entry = entries.get(i);
+                    statement.setString(1, entry.getDedupKey());
+                    statement.setLong(2, entry.getUserId());
+                    statement.setString(3, entry.getMessage());
+                    statement.setString(4, NotificationOutboxStatus.PENDING.name());
+                    statement.setTimestamp(5, now);
+                    statement.setTimestamp(6, now);
+                    statement.addBatch();
+                    if ((i + 1) % batchSize == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    private List<Long> insertReceipts(Connection connection, List<CreateReceiptCommand> commands) throws SQLException {
+        var ids = new ArrayList<Long>(commands.size());
+        try (var statement = connection.prepareStatement(INSERT_RECEIPT, Statement.RETURN_GENERATED_KEYS)) {
+            var now = Timestamp.from(Instant.now());
+            for (int i = 0; i < commands.size(); i++) {
+                bind(statement, commands.get(i), now);
+                statement.addBatch();
+                if ((i + 1) % batchSize == 0 || i == commands.size() - 1) {
+                    statement.executeBatch();
+                    collectGeneratedKeys(statement, ids);
+                }
+            }
+        }
+        if (ids.size() != commands.size()) {
+            throw new IllegalStateException("Expected " + commands.size() + " generated receipt ids but got " + ids.size());
+        }
+        return ids;
+    }
+
+    private static void bind(PreparedStatement statement, CreateReceiptCommand command, Timestamp now) throws SQLException {
+        statement.setDate(1, new Date(command.issueDate().getTime()));
+        statement.setDate(2, new Date(command.dueDate().getTime()));
+        statement.setLong(3, command.totalAmount().minorUnits());
+        statement.setBoolean(4, command.status());
+        statement.setLong(5, command.residentId().getValue());
+        if (command.paymentId() != null) {
+            statement.setLong(6, command.paymentId());
+        } else {
+            statement.setNull(6, Types.BIGINT);
+        }
+        statement.setDate(7, new Date(command.paymentDate().getTime()));
+        statement.setLong(8, command.amountPaid().minorUnits());
+        statement.setLong(9, command.paymentMethod());
+        statement.setString(10, command.type());
+        statement.setTimestamp(11, now);
+        statement.setTimestamp(12, now);
+    }
+
+    private static void collectGeneratedKeys(PreparedStatement statement, List<Long> ids) throws SQLException {
+        try (var keys = statement.getGeneratedKeys()) {
+            while (keys.next()) {
+                ids.add(keys.getLong(1));
+            }
+        }
+    }
+}
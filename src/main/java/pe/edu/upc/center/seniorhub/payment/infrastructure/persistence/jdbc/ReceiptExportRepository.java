@@ -0,0 +1,62 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Full-table reads for exports. One forward-only, read-only cursor walks the primary key from a given id;
+ * with {@code useCursorFetch} the MySQL driver pulls {@code fetch-size} rows per round trip, so memory stays
+ * flat however many receipts there are and no entity is ever hydrated.
+ */
+@Repository
+public class ReceiptExportRepository {
+
+    private static final String SELECT_AFTER = """
+            select id, issue_date, due_date, total_amount_minor, status, resident_id, payment_id, payment_date,
+                   amount_paid_minor, payment_method, type
+            from receipt
+            where id > ?
+            order by id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public ReceiptExportRepository(JdbcTemplate jdbcTemplate,
+                                   @Value("${payment.receipts.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /** Hands every receipt with an id above {@code afterReceiptId} to {@code consumer}, in id order. */
+    public void forEachAfter(long afterReceiptId, Consumer<ReceiptExportRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(SELECT_AFTER, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, afterReceiptId);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            Long paymentId = rs.getLong("payment_id");
+            if (rs.wasNull()) {
+                paymentId = null;
+            }
+            consumer.accept(new ReceiptExportRow(
+                    rs.getLong("id"),
+                    rs.getObject("issue_date", LocalDate.class),
+                    rs.getObject("due_date", LocalDate.class),
+                    rs.getLong("total_amount_minor"),
+                    rs.getBoolean("status"),
+                    rs.getLong("resident_id"),
+                    paymentId,
+                    rs.getObject("payment_date", LocalDate.class),
+                    rs.getLong("amount_paid_minor"),
+                    rs.getLong("payment_method"),
+                    rs.getString("type")));
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc;
+
+import java.time.LocalDate;
+
+/** One receipt as exported: amounts in minor units, no audit or locking columns. */
+public record ReceiptExportRow(long receiptId,
+                               LocalDate issueDate,
+                               LocalDate dueDate,
+                               long totalAmountMinor,
+                               boolean status,
+                               long residentId,
+                               Long paymentId,
+                               LocalDate paymentDate,
+                               long amountPaidMinor,
+                               long paymentMethod,
+                               String type) {
+}
@@ -0,0 +1,69 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.RecordPaymentCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptView;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.RecordedPayment;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Payment posting as one relative UPDATE of the receipt row; the aggregate is never loaded or merged.
+ */
+@Repository
+public class ReceiptPaymentRepository {
+
+    private static final String SELECT_FOR_UPDATE = """
+            select id, issue_date, due_date, total_amount_minor, status, resident_id, payment_id, payment_date,
+                   amount_paid_minor, payment_method, type, version
+            from receipt where id = ? for update""";
+
+    // status is assigned before amount_paid_minor: MySQL evaluates SET left to right with the new values,
+    // so this order reads the pre-payment amount on every database
+    private static final String RECORD_PAYMENT = """
+            update receipt
+            set status = (amount_paid_minor + ? >= total_amount_minor),
+                amount_paid_minor = amount_paid_minor + ?,
+                payment_id = ?, payment_date = ?, payment_method = ?,
+                version = version + 1, updated_at = ?
+            where id = ? and amount_paid_minor + ? <= total_amount_minor""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReceiptPaymentRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Reads the receipt row and holds its lock until the transaction ends. */
+    public Optional<RecordedPayment> findForUpdate(Long receiptId) {
+        return jdbcTemplate.query(SELECT_FOR_UPDATE, (rs, rowNum) -> new RecordedPayment(new ReceiptView(
+                        rs.getLong("id"),
+                        rs.getDate("issue_date"),
+                        rs.getDate("due_date"),
+                        Money.ofMinor(rs.getLong("total_amount_minor")),
+                        rs.getBoolean("status"),
+                        rs.getLong("resident_id"),
+                        rs.getObject("payment_id", Long.class),
+                        rs.getDate("payment_date"),
+                        Money.ofMinor(rs.getLong("amount_paid_minor")),
+                        rs.getLong("payment_method"),
+                        rs.getString("type")),
+                        rs.getLong("version")),
+                receiptId).stream().findFirst();
+    }
+
+    /**
+     * Adds the payment in place and bumps the version. Returns 0 when the receipt is missing or the payment
+     * would exceed its total.
+     */
+    public int recordPayment(RecordPaymentCommand command, Instant now) {
+        long amount = command.amount().minorUnits();
+        return jdbcTemplate.update(RECORD_PAYMENT, amount, amount, command.paymentId(),
+                new java.sql.Date(command.paymentDate().getTime()), command.paymentMethod(), Timestamp.from(now),
+                command.receiptId(), amount);
+    }
+}
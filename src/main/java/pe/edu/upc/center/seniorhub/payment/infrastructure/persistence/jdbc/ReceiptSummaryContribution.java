@@ -0,0 +1,31 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptView;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+import java.util.Date;
+
+/**
+ * The fields of one receipt that feed the summary tables. Handlers capture it before and after a write
+ * and hand both sides to {@link ReceiptSummaryRepository#apply}.
+ */
+public record ReceiptSummaryContribution(Long residentId, Date paymentDate, Long paymentMethod, String type,
+                                         Money totalAmount, Money amountPaid) {
+
+    public static ReceiptSummaryContribution of(Receipt receipt) {
+        return new ReceiptSummaryContribution(receipt.getResidentId().getValue(), receipt.getPaymentDate(),
+                receipt.getPaymentMethod(), receipt.getType(), receipt.getTotalAmount(), receipt.getAmountPaid());
+    }
+
+    public static ReceiptSummaryContribution of(ReceiptView view) {
+        return new ReceiptSummaryContribution(view.residentId(), view.paymentDate(), view.paymentMethod(), view.type(),
+                view.totalAmount(), view.amountPaid());
+    }
+
+    public static ReceiptSummaryContribution of(CreateReceiptCommand command) {
+        return new ReceiptSummaryContribution(command.residentId().getValue(), command.paymentDate(),
+                command.paymentMethod(), command.type(), command.totalAmount(), command.amountPaid());
+    }
+}
@@ -0,0 +1,139 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.CollectedTotal;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.CollectionDimension;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Incrementally maintained {@code receipt_collection_summary} (one row per payment month, payment method
+ * and type). Writes are additive upserts of pre-aggregated deltas, applied in key order so concurrent
+ * writers lock summary rows in the same order. Per-resident figures live in the asynchronously projected
+ * read model instead, see {@link ResidentReceiptSummaryRepository}.
+ */
+@Repository
+public class ReceiptSummaryRepository {
+
+    private static final String UPSERT_COLLECTION_SUMMARY = """
+            insert into receipt_collection_summary (period_month, payment_method, type, receipt_count, amount_collected_minor)
+            values (?, ?, ?, ?, ?)
+            on duplicate key update receipt_count = receipt_count + values(receipt_count),
+                                    amount_collected_minor = amount_collected_minor + values(amount_collected_minor)""";
+
+    private static final Comparator<CollectionKey> COLLECTION_KEY_ORDER = Comparator
+            .comparingInt(CollectionKey::periodMonth)
+            .thenComparing(CollectionKey::paymentMethod)
+            .thenComparing(CollectionKey::type);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public ReceiptSummaryRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public void apply(Collection<ReceiptSummaryContribution> added, Collection<ReceiptSummaryContribution> removed) {
+        var collections = new TreeMap<CollectionKey, CollectionDelta>(COLLECTION_KEY_ORDER);
+        accumulate(added, 1, collections);
+        accumulate(removed, -1, collections);
+        collections.values().removeIf(CollectionDelta::isZero);
+
+        if (!collections.isEmpty()) {
+            var rows = new ArrayList<Object[]>(collections.size());
+            collections.forEach((key, delta) -> rows.add(new Object[]{
+                    key.periodMonth(), key.paymentMethod(), key.type(), delta.receiptCount, delta.amountCollected}));
+            jdbcTemplate.batchUpdate(UPSERT_COLLECTION_SUMMARY, rows);
+        }
+    }
+
+    public List<CollectedTotal> findCollectedTotals(YearMonth from, YearMonth to, Set<CollectionDimension> groupBy) {
+        var columns = new ArrayList<String>(groupBy.size());
+        for (var dimension : CollectionDimension.values()) {
+            if (groupBy.contains(dimension)) {
+                columns.add(columnOf(dimension));
+            }
+        }
+        var groupColumns = String.join(", ", columns);
+        var sql = "select " + (columns.isEmpty() ? "" : groupColumns + ", ")
+                + "sum(receipt_count) as receipt_count, sum(amount_collected_minor) as amount_collected_minor"
+                + " from receipt_collection_summary"
+                + " where period_month between :from and :to and receipt_count > 0"
+                + (columns.isEmpty() ? "" : " group by " + groupColumns + " order by " + groupColumns);
+        var parameters = new MapSqlParameterSource()
+                .addValue("from", toPeriodMonth(from))
+                .addValue("to", toPeriodMonth(to));
+        return namedParameterJdbcTemplate.query(sql, parameters, (rs, rowNum) -> new CollectedTotal(
+                groupBy.contains(CollectionDimension.PERIOD) ? toYearMonth(rs.getInt("period_month")) : null,
+                groupBy.contains(CollectionDimension.PAYMENT_METHOD) ? rs.getLong("payment_method") : null,
+                groupBy.contains(CollectionDimension.TYPE) ? rs.getString("type") : null,
+                rs.getLong("receipt_count"), Money.ofMinor(rs.getLong("amount_collected_minor"))));
+    }
+
+    private static void accumulate(Collection<ReceiptSummaryContribution> contributions, int sign,
+                                   TreeMap<CollectionKey, CollectionDelta> collections) {
+        for (var contribution : contributions) {
+            var amountPaid = sign * minorUnitsOf(contribution.amountPaid());
+            var key = new CollectionKey(toPeriodMonth(contribution.paymentDate()), contribution.paymentMethod(),
+                    contribution.type());
+            collections.computeIfAbsent(key, k -> new CollectionDelta()).add(sign, amountPaid);
+        }
+    }
+
+    private static String columnOf(CollectionDimension dimension) {
+        return switch (dimension) {
+            case PERIOD -> "period_month";
+            case PAYMENT_METHOD -> "payment_method";
+            case TYPE -> "type";
+        };
+    }
+
+    private static long minorUnitsOf(Money amount) {
+        return amount == null ? 0L : amount.minorUnits();
+    }
+
+    private static int toPeriodMonth(Date date) {
+        var localDate = date instanceof java.sql.Date sqlDate
+                ? sqlDate.toLocalDate()
+                : LocalDate.ofInstant(date.toInstant(), ZoneId.systemDefault());
+        return localDate.getYear() * 100 + localDate.getMonthValue();
+    }
+
+    private static int toPeriodMonth(YearMonth yearMonth) {
+        return yearMonth.getYear() * 100 + yearMonth.getMonthValue();
+    }
+
+    private static YearMonth toYearMonth(int periodMonth) {
+        return YearMonth.of(periodMonth / 100, periodMonth % 100);
+    }
+
+    private record CollectionKey(int periodMonth, Long paymentMethod, String type) {}
+
+    private static final class CollectionDelta {
+        private long receiptCount;
+        private long amountCollected;
+
+        void add(int count, long amountCollected) {
+            this.receiptCount += count;
+            this.amountCollected += amountCollected;
+        }
+
+        boolean isZero() {
+            return receiptCount == 0 && amountCollected == 0L;
+        }
+    }
+}
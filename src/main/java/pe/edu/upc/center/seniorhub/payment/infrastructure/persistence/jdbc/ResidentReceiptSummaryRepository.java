@@ -0,0 +1,111 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ResidentBalance;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ResidentReceiptSummary;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The {@code resident_receipt_summary} read model. A refresh recomputes whole resident rows from
+ * {@code receipt}, so applying it twice, late or out of order still converges on the committed state.
+ */
+@Repository
+public class ResidentReceiptSummaryRepository {
+
+    private static final String DELETE_RESIDENTS = "delete from resident_receipt_summary where resident_id in (:residentIds)";
+
+    private static final String INSERT_RESIDENTS = """
+            insert into resident_receipt_summary (resident_id, receipt_count, unpaid_count, total_amount_minor,
+                                                  amount_paid_minor, last_issue_date, next_due_date,
+                                                  last_payment_date, refreshed_at)
+            select resident_id,
+                   count(*),
+                   sum(case when status = false then 1 else 0 end),
+                   sum(total_amount_minor),
+                   sum(amount_paid_minor),
+                   max(issue_date),
+                   min(case when status = false then due_date end),
+                   max(case when amount_paid_minor > 0 then payment_date end),
+                   :now
+            from receipt
+            where resident_id in (:residentIds)
+            group by resident_id""";
+
+    private static final String SELECT_SUMMARY = """
+            select resident_id, receipt_count, unpaid_count, total_amount_minor, amount_paid_minor,
+                   last_issue_date, next_due_date, last_payment_date, refreshed_at
+            from resident_receipt_summary""";
+
+    private static final RowMapper<ResidentReceiptSummary> SUMMARY_MAPPER = (rs, rowNum) -> new ResidentReceiptSummary(
+            rs.getLong("resident_id"),
+            rs.getLong("receipt_count"),
+            rs.getLong("unpaid_count"),
+            Money.ofMinor(rs.getLong("total_amount_minor")),
+            Money.ofMinor(rs.getLong("amount_paid_minor")),
+            rs.getDate("last_issue_date"),
+            rs.getDate("next_due_date"),
+            rs.getDate("last_payment_date"),
+            rs.getTimestamp("refreshed_at"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public ResidentReceiptSummaryRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /** Recomputes the residents' rows; residents left without receipts lose theirs. */
+    public void refresh(Collection<Long> residentIds, Instant now) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("residentIds", residentIds)
+                .addValue("now", Timestamp.from(now));
+        namedParameterJdbcTemplate.update(DELETE_RESIDENTS, parameters);
+        namedParameterJdbcTemplate.update(INSERT_RESIDENTS, parameters);
+    }
+
+    /** Resident ids that own receipts, in keyset chunks for rebuilds. */
+    public List<Long> findResidentIdsAfter(long afterResidentId, int limit) {
+        return jdbcTemplate.queryForList(
+                "select distinct resident_id from receipt where resident_id > ? order by resident_id limit ?",
+                Long.class, afterResidentId, limit);
+    }
+
+    public int deleteRefreshedBefore(Instant instant) {
+        return jdbcTemplate.update("delete from resident_receipt_summary where refreshed_at < ?", Timestamp.from(instant));
+    }
+
+    public Optional<ResidentReceiptSummary> findByResidentId(Long residentId) {
+        return jdbcTemplate.query(SELECT_SUMMARY + " where resident_id = ?", SUMMARY_MAPPER, residentId)
+                .stream().findFirst();
+    }
+
+    public List<ResidentBalance> findResidentBalances(Long residentId, boolean outstandingOnly) {
+        var sql = new StringBuilder("""
+                select resident_id, receipt_count, total_amount_minor, amount_paid_minor
+                from resident_receipt_summary
+                where 1 = 1""");
+        var parameters = new MapSqlParameterSource();
+        if (residentId != null) {
+            sql.append(" and resident_id = :residentId");
+            parameters.addValue("residentId", residentId);
+        }
+        if (outstandingOnly) {
+            sql.append(" and total_amount_minor > amount_paid_minor");
+        }
+        sql.append(" order by resident_id");
+        return namedParameterJdbcTemplate.query(sql.toString(), parameters, (rs, rowNum) -> new ResidentBalance(
+                rs.getLong("resident_id"), rs.getLong("receipt_count"),
+                Money.ofMinor(rs.getLong("total_amount_minor")), Money.ofMinor(rs.getLong("amount_paid_minor"))));
+    }
+}
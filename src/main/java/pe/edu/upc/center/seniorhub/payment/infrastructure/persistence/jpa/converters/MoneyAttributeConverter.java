@@ -0,0 +1,29 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.converters;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+/**
+ * Stores {@link Money} as a BIGINT count of minor units. The service bills in a single currency,
+ * so the currency is not stored per row and any other currency is rejected on write.
+ */
+@Converter(autoApply = true)
+public class MoneyAttributeConverter implements AttributeConverter<Money, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Money money) {
+        if (money == null) {
+            return null;
+        }
+        if (!Money.DEFAULT_CURRENCY.equals(money.currency())) {
+            throw new IllegalArgumentException("Only " + Money.DEFAULT_CURRENCY + " amounts can be stored");
+        }
+        return money.minorUnits();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(Long minorUnits) {
+        return minorUnits == null ? null : Money.ofMinor(minorUnits);
+    }
+}
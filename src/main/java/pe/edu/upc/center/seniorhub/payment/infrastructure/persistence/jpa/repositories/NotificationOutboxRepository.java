@@ -0,0 +1,31 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.integration.outbox.NotificationOutboxEntry;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.integration.outbox.NotificationOutboxStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEntry, Long> {
+
+    boolean existsByDedupKey(String dedupKey);
+
+    // SKIP LOCKED: rows already claimed by another replica are skipped instead of waited on
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from NotificationOutboxEntry e where e.status = :status and e.nextAttemptAt <= :now order by e.id")
+    List<NotificationOutboxEntry> findDueForDispatch(@Param("status") NotificationOutboxStatus status,
+                                                     @Param("now") Instant now, Limit limit);
+
+    long countByStatus(NotificationOutboxStatus status);
+}
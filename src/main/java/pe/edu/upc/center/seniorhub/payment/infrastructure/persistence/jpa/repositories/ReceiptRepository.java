@@ -1,22 +1,74 @@
 package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.OverdueTotal;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptCollectionVersion;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptVersion;
 import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptSummaryContribution;
 
 import java.util.List;
 import java.util.Date;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ReceiptRepository extends JpaRepository<Receipt, Long> {
-
-    boolean existsByResidentId(ResidentId residentId);
+public interface ReceiptRepository extends JpaRepository<Receipt, Long>, ReceiptSearchRepository {
 
     boolean existsByIssueDate(Date date);
 
-    Optional<Receipt> findByPaymentDate(Date paymentDate);
+    @Query("""
+            select new pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptSummaryContribution(
+                r.residentId.residentId, r.paymentDate, r.paymentMethod, r.type, r.totalAmount, r.amountPaid)
+            from Receipt r where r.id = :id""")
+    Optional<ReceiptSummaryContribution> findSummaryContributionById(@Param("id") Long id);
+
+    @Query("""
+            select new pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptVersion(r.id, r.version, r.updatedAt)
+            from Receipt r where r.id = :id""")
+    Optional<ReceiptVersion> findVersionById(@Param("id") Long id);
+
+    @Query("""
+            select new pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptCollectionVersion(
+                count(r), sum(r.version), sum(r.id), max(r.updatedAt))
+            from Receipt r where r.residentId.residentId = :residentId""")
+    ReceiptCollectionVersion findCollectionVersionByResidentId(@Param("residentId") Long residentId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Receipt r where r.id = :id")
+    int deleteReceiptById(@Param("id") Long id);
+
+    List<Receipt> findByPaymentDate(Date paymentDate);
     List<Receipt> findByResidentId(ResidentId residentId);
 
-}
\ No newline at end of file
+    // Keyset page: seeks past the last id seen instead of using OFFSET
+    @Query("select r from Receipt r where r.id > :afterId order by r.id")
+    List<Receipt> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Forward-only scan; must be consumed inside a read-only transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from Receipt r order by r.id")
+    Stream<Receipt> streamAllOrderById();
+
+    @Query("""
+            select new pe.edu.upc.center.seniorhub.payment.domain.model.projections.OverdueTotal(
+                r.type, count(r), count(distinct r.residentId.residentId), sum(cast(r.totalAmount as Long) - cast(r.amountPaid as Long)))
+            from Receipt r
+            where r.status = false and r.dueDate < :asOf
+            group by r.type
+            order by r.type""")
+    List<OverdueTotal> sumOverdueByType(@Param("asOf") Date asOf);
+
+}
@@ -0,0 +1,11 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptView;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.SearchReceiptsQuery;
+
+import java.util.List;
+
+public interface ReceiptSearchRepository {
+
+    List<ReceiptView> search(SearchReceiptsQuery query);
+}
@@ -0,0 +1,128 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptView;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.SearchReceiptsQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ReceiptSearchCursor;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ReceiptSortField;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Builds one SELECT for {@link SearchReceiptsQuery}: only the criteria that are set become predicates,
+ * the columns go straight into {@link ReceiptView}, and paging seeks past the cursor's
+ * (sort value, id) instead of using OFFSET.
+ */
+class ReceiptSearchRepositoryImpl implements ReceiptSearchRepository {
+
+    private final EntityManager entityManager;
+
+    ReceiptSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ReceiptView> search(SearchReceiptsQuery query) {
+        var cb = entityManager.getCriteriaBuilder();
+        var select = cb.createQuery(ReceiptView.class);
+        var receipt = select.from(Receipt.class);
+
+        select.select(cb.construct(ReceiptView.class,
+                receipt.get("id"),
+                receipt.get("issueDate"),
+                receipt.get("dueDate"),
+                receipt.get("totalAmount"),
+                receipt.get("status"),
+                receipt.get("residentId").get("residentId"),
+                receipt.get("paymentId"),
+                receipt.get("paymentDate"),
+                receipt.get("amountPaid"),
+                receipt.get("paymentMethod"),
+                receipt.get("type")));
+
+        var predicates = new ArrayList<Predicate>();
+        if (query.residentId() != null) {
+            predicates.add(cb.equal(receipt.get("residentId").get("residentId"), query.residentId()));
+        }
+        addRange(cb, predicates, receipt.get("issueDate"), query.issueDateFrom(), query.issueDateTo());
+        addRange(cb, predicates, receipt.get("dueDate"), query.dueDateFrom(), query.dueDateTo());
+        addRange(cb, predicates, receipt.get("paymentDate"), query.paymentDateFrom(), query.paymentDateTo());
+        if (query.status() != null) {
+            predicates.add(cb.equal(receipt.get("status"), query.status()));
+        }
+        if (query.type() != null) {
+            predicates.add(cb.equal(receipt.get("type"), query.type()));
+        }
+        if (query.paymentMethod() != null) {
+            predicates.add(cb.equal(receipt.get("paymentMethod"), query.paymentMethod()));
+        }
+        addRange(cb, predicates, receipt.get("totalAmount"), query.minTotalAmount(), query.maxTotalAmount());
+        addRange(cb, predicates, receipt.get("amountPaid"), query.minAmountPaid(), query.maxAmountPaid());
+        if (query.after() != null) {
+            predicates.add(seekPast(cb, receipt, query.after()));
+        }
+        select.where(predicates.toArray(Predicate[]::new));
+
+        Path<Long> id = receipt.get("id");
+        Path<?> sortPath = receipt.get(attributeOf(query.sortField()));
+        if (query.descending()) {
+            select.orderBy(cb.desc(sortPath), cb.desc(id));
+        } else {
+            select.orderBy(cb.asc(sortPath), cb.asc(id));
+        }
+
+        return entityManager.createQuery(select)
+                .setMaxResults(query.size())
+                .getResultList();
+    }
+
+    // (sort > v) or (sort = v and id > lastId), mirrored for descending order
+    private static Predicate seekPast(CriteriaBuilder cb, Root<Receipt> receipt, ReceiptSearchCursor cursor) {
+        Path<Long> id = receipt.get("id");
+        var idPast = cursor.descending() ? cb.lessThan(id, cursor.receiptId()) : cb.greaterThan(id, cursor.receiptId());
+        var attribute = attributeOf(cursor.sortField());
+        return switch (cursor.sortField()) {
+            case ID -> idPast;
+            case TOTAL_AMOUNT -> seekPast(cb, receipt.<Money>get(attribute),
+                    Money.ofMinor(cursor.sortValue()), cursor.descending(), idPast);
+            case ISSUE_DATE, DUE_DATE, PAYMENT_DATE -> seekPast(cb, receipt.<Date>get(attribute),
+                    java.sql.Date.valueOf(LocalDate.ofEpochDay(cursor.sortValue())), cursor.descending(), idPast);
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Predicate seekPast(CriteriaBuilder cb, Expression<T> sortPath,
+                                                                       T value, boolean descending, Predicate idPast) {
+        var valuePast = descending ? cb.lessThan(sortPath, value) : cb.greaterThan(sortPath, value);
+        return cb.or(valuePast, cb.and(cb.equal(sortPath, value), idPast));
+    }
+
+    private static String attributeOf(ReceiptSortField sortField) {
+        return switch (sortField) {
+            case ID -> "id";
+            case ISSUE_DATE -> "issueDate";
+            case DUE_DATE -> "dueDate";
+            case PAYMENT_DATE -> "paymentDate";
+            case TOTAL_AMOUNT -> "totalAmount";
+        };
+    }
+
+    private static <T extends Comparable<? super T>> void addRange(CriteriaBuilder cb, List<Predicate> predicates,
+                                                                  Expression<T> path, T from, T to) {
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThanOrEqualTo(path, to));
+        }
+    }
+}
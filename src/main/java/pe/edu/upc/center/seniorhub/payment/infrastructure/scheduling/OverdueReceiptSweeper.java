@@ -0,0 +1,153 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.integration.outbox.NotificationOutboxEntry;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.OverdueReceipt;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.OverdueReceiptRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptBatchInsertRepository;
+import pe.edu.upc.center.seniorhub.payment.shared.infrastructure.scheduling.DatabaseSchedulerLock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Marks unpaid receipts past their due date as overdue and queues one reminder per receipt. Runs on a
+ * single replica (see {@link DatabaseSchedulerLock}) and works in keyset chunks, each marked and queued in
+ * its own short transaction. Reminders are delivered by the notification outbox, so a crash mid-sweep
+ * neither loses nor repeats them; the sweep paces chunks to stay under the configured reminder rate.
+ */
+@Component
+public class OverdueReceiptSweeper {
+
+    static final String LOCK_NAME = "receipt-overdue-sweep";
+    private static final Logger LOGGER = LoggerFactory.getLogger(OverdueReceiptSweeper.class);
+
+    private final OverdueReceiptRepository overdueReceiptRepository;
+    private final ReceiptBatchInsertRepository receiptBatchInsertRepository;
+    private final DatabaseSchedulerLock schedulerLock;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxRemindersPerSecond;
+    private final Duration lockLease;
+    private final Counter markedCounter;
+    private final Timer sweepTimer;
+    private final AtomicLong markedInCurrentSweep = new AtomicLong();
+    private final AtomicLong lastCompletedSweep = new AtomicLong();
+
+    public OverdueReceiptSweeper(OverdueReceiptRepository overdueReceiptRepository,
+                                 ReceiptBatchInsertRepository receiptBatchInsertRepository,
+                                 DatabaseSchedulerLock schedulerLock,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${payment.receipts.overdue.chunk-size:500}") int chunkSize,
+                                 @Value("${payment.receipts.overdue.max-reminders-per-second:50}") int maxRemindersPerSecond,
+                                 @Value("${payment.receipts.overdue.lock-lease:PT10M}") Duration lockLease) {
+        this.overdueReceiptRepository = overdueReceiptRepository;
+        this.receiptBatchInsertRepository = receiptBatchInsertRepository;
+        this.schedulerLock = schedulerLock;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.maxRemindersPerSecond = maxRemindersPerSecond;
+        this.lockLease = lockLease;
+        this.markedCounter = meterRegistry.counter("payment.receipts.overdue.marked");
+        this.sweepTimer = meterRegistry.timer("payment.receipts.overdue.sweeps");
+        meterRegistry.gauge("payment.receipts.overdue.sweep.progress", markedInCurrentSweep);
+        meterRegistry.gauge("payment.receipts.overdue.sweep.last-completed", lastCompletedSweep);
+    }
+
+    @Scheduled(cron = "${payment.receipts.overdue.cron:0 15 * * * *}")
+    public void sweep() {
+        if (!schedulerLock.tryAcquire(LOCK_NAME, lockLease)) {
+            LOGGER.debug("Overdue sweep skipped; another replica holds {}", LOCK_NAME);
+            return;
+        }
+        try {
+            var marked = sweepTimer.record(() -> sweepOverdue(LocalDate.now()));
+            lastCompletedSweep.set(Instant.now().getEpochSecond());
+            LOGGER.info("Overdue sweep marked {} receipts", marked);
+        } finally {
+            schedulerLock.release(LOCK_NAME);
+        }
+    }
+
+    int sweepOverdue(LocalDate today) {
+        markedInCurrentSweep.set(0);
+        OverdueReceipt last = null;
+        int marked = 0;
+        while (true) {
+            long chunkStart = System.nanoTime();
+            var after = last;
+            var chunk = transactionTemplate.execute(status -> markChunk(today, after));
+            if (chunk == null || chunk.candidates().isEmpty()) {
+                return marked;
+            }
+            marked += chunk.marked().size();
+            markedCounter.increment(chunk.marked().size());
+            markedInCurrentSweep.addAndGet(chunk.marked().size());
+            last = chunk.candidates().getLast();
+            if (chunk.candidates().size() < chunkSize) {
+                return marked;
+            }
+            if (!schedulerLock.extend(LOCK_NAME, lockLease)) {
+                LOGGER.warn("Lost {} after marking {} receipts; stopping the sweep", LOCK_NAME, marked);
+                return marked;
+            }
+            if (!pace(chunk.marked().size(), System.nanoTime() - chunkStart)) {
+                return marked;
+            }
+        }
+    }
+
+    // Receipts paid between the read and the update are skipped by the update's guard and get no reminder
+    private Chunk markChunk(LocalDate today, OverdueReceipt after) {
+        var candidates = overdueReceiptRepository.findUnmarked(today, after, chunkSize);
+        if (candidates.isEmpty()) {
+            return new Chunk(candidates, List.of());
+        }
+        var marked = overdueReceiptRepository.markOverdue(candidates.stream().map(OverdueReceipt::receiptId).toList(),
+                Instant.now().truncatedTo(ChronoUnit.MICROS));
+        if (!marked.isEmpty()) {
+            receiptBatchInsertRepository.insertOutboxEntries(marked.stream().map(OverdueReceiptSweeper::reminder).toList());
+        }
+        return new Chunk(candidates, marked);
+    }
+
+    /** The candidates read for a chunk, which carry the keyset position, and those of them actually marked. */
+    private record Chunk(List<OverdueReceipt> candidates, List<OverdueReceipt> marked) {
+    }
+
+    private static NotificationOutboxEntry reminder(OverdueReceipt receipt) {
+        var message = String.format("Receipt overdue: outstanding=%s, due=%s", receipt.outstanding(), receipt.dueDate());
+        return new NotificationOutboxEntry("receipt-overdue:" + receipt.receiptId(), receipt.residentId(), message);
+    }
+
+    /** Waits out the rest of this chunk's share of the reminder rate; false if interrupted meanwhile. */
+    private boolean pace(int reminders, long elapsedNanos) {
+        if (maxRemindersPerSecond <= 0) {
+            return true;
+        }
+        long remainingNanos = TimeUnit.SECONDS.toNanos(reminders) / maxRemindersPerSecond - elapsedNanos;
+        if (remainingNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remainingNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,86 +1,346 @@
 package pe.edu.upc.center.seniorhub.payment.interfaces.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pe.edu.upc.center.seniorhub.payment.application.internal.outboundservices.acl.ExternalResidentService;
+import pe.edu.upc.center.seniorhub.payment.application.internal.outboundservices.acl.ResidentServiceUnavailableException;
+import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.BulkCreateReceiptsCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
 import pe.edu.upc.center.seniorhub.payment.domain.model.commands.DeleteReceiptCommand;
-import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetAllReceiptsQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.RecordedPayment;
 import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsByResidentIdQuery;
 import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptByReceiptIdQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptVersionQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsVersionByResidentIdQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsPageQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetResidentReceiptSummaryQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.SearchReceiptsQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.StreamAllReceiptsQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.BulkCreateReceiptResult;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ReceiptSortField;
 import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptQueryService;
 import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptCommandService;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.idempotency.IdempotentRequestExecutor;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.BulkCreateReceiptsResultResource;
 import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.CreateReceiptResource;
 import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.ReceiptResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.RecordPaymentResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.ResidentReceiptSummaryResource;
 import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.UpdateReceiptResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.BulkCreateReceiptsResultResourceFromResultsAssembler;
 import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.CreateReceiptCommandFromResourceAssembler;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.ReceiptETagAssembler;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.ReceiptPageCursorAssembler;
 import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.ReceiptResourceFromEntityAssembler;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.ReceiptResourceFromViewAssembler;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.ReceiptSearchCursorAssembler;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.RecordPaymentCommandFromResourceAssembler;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.ResidentReceiptSummaryResourceFromProjectionAssembler;
 import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.UpdateReceiptCommandFromResourceAssembler;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
-@CrossOrigin(origins = "*", methods = { RequestMethod.POST, RequestMethod.GET, RequestMethod.PUT, RequestMethod.DELETE })
+@CrossOrigin(origins = "*", methods = { RequestMethod.POST, RequestMethod.GET, RequestMethod.PUT, RequestMethod.PATCH, RequestMethod.DELETE })
 @RestController
 @RequestMapping(value = "/api/v1/receipts", produces = MediaType.APPLICATION_JSON_VALUE)
 @Tag(name = "Receipts", description = "Receipt Management Endpoints")
 public class ReceiptController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BULK_SIZE = 50_000;
+    private static final String CREATE_IDEMPOTENCY_SCOPE = "receipts:create";
+    private static final String PAYMENT_IDEMPOTENCY_SCOPE_PREFIX = "receipts:payments:";
+
     private final ReceiptQueryService receiptQueryService;
     private final ReceiptCommandService receiptCommandService;
+    private final IdempotentRequestExecutor idempotentRequestExecutor;
+    private final ExternalResidentService externalResidentService;
+    private final ObjectMapper objectMapper;
 
-    public ReceiptController(ReceiptQueryService receiptQueryService, ReceiptCommandService receiptCommandService) {
+    public ReceiptController(ReceiptQueryService receiptQueryService, ReceiptCommandService receiptCommandService,
+                             IdempotentRequestExecutor idempotentRequestExecutor,
+                             ExternalResidentService externalResidentService, ObjectMapper objectMapper) {
         this.receiptQueryService = receiptQueryService;
         this.receiptCommandService = receiptCommandService;
+        this.idempotentRequestExecutor = idempotentRequestExecutor;
+        this.externalResidentService = externalResidentService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(
             summary = "Create a new receipt",
-            description = "Create and store a new receipt for a resident",
+            description = "Create and store a new receipt for a resident. Send an Idempotency-Key header to make "
+                    + "retries safe: a repeated key returns the original response without creating another receipt",
             responses = {
                     @ApiResponse(responseCode = "201", description = "Receipt created successfully",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = ReceiptResource.class))),
-                    @ApiResponse(responseCode = "400", description = "Invalid input data")
+                    @ApiResponse(responseCode = "400", description = "Invalid input data or unknown resident"),
+                    @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still running"),
+                    @ApiResponse(responseCode = "422", description = "The Idempotency-Key was used for a different request"),
+                    @ApiResponse(responseCode = "503", description = "Residents could not be verified; retry later")
             }
     )
     @PostMapping
-    public ResponseEntity<ReceiptResource> createReceipt(@RequestBody CreateReceiptResource resource) {
-        var createCommand = CreateReceiptCommandFromResourceAssembler.toCommandFromResource(resource);
-        var receiptId = receiptCommandService.handle(createCommand);
+    public ResponseEntity<ReceiptResource> createReceipt(
+            @RequestHeader(value = IdempotentRequestExecutor.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody CreateReceiptResource resource) {
+        if (idempotencyKey != null && resource.residentId() != null) {
+            // The idempotency claim opens the transaction the handler then runs in; look the resident up first
+            // so the handler's check is a cache hit instead of a remote call holding a pool connection
+            try {
+                externalResidentService.prefetch(List.of(resource.residentId()));
+            } catch (ResidentServiceUnavailableException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+        }
+        return idempotentRequestExecutor.execute(CREATE_IDEMPOTENCY_SCOPE, idempotencyKey, resource, ReceiptResource.class, () -> {
+            var createCommand = CreateReceiptCommandFromResourceAssembler.toCommandFromResource(resource);
+            Optional<Receipt> optionalReceipt;
+            try {
+                optionalReceipt = receiptCommandService.handle(createCommand);
+            } catch (ResidentServiceUnavailableException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
 
-        if (receiptId == null || receiptId.equals(0L)) {
-            return ResponseEntity.badRequest().build();
+            if (optionalReceipt.isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            var receiptResource = ReceiptResourceFromEntityAssembler.toResourceFromEntity(optionalReceipt.get());
+            return new ResponseEntity<>(receiptResource, HttpStatus.CREATED);
+        });
+    }
+
+    @Operation(
+            summary = "Create receipts in bulk",
+            description = "Create many receipts in one request from a JSON array. Every item is validated and "
+                    + "reported individually; valid items are stored even if others are rejected",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Per-item results",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = BulkCreateReceiptsResultResource.class))),
+                    @ApiResponse(responseCode = "413", description = "Too many receipts in one request"),
+                    @ApiResponse(responseCode = "503", description = "Residents could not be verified; nothing was stored")
+            }
+    )
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkCreateReceiptsResultResource> createReceiptsInBulk(@RequestBody List<CreateReceiptResource> resources) {
+        if (resources.size() > MAX_BULK_SIZE) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
         }
+        return bulkCreate(resources);
+    }
 
-        var getReceiptByIdQuery = new GetReceiptByReceiptIdQuery(receiptId);
-        var optionalReceipt = receiptQueryService.handle(getReceiptByIdQuery);
+    @Operation(
+            summary = "Create receipts in bulk from NDJSON",
+            description = "Same as the JSON bulk endpoint, reading one receipt per line"
+    )
+    @PostMapping(value = "/bulk", consumes = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<BulkCreateReceiptsResultResource> createReceiptsInBulkFromNdjson(InputStream body) throws IOException {
+        var resources = new ArrayList<CreateReceiptResource>();
+        try (MappingIterator<CreateReceiptResource> lines = objectMapper.readerFor(CreateReceiptResource.class).readValues(body)) {
+            while (lines.hasNextValue()) {
+                if (resources.size() == MAX_BULK_SIZE) {
+                    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+                }
+                resources.add(lines.nextValue());
+            }
+        }
+        return bulkCreate(resources);
+    }
 
-        if (optionalReceipt.isEmpty()) {
-            return ResponseEntity.notFound().build();
+    private ResponseEntity<BulkCreateReceiptsResultResource> bulkCreate(List<CreateReceiptResource> resources) {
+        var results = new ArrayList<BulkCreateReceiptResult>(resources.size());
+        var commands = new ArrayList<CreateReceiptCommand>(resources.size());
+        var commandIndexes = new ArrayList<Integer>(resources.size());
+        for (int index = 0; index < resources.size(); index++) {
+            try {
+                commands.add(CreateReceiptCommandFromResourceAssembler.toCommandFromResource(resources.get(index)));
+                commandIndexes.add(index);
+                results.add(null);
+            } catch (RuntimeException e) {
+                results.add(BulkCreateReceiptResult.rejected(index, e.getMessage()));
+            }
+        }
+
+        // Unlike an unknown resident this is not the items' fault, so the whole request is retryable
+        List<BulkCreateReceiptResult> created;
+        try {
+            created = receiptCommandService.handle(new BulkCreateReceiptsCommand(commands));
+        } catch (ResidentServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
 
-        var receiptResource = ReceiptResourceFromEntityAssembler.toResourceFromEntity(optionalReceipt.get());
-        return new ResponseEntity<>(receiptResource, HttpStatus.CREATED);
+        // The command service indexes its results by command position; map them back to request positions
+        for (var result : created) {
+            var index = commandIndexes.get(result.index());
+            results.set(index, new BulkCreateReceiptResult(index, result.receiptId(), result.error()));
+        }
+        return ResponseEntity.ok(BulkCreateReceiptsResultResourceFromResultsAssembler.toResourceFromResults(results));
     }
 
     @Operation(
             summary = "Get all receipts",
-            description = "Retrieve all receipts in the system"
+            description = "Retrieve one page of receipts ordered by ID. When more receipts exist, the "
+                    + NEXT_CURSOR_HEADER + " header carries the cursor for the next page"
     )
     @GetMapping
-    public ResponseEntity<List<ReceiptResource>> getAllReceipts() {
-        var query = new GetAllReceiptsQuery();
+    public ResponseEntity<List<ReceiptResource>> getAllReceipts(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        Long afterReceiptId;
+        try {
+            afterReceiptId = ReceiptPageCursorAssembler.toReceiptIdFromCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        var query = new GetReceiptsPageQuery(afterReceiptId, pageSize);
         var receipts = receiptQueryService.handle(query);
         var resources = receipts.stream()
                 .map(ReceiptResourceFromEntityAssembler::toResourceFromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(resources);
+                .toList();
+
+        var response = ResponseEntity.ok();
+        if (resources.size() == pageSize) {
+            var lastReceiptId = resources.get(resources.size() - 1).receiptId();
+            response.header(NEXT_CURSOR_HEADER, ReceiptPageCursorAssembler.toCursorFromReceiptId(lastReceiptId));
+        }
+        return response.body(resources);
+    }
+
+    @Operation(
+            summary = "Search receipts",
+            description = "Filter receipts by resident, issue/due/payment date ranges (yyyy-MM-dd, inclusive), status, "
+                    + "type, payment method and amount ranges. Sort with sort=<id|issueDate|dueDate|paymentDate|totalAmount>"
+                    + "[,asc|desc]; when more results exist, the " + NEXT_CURSOR_HEADER + " header carries the "
+                    + "cursor for the next page",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "One page of matching receipts"),
+                    @ApiResponse(responseCode = "400", description = "Invalid criteria, sort or cursor")
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<ReceiptResource>> searchReceipts(
+            @RequestParam(required = false) Long residentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate issueDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate issueDateTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paymentDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paymentDateTo,
+            @RequestParam(required = false) Boolean status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Long paymentMethod,
+            @RequestParam(required = false) String minTotalAmount,
+            @RequestParam(required = false) String maxTotalAmount,
+            @RequestParam(required = false) String minAmountPaid,
+            @RequestParam(required = false) String maxAmountPaid,
+            @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        var pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        SearchReceiptsQuery query;
+        try {
+            var sortParts = sort.split(",");
+            var sortField = toSortField(sortParts[0].trim());
+            var descending = sortParts.length > 1 && sortParts[1].trim().equalsIgnoreCase("desc");
+            query = new SearchReceiptsQuery(residentId,
+                    toDate(issueDateFrom), toDate(issueDateTo),
+                    toDate(dueDateFrom), toDate(dueDateTo),
+                    toDate(paymentDateFrom), toDate(paymentDateTo),
+                    status, type, paymentMethod,
+                    toMoney(minTotalAmount), toMoney(maxTotalAmount),
+                    toMoney(minAmountPaid), toMoney(maxAmountPaid),
+                    sortField, descending,
+                    ReceiptSearchCursorAssembler.toSearchCursorFromCursor(cursor), pageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var views = receiptQueryService.handle(query);
+        var resources = views.stream()
+                .map(ReceiptResourceFromViewAssembler::toResourceFromView)
+                .toList();
+
+        var response = ResponseEntity.ok();
+        if (views.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, ReceiptSearchCursorAssembler.toCursorFromLastView(
+                    views.get(views.size() - 1), query.sortField(), query.descending()));
+        }
+        return response.body(resources);
+    }
+
+    private static ReceiptSortField toSortField(String name) {
+        return switch (name) {
+            case "id" -> ReceiptSortField.ID;
+            case "issueDate" -> ReceiptSortField.ISSUE_DATE;
+            case "dueDate" -> ReceiptSortField.DUE_DATE;
+            case "paymentDate" -> ReceiptSortField.PAYMENT_DATE;
+            case "totalAmount" -> ReceiptSortField.TOTAL_AMOUNT;
+            default -> throw new IllegalArgumentException("Unknown sort field " + name);
+        };
+    }
+
+    private static Date toDate(LocalDate date) {
+        return date != null ? java.sql.Date.valueOf(date) : null;
+    }
+
+    private static Money toMoney(String amount) {
+        return amount != null && !amount.isBlank() ? Money.parse(amount.trim()) : null;
+    }
+
+    @Operation(
+            summary = "Stream all receipts",
+            description = "Stream every receipt as newline-delimited JSON, one receipt per line"
+    )
+    @GetMapping(value = "/stream", produces = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamAllReceipts() {
+        StreamingResponseBody body = outputStream -> {
+            var generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            try (generator) {
+                receiptQueryService.handle(new StreamAllReceiptsQuery(), receipt -> {
+                    try {
+                        generator.writeObject(ReceiptResourceFromEntityAssembler.toResourceFromEntity(receipt));
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE)).body(body);
     }
 
     @Operation(
@@ -94,7 +354,14 @@ public class ReceiptController {
             }
     )
     @GetMapping("/resident/{residentId}")
-    public ResponseEntity<List<ReceiptResource>> getReceiptsByResidentId(@PathVariable Long residentId) {
+    public ResponseEntity<List<ReceiptResource>> getReceiptsByResidentId(@PathVariable Long residentId, WebRequest request) {
+        // Revalidation costs one aggregate query; the list is only loaded and serialized when it changed
+        var currentVersion = receiptQueryService.handle(new GetReceiptsVersionByResidentIdQuery(residentId));
+        if (currentVersion.receiptCount() > 0 && request.checkNotModified(
+                ReceiptETagAssembler.toETagFromCollectionVersion(currentVersion), currentVersion.lastModified().getTime())) {
+            return null;
+        }
+
         var query = new GetReceiptsByResidentIdQuery(residentId);
         var receipts = receiptQueryService.handle(query);
 
@@ -106,31 +373,128 @@ public class ReceiptController {
                 .map(ReceiptResourceFromEntityAssembler::toResourceFromEntity)
                 .toList();
 
-        return ResponseEntity.ok(resources);
+        var version = ReceiptETagAssembler.toCollectionVersionFromEntities(receipts);
+        return ResponseEntity.ok()
+                .eTag(ReceiptETagAssembler.toETagFromCollectionVersion(version))
+                .lastModified(version.lastModified().getTime())
+                .cacheControl(CacheControl.noCache())
+                .body(resources);
+    }
+
+    @Operation(
+            summary = "Get a resident's receipt summary",
+            description = "Receipt count, unpaid count, billed, paid and outstanding amounts and key dates for one "
+                    + "resident, read from the projected read model. It trails writes by a moment; refreshedAt "
+                    + "tells when it was last recomputed",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Summary found",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ResidentReceiptSummaryResource.class))),
+                    @ApiResponse(responseCode = "404", description = "The resident has no receipts")
+            }
+    )
+    @GetMapping("/resident/{residentId}/summary")
+    public ResponseEntity<ResidentReceiptSummaryResource> getResidentReceiptSummary(@PathVariable Long residentId) {
+        var summary = receiptQueryService.handle(new GetResidentReceiptSummaryQuery(residentId));
+        return summary
+                .map(ResidentReceiptSummaryResourceFromProjectionAssembler::toResourceFromProjection)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @Operation(
             summary = "Update a receipt",
-            description = "Update an existing receipt's details",
+            description = "Update an existing receipt's details. Send the receipt's ETag in If-Match to update "
+                    + "only if nobody changed it since it was read",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Receipt updated successfully",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = ReceiptResource.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid input data"),
-                    @ApiResponse(responseCode = "404", description = "Receipt not found")
+                    @ApiResponse(responseCode = "404", description = "Receipt not found"),
+                    @ApiResponse(responseCode = "412", description = "The receipt changed since the If-Match ETag"),
+                    @ApiResponse(responseCode = "503", description = "The new resident could not be verified; retry later")
             }
     )
     @PutMapping("/{receiptId}")
-    public ResponseEntity<ReceiptResource> updateReceipt(@PathVariable Long receiptId, @RequestBody UpdateReceiptResource resource) {
-        var updateCommand = UpdateReceiptCommandFromResourceAssembler.toCommandFromResource(receiptId, resource);
-        var optionalReceipt = receiptCommandService.handle(updateCommand);
+    public ResponseEntity<ReceiptResource> updateReceipt(@PathVariable Long receiptId,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         @RequestBody UpdateReceiptResource resource) {
+        Long expectedVersion;
+        try {
+            expectedVersion = ReceiptETagAssembler.toVersionFromIfMatch(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
+        var updateCommand = UpdateReceiptCommandFromResourceAssembler.toCommandFromResource(receiptId, resource, expectedVersion);
+        Optional<Receipt> optionalReceipt;
+        try {
+            optionalReceipt = receiptCommandService.handle(updateCommand);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (ResidentServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
 
         if (optionalReceipt.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
 
         var updatedResource = ReceiptResourceFromEntityAssembler.toResourceFromEntity(optionalReceipt.get());
-        return ResponseEntity.ok(updatedResource);
+        return ResponseEntity.ok()
+                .eTag(ReceiptETagAssembler.toETagFromVersion(optionalReceipt.get().getVersion()))
+                .body(updatedResource);
+    }
+
+    @Operation(
+            summary = "Record a payment",
+            description = "Add a payment to a receipt's amount paid. Concurrent partial payments are applied one "
+                    + "after another on the row, so none is lost; the receipt becomes paid once the total is covered. "
+                    + "Supports Idempotency-Key for safe retries and If-Match",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Payment recorded",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ReceiptResource.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid payment or payment exceeds the outstanding amount"),
+                    @ApiResponse(responseCode = "404", description = "Receipt not found"),
+                    @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still running"),
+                    @ApiResponse(responseCode = "412", description = "The receipt changed since the If-Match ETag"),
+                    @ApiResponse(responseCode = "422", description = "The Idempotency-Key was used for a different request")
+            }
+    )
+    @PatchMapping(value = "/{receiptId}/payments", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ReceiptResource> recordPayment(
+            @PathVariable Long receiptId,
+            @RequestHeader(value = IdempotentRequestExecutor.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody RecordPaymentResource resource) {
+        Long expectedVersion;
+        try {
+            expectedVersion = ReceiptETagAssembler.toVersionFromIfMatch(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
+        var scope = PAYMENT_IDEMPOTENCY_SCOPE_PREFIX + receiptId;
+        return idempotentRequestExecutor.execute(scope, idempotencyKey, resource, ReceiptResource.class, () -> {
+            Optional<RecordedPayment> recorded;
+            try {
+                recorded = receiptCommandService.handle(
+                        RecordPaymentCommandFromResourceAssembler.toCommandFromResource(receiptId, resource, expectedVersion));
+            } catch (OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            if (recorded.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(ReceiptETagAssembler.toETagFromVersion(recorded.get().version()))
+                    .body(ReceiptResourceFromViewAssembler.toResourceFromView(recorded.get().receipt()));
+        });
     }
 
     @Operation(
@@ -150,16 +514,28 @@ public class ReceiptController {
 
     @Operation(
             summary = "Get a receipt by receipt ID",
-            description = "Retrieve a specific receipt using its receipt ID",
+            description = "Retrieve a specific receipt using its receipt ID. Supports If-None-Match and "
+                    + "If-Modified-Since revalidation",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Receipt found",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = ReceiptResource.class))),
+                    @ApiResponse(responseCode = "304", description = "Receipt unchanged since the given ETag or date"),
                     @ApiResponse(responseCode = "404", description = "Receipt not found")
             }
     )
     @GetMapping("/{receiptId}")
-    public ResponseEntity<ReceiptResource> getReceiptByReceiptId(@PathVariable Long receiptId) {
+    public ResponseEntity<ReceiptResource> getReceiptByReceiptId(@PathVariable Long receiptId, WebRequest request) {
+        // Version projection first: a 304 never loads the entity or serializes it
+        var currentVersion = receiptQueryService.handle(new GetReceiptVersionQuery(receiptId));
+        if (currentVersion.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(ReceiptETagAssembler.toETagFromVersion(currentVersion.get().version()),
+                currentVersion.get().updatedAt().getTime())) {
+            return null;
+        }
+
         var query = new GetReceiptByReceiptIdQuery(receiptId);
         var optionalReceipt = receiptQueryService.handle(query);
 
@@ -167,7 +543,12 @@ public class ReceiptController {
             return ResponseEntity.notFound().build();
         }
 
-        var resource = ReceiptResourceFromEntityAssembler.toResourceFromEntity(optionalReceipt.get());
-        return ResponseEntity.ok(resource);
+        var receipt = optionalReceipt.get();
+        var resource = ReceiptResourceFromEntityAssembler.toResourceFromEntity(receipt);
+        return ResponseEntity.ok()
+                .eTag(ReceiptETagAssembler.toETagFromVersion(receipt.getVersion()))
+                .lastModified(receipt.getUpdatedAt().getTime())
+                .cacheControl(CacheControl.noCache())
+                .body(resource);
     }
 }
\ No newline at end of file
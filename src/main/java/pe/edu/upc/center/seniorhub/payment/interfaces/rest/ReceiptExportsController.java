@@ -0,0 +1,57 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.ExportReceiptsCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptCommandService;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.ReceiptExportResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.ReceiptExportResourceFromResultAssembler;
+
+import java.time.LocalDate;
+
+@CrossOrigin(origins = "*", methods = { RequestMethod.POST })
+@RestController
+@RequestMapping(value = "/api/v1/receipts/exports", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Receipt Exports", description = "Full receipt exports to CSV and columnar files for finance")
+public class ReceiptExportsController {
+
+    private final ReceiptCommandService receiptCommandService;
+
+    public ReceiptExportsController(ReceiptCommandService receiptCommandService) {
+        this.receiptCommandService = receiptCommandService;
+    }
+
+    @Operation(
+            summary = "Export all receipts",
+            description = "Writes every receipt to <name>.csv and <name>.rcol in the server's export directory. "
+                    + "The name defaults to today's nightly export (receipts-yyyy-MM-dd); running a name whose "
+                    + "previous run was interrupted resumes it from its last checkpoint",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Export finished or stopped at a checkpoint",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ReceiptExportResource.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid export name"),
+                    @ApiResponse(responseCode = "409", description = "Another export is running")
+            }
+    )
+    @PostMapping
+    public ResponseEntity<ReceiptExportResource> exportReceipts(@RequestParam(required = false) String name) {
+        ExportReceiptsCommand command;
+        try {
+            command = new ExportReceiptsCommand(name != null ? name : "receipts-" + LocalDate.now());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return receiptCommandService.handle(command)
+                .map(ReceiptExportResourceFromResultAssembler::toResourceFromResult)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+}
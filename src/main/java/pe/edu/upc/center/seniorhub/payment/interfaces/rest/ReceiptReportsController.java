@@ -0,0 +1,130 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.RebuildResidentReceiptSummariesCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.CollectionDimension;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetCollectedTotalsQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetOverdueTotalsQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetResidentBalancesQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptCommandService;
+import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptReportQueryService;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.CollectedTotalResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.OverdueTotalResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.RebuildResidentSummariesResultResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.ResidentBalanceResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform.ReceiptReportResourceAssembler;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+
+@CrossOrigin(origins = "*", methods = { RequestMethod.GET, RequestMethod.POST })
+@RestController
+@RequestMapping(value = "/api/v1/receipts/reports", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Receipt Reports", description = "Aggregated receipt figures for billing dashboards")
+public class ReceiptReportsController {
+
+    static final int DEFAULT_COLLECTION_MONTHS = 12;
+
+    private final ReceiptReportQueryService receiptReportQueryService;
+    private final ReceiptCommandService receiptCommandService;
+
+    public ReceiptReportsController(ReceiptReportQueryService receiptReportQueryService,
+                                    ReceiptCommandService receiptCommandService) {
+        this.receiptReportQueryService = receiptReportQueryService;
+        this.receiptCommandService = receiptCommandService;
+    }
+
+    @Operation(
+            summary = "Get resident balances",
+            description = "Receipt count, billed, paid and outstanding amounts per resident, from the "
+                    + "asynchronously projected read model"
+    )
+    @GetMapping("/balances")
+    public ResponseEntity<List<ResidentBalanceResource>> getResidentBalances(
+            @RequestParam(required = false) Long residentId,
+            @RequestParam(defaultValue = "false") boolean outstandingOnly) {
+        var balances = receiptReportQueryService.handle(new GetResidentBalancesQuery(residentId, outstandingOnly));
+        var resources = balances.stream()
+                .map(ReceiptReportResourceAssembler::toResourceFromProjection)
+                .toList();
+        return ResponseEntity.ok(resources);
+    }
+
+    @Operation(
+            summary = "Rebuild resident balances",
+            description = "Recomputes the per-resident read model behind the balances from the receipts table, "
+                    + "e.g. after a projection bug or a manual data fix"
+    )
+    @PostMapping("/balances/rebuild")
+    public ResponseEntity<RebuildResidentSummariesResultResource> rebuildResidentBalances() {
+        var residents = receiptCommandService.handle(new RebuildResidentReceiptSummariesCommand());
+        return ResponseEntity.ok(new RebuildResidentSummariesResultResource(residents));
+    }
+
+    @Operation(
+            summary = "Get collected totals",
+            description = "Amount collected between two payment months (yyyy-MM, inclusive), grouped by any of "
+                    + "period, paymentMethod and type. Defaults to the last " + DEFAULT_COLLECTION_MONTHS
+                    + " months grouped by all three",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Collected totals"),
+                    @ApiResponse(responseCode = "400", description = "Invalid period range or grouping")
+            }
+    )
+    @GetMapping("/collections")
+    public ResponseEntity<List<CollectedTotalResource>> getCollectedTotals(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(defaultValue = "period,paymentMethod,type") List<String> groupBy) {
+        var periodEnd = to != null ? to : YearMonth.now();
+        var periodStart = from != null ? from : periodEnd.minusMonths(DEFAULT_COLLECTION_MONTHS - 1);
+
+        GetCollectedTotalsQuery query;
+        try {
+            query = new GetCollectedTotalsQuery(periodStart, periodEnd, toDimensions(groupBy));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        var resources = receiptReportQueryService.handle(query).stream()
+                .map(ReceiptReportResourceAssembler::toResourceFromProjection)
+                .toList();
+        return ResponseEntity.ok(resources);
+    }
+
+    @Operation(
+            summary = "Get overdue totals",
+            description = "Unpaid receipts due before the given date (default today), with their outstanding amount, per type"
+    )
+    @GetMapping("/overdue")
+    public ResponseEntity<List<OverdueTotalResource>> getOverdueTotals(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        var referenceDate = asOf != null ? asOf : LocalDate.now();
+        var query = new GetOverdueTotalsQuery(java.sql.Date.valueOf(referenceDate));
+        var resources = receiptReportQueryService.handle(query).stream()
+                .map(ReceiptReportResourceAssembler::toResourceFromProjection)
+                .toList();
+        return ResponseEntity.ok(resources);
+    }
+
+    private static EnumSet<CollectionDimension> toDimensions(List<String> groupBy) {
+        var dimensions = EnumSet.noneOf(CollectionDimension.class);
+        for (var name : groupBy) {
+            switch (name.trim()) {
+                case "period" -> dimensions.add(CollectionDimension.PERIOD);
+                case "paymentMethod" -> dimensions.add(CollectionDimension.PAYMENT_METHOD);
+                case "type" -> dimensions.add(CollectionDimension.TYPE);
+                case "" -> { }
+                default -> throw new IllegalArgumentException("Unknown grouping " + name);
+            }
+        }
+        return dimensions;
+    }
+}
@@ -0,0 +1,4 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources;
+
+public record BulkCreateReceiptItemResource(int index, String status, Long receiptId, String error) {
+}
@@ -0,0 +1,6 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources;
+
+import java.util.List;
+
+public record BulkCreateReceiptsResultResource(int created, int rejected, List<BulkCreateReceiptItemResource> items) {
+}
@@ -0,0 +1,10 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+public record CollectedTotalResource(String period,
+                                     Long paymentMethod,
+                                     String type,
+                                     long receiptCount,
+                                     Money amountCollected
+){}
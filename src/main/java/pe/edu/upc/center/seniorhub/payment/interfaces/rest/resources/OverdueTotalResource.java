@@ -0,0 +1,9 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+public record OverdueTotalResource(String type,
+                                   long receiptCount,
+                                   long residentCount,
+                                   Money outstanding
+){}
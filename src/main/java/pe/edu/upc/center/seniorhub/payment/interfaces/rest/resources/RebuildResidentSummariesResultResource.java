@@ -0,0 +1,4 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources;
+
+public record RebuildResidentSummariesResultResource(int residentsProjected) {
+}
@@ -0,0 +1,12 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources;
+
+public record ReceiptExportResource(String name,
+                                    boolean completed,
+                                    boolean resumed,
+                                    long rows,
+                                    String csvFile,
+                                    long csvBytes,
+                                    String columnarFile,
+                                    long columnarBytes,
+                                    long elapsedMillis
+){}
@@ -1,16 +1,18 @@
 package pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources;
 
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
 import java.util.Date;
 
 public record ReceiptResource(Long receiptId,
                               Date issueDate,
                               Date dueDate,
-                              Float totalAmount,
+                              Money totalAmount,
                               Boolean status,
                               Long residentId,
                               Long paymentId,
                               Date paymentDate,
-                              Float amountPaid,
+                              Money amountPaid,
                               Long paymentMethod,
                               String type
 ){}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+import java.util.Date;
+
+public record RecordPaymentResource(
+        Money amount,
+        Long paymentId,
+        Date paymentDate,
+        Long paymentMethod
+) {}
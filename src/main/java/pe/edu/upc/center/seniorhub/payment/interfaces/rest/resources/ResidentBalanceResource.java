@@ -0,0 +1,10 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+public record ResidentBalanceResource(Long residentId,
+                                      long receiptCount,
+                                      Money totalAmount,
+                                      Money amountPaid,
+                                      Money outstanding
+){}
@@ -0,0 +1,17 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+import java.util.Date;
+
+public record ResidentReceiptSummaryResource(Long residentId,
+                                             long receiptCount,
+                                             long unpaidCount,
+                                             Money totalAmount,
+                                             Money amountPaid,
+                                             Money outstanding,
+                                             Date lastIssueDate,
+                                             Date nextDueDate,
+                                             Date lastPaymentDate,
+                                             Date refreshedAt
+){}
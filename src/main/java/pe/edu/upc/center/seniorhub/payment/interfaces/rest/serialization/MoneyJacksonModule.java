@@ -0,0 +1,16 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.serialization;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+// Picked up by Spring Boot's Jackson auto-configuration like any other Module bean
+@Component
+public class MoneyJacksonModule extends SimpleModule {
+
+    public MoneyJacksonModule() {
+        super("MoneyJacksonModule");
+        addSerializer(Money.class, new MoneyJsonSerializer());
+        addDeserializer(Money.class, new MoneyJsonDeserializer());
+    }
+}
@@ -0,0 +1,62 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Reads {@link Money} from a JSON number (or numeric string) by parsing the parser's own character
+ * buffer, so no double, BigDecimal or String is created for plain decimals. Exponent notation falls
+ * back to BigDecimal.
+ */
+public class MoneyJsonDeserializer extends StdScalarDeserializer<Money> {
+
+    public MoneyJsonDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        var token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            // getLongValue() throws InputCoercionException past the long range; report it like any overflow
+            if (parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+                try {
+                    return Money.ofMinor(Math.multiplyExact(parser.getLongValue(), 100L));
+                } catch (ArithmeticException e) {
+                    // fall through to the out-of-range report below
+                }
+            }
+            return (Money) context.handleWeirdNumberValue(Money.class, parser.getNumberValue(), "Amount is out of range");
+        }
+        if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_STRING) {
+            var chars = parser.getTextCharacters();
+            int offset = parser.getTextOffset();
+            int length = parser.getTextLength();
+            try {
+                return Money.parse(chars, offset, length);
+            } catch (IllegalArgumentException e) {
+                if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    return fromDecimal(parser.getDecimalValue(), parser, context);
+                }
+                return (Money) context.handleWeirdStringValue(Money.class, parser.getText(), e.getMessage());
+            }
+        }
+        return (Money) context.handleUnexpectedToken(Money.class, parser);
+    }
+
+    private static Money fromDecimal(BigDecimal decimal, JsonParser parser, DeserializationContext context)
+            throws IOException {
+        try {
+            return Money.ofMinor(decimal.setScale(Money.SCALE).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            return (Money) context.handleWeirdNumberValue(Money.class, parser.getNumberValue(),
+                    "Amounts have at most " + Money.SCALE + " decimal places");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Money} as a plain JSON number with two decimals ({@code 120.50}), formatting the digits
+ * into a small char buffer instead of going through BigDecimal or String.
+ */
+public class MoneyJsonSerializer extends StdSerializer<Money> {
+
+    public MoneyJsonSerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        var buffer = new char[Money.MAX_DECIMAL_LENGTH];
+        int start = value.writeDecimal(buffer, buffer.length);
+        generator.writeNumber(buffer, start, buffer.length - start);
+    }
+}
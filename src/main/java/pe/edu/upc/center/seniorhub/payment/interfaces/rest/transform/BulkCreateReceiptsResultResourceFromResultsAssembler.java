@@ -0,0 +1,24 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.BulkCreateReceiptResult;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.BulkCreateReceiptItemResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.BulkCreateReceiptsResultResource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkCreateReceiptsResultResourceFromResultsAssembler {
+    public static BulkCreateReceiptsResultResource toResourceFromResults(List<BulkCreateReceiptResult> results) {
+        int created = 0;
+        var items = new ArrayList<BulkCreateReceiptItemResource>(results.size());
+        for (var result : results) {
+            if (result.isCreated()) {
+                created++;
+                items.add(new BulkCreateReceiptItemResource(result.index(), "CREATED", result.receiptId(), null));
+            } else {
+                items.add(new BulkCreateReceiptItemResource(result.index(), "REJECTED", null, result.error()));
+            }
+        }
+        return new BulkCreateReceiptsResultResource(created, results.size() - created, items);
+    }
+}
@@ -0,0 +1,52 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptCollectionVersion;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Strong ETags for receipts: a single receipt's tag is its optimistic-locking version, a resident's
+ * receipt list is tagged with its {@link ReceiptCollectionVersion} fingerprint.
+ */
+public class ReceiptETagAssembler {
+    private static final String ANY = "*";
+
+    public static String toETagFromVersion(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String toETagFromCollectionVersion(ReceiptCollectionVersion version) {
+        return "\"" + version.receiptCount() + "-" + version.versionSum() + "-" + version.idSum() + "\"";
+    }
+
+    public static ReceiptCollectionVersion toCollectionVersionFromEntities(List<Receipt> receipts) {
+        long versionSum = 0L;
+        long idSum = 0L;
+        Date lastModified = null;
+        for (var receipt : receipts) {
+            versionSum += receipt.getVersion();
+            idSum += receipt.getId();
+            if (lastModified == null || receipt.getUpdatedAt().after(lastModified)) {
+                lastModified = receipt.getUpdatedAt();
+            }
+        }
+        return new ReceiptCollectionVersion(receipts.size(), versionSum, idSum, lastModified);
+    }
+
+    /**
+     * Expected version from an If-Match header: null when absent or {@code *}. Weak or malformed tags
+     * can never match a strong ETag and are rejected.
+     */
+    public static Long toVersionFromIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+        var tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new IllegalArgumentException("If-Match must be a single strong ETag");
+        }
+        return Long.parseLong(tag.substring(1, tag.length() - 1));
+    }
+}
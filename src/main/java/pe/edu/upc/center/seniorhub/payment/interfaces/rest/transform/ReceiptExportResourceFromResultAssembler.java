@@ -0,0 +1,21 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ReceiptExportResult;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.ReceiptExportResource;
+
+public class ReceiptExportResourceFromResultAssembler {
+
+    public static ReceiptExportResource toResourceFromResult(ReceiptExportResult result) {
+        return new ReceiptExportResource(
+                result.name(),
+                result.completed(),
+                result.resumed(),
+                result.rows(),
+                result.csvFile(),
+                result.csvBytes(),
+                result.columnarFile(),
+                result.columnarBytes(),
+                result.elapsed().toMillis()
+        );
+    }
+}
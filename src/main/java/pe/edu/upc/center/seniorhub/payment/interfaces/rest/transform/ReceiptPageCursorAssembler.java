@@ -0,0 +1,28 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class ReceiptPageCursorAssembler {
+    private static final String PREFIX = "r:";
+
+    public static String toCursorFromReceiptId(Long receiptId) {
+        var raw = PREFIX + receiptId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static Long toReceiptIdFromCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+    }
+}
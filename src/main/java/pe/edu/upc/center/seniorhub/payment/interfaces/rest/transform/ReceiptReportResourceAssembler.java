@@ -0,0 +1,40 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.CollectedTotal;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.OverdueTotal;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ResidentBalance;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.CollectedTotalResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.OverdueTotalResource;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.ResidentBalanceResource;
+
+public class ReceiptReportResourceAssembler {
+
+    public static ResidentBalanceResource toResourceFromProjection(ResidentBalance balance) {
+        return new ResidentBalanceResource(
+                balance.residentId(),
+                balance.receiptCount(),
+                balance.totalAmount(),
+                balance.amountPaid(),
+                balance.outstanding()
+        );
+    }
+
+    public static CollectedTotalResource toResourceFromProjection(CollectedTotal total) {
+        return new CollectedTotalResource(
+                total.period() != null ? total.period().toString() : null,
+                total.paymentMethod(),
+                total.type(),
+                total.receiptCount(),
+                total.amountCollected()
+        );
+    }
+
+    public static OverdueTotalResource toResourceFromProjection(OverdueTotal total) {
+        return new OverdueTotalResource(
+                total.type(),
+                total.receiptCount(),
+                total.residentCount(),
+                total.outstanding()
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptView;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.ReceiptResource;
+
+public class ReceiptResourceFromViewAssembler {
+    public static ReceiptResource toResourceFromView(ReceiptView view) {
+        return new ReceiptResource(
+                view.receiptId(),
+                view.issueDate(),
+                view.dueDate(),
+                view.totalAmount(),
+                view.status(),
+                view.residentId(),
+                view.paymentId(),
+                view.paymentDate(),
+                view.amountPaid(),
+                view.paymentMethod(),
+                view.type()
+        );
+    }
+}
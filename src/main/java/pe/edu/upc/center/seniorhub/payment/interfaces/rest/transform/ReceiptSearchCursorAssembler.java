@@ -0,0 +1,35 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptView;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ReceiptSearchCursor;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ReceiptSortField;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class ReceiptSearchCursorAssembler {
+    private static final String PREFIX = "s:";
+
+    public static String toCursorFromLastView(ReceiptView last, ReceiptSortField sortField, boolean descending) {
+        var raw = PREFIX + sortField.name() + ':' + (descending ? 'd' : 'a') + ':'
+                + sortField.cursorValueOf(last) + ':' + last.receiptId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static ReceiptSearchCursor toSearchCursorFromCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            var parts = raw.split(":");
+            if (parts.length != 5 || !raw.startsWith(PREFIX) || !(parts[2].equals("a") || parts[2].equals("d"))) {
+                throw new IllegalArgumentException("Invalid search cursor");
+            }
+            return new ReceiptSearchCursor(ReceiptSortField.valueOf(parts[1]), parts[2].equals("d"),
+                    Long.parseLong(parts[3]), Long.parseLong(parts[4]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid search cursor: " + cursor);
+        }
+    }
+}
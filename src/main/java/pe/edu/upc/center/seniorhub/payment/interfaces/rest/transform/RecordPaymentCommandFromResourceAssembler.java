@@ -0,0 +1,18 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.RecordPaymentCommand;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.RecordPaymentResource;
+
+public class RecordPaymentCommandFromResourceAssembler {
+    public static RecordPaymentCommand toCommandFromResource(Long receiptId, RecordPaymentResource resource,
+                                                             Long expectedVersion) {
+        return new RecordPaymentCommand(
+                receiptId,
+                resource.amount(),
+                resource.paymentId(),
+                resource.paymentDate(),
+                resource.paymentMethod(),
+                expectedVersion
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest.transform;
+
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ResidentReceiptSummary;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.ResidentReceiptSummaryResource;
+
+public class ResidentReceiptSummaryResourceFromProjectionAssembler {
+
+    public static ResidentReceiptSummaryResource toResourceFromProjection(ResidentReceiptSummary summary) {
+        return new ResidentReceiptSummaryResource(
+                summary.residentId(),
+                summary.receiptCount(),
+                summary.unpaidCount(),
+                summary.totalAmount(),
+                summary.amountPaid(),
+                summary.outstanding(),
+                summary.lastIssueDate(),
+                summary.nextDueDate(),
+                summary.lastPaymentDate(),
+                summary.refreshedAt()
+        );
+    }
+}
@@ -6,6 +6,11 @@ import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.UpdateRecei
 
 public class UpdateReceiptCommandFromResourceAssembler {
     public static UpdateReceiptCommand toCommandFromResource(Long receiptId, UpdateReceiptResource resource) {
+        return toCommandFromResource(receiptId, resource, null);
+    }
+
+    public static UpdateReceiptCommand toCommandFromResource(Long receiptId, UpdateReceiptResource resource,
+                                                             Long expectedVersion) {
         ResidentId residentId = new ResidentId(resource.residentId());
 
         return new UpdateReceiptCommand(
@@ -19,7 +24,8 @@ public class UpdateReceiptCommandFromResourceAssembler {
                 resource.paymentDate(),
                 resource.amountPaid(),
                 resource.paymentMethod(),
-                resource.type()
+                resource.type(),
+                expectedVersion
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.admission.AdmissionControlFilter;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.admission.AdmissionControlProperties;
+
+@Configuration
+@ConditionalOnProperty(name = "payment.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(Environment environment,
+                                                                                MeterRegistry meterRegistry) {
+        // payment.admission.* with the defaults declared on AdmissionControlProperties
+        var properties = Binder.get(environment)
+                .bindOrCreate("payment.admission", Bindable.of(AdmissionControlProperties.class));
+        var registration = new FilterRegistrationBean<>(new AdmissionControlFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/api/v1/receipts", "/api/v1/receipts/*");
+        // After the HTTP server observation filter, so rejected requests still show up in http.server.requests
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
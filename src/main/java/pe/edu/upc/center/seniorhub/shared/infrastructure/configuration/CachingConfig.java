@@ -0,0 +1,9 @@
+package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.configuration;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CachingConfig {
+}
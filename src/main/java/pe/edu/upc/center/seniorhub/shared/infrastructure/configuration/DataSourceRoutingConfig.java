@@ -0,0 +1,88 @@
+package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import pe.edu.upc.center.seniorhub.payment.shared.infrastructure.persistence.ReadFromPrimaryAspect;
+import pe.edu.upc.center.seniorhub.payment.shared.infrastructure.persistence.ReplicaDataSourceProperties;
+import pe.edu.upc.center.seniorhub.payment.shared.infrastructure.persistence.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the single auto-configured pool with a primary pool plus one pool per read replica when
+ * {@code payment.datasource.routing.enabled} is set. Flyway, JPA and every JdbcTemplate keep using the one
+ * {@code DataSource} bean, so only read-only transactions ever reach a replica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "payment.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties, Environment environment,
+                                                             MeterRegistry meterRegistry,
+                                                             @Value("${payment.datasource.max-replica-lag:PT5S}") Duration maxLag) {
+        var binder = Binder.get(environment);
+        var primary = pool(properties, binder, "payment-primary", meterRegistry);
+
+        // payment.datasource.replicas.<name>.url plus optional credentials and maximum-pool-size
+        var replicaProperties = binder
+                .bind("payment.datasource.replicas", Bindable.mapOf(String.class, ReplicaDataSourceProperties.class))
+                .orElse(Map.of());
+        var replicas = new LinkedHashMap<String, HikariDataSource>();
+        replicaProperties.forEach((name, replica) -> {
+            if (replica.url() == null) {
+                throw new IllegalArgumentException("payment.datasource.replicas." + name + ".url is required");
+            }
+            var pool = pool(properties, binder, "payment-replica-" + name, meterRegistry);
+            pool.setJdbcUrl(replica.url());
+            if (replica.username() != null) {
+                pool.setUsername(replica.username());
+                pool.setPassword(replica.password());
+            }
+            if (replica.maximumPoolSize() != null) {
+                pool.setMaximumPoolSize(replica.maximumPoolSize());
+            }
+            // Hikari hands out the connection read-only; the driver and server reject accidental writes
+            pool.setReadOnly(true);
+            replicas.put(name, pool);
+        });
+        return new ReplicaRoutingDataSource(primary, replicas, maxLag, meterRegistry);
+    }
+
+    // Enables @ReadFromPrimary on the query handlers
+    @Bean
+    public ReadFromPrimaryAspect readFromPrimaryAspect() {
+        return new ReadFromPrimaryAspect();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        // Defers the physical connection, and therefore the routing decision, until the first statement
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, String poolName,
+                                         MeterRegistry meterRegistry) {
+        var pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        // Replicas share the primary's spring.datasource.hikari.* tuning unless overridden above
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
@@ -1,14 +1,31 @@
 package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestClient;
+import org.springframework.core.env.Environment;
+import pe.edu.upc.center.seniorhub.payment.shared.infrastructure.http.DownstreamRestClientFactory;
+import pe.edu.upc.center.seniorhub.payment.shared.infrastructure.http.DownstreamServiceProperties;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class RestClientConfig {
 
     @Bean
-    public RestClient restClient() {
-        return RestClient.builder().build();
+    public DownstreamRestClientFactory downstreamRestClientFactory(Environment environment, MeterRegistry meterRegistry,
+                                                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // services.<name>.url plus optional per-service overrides, e.g. services.notifications.read-timeout
+        var services = Binder.get(environment)
+                .bind("services", Bindable.mapOf(String.class, DownstreamServiceProperties.class))
+                .orElse(Map.of());
+        var executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-client-", 0).factory())
+                : null;
+        return new DownstreamRestClientFactory(services, meterRegistry, executor);
     }
 }
@@ -4,11 +4,20 @@ import io.swagger.v3.oas.models.ExternalDocumentation;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
 
 @Configuration
 public class OpenApiConfiguration {
+
+    static {
+        // Money is written as a plain JSON number (see MoneyJsonSerializer), not as an object
+        SpringDocUtils.getConfig().replaceWithSchema(Money.class, new NumberSchema().example(120.50));
+    }
+
     @Bean
     public OpenAPI paymentOpenApi() {
         return new OpenAPI()
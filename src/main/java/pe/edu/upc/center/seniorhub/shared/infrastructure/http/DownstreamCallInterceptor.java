@@ -0,0 +1,89 @@
+package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.http;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guards every call to one downstream service: the bulkhead bounds concurrency, the circuit breaker
+ * fails fast while the target is unhealthy, and the latency of each call is recorded by outcome.
+ */
+class DownstreamCallInterceptor implements ClientHttpRequestInterceptor {
+
+    static final String METER_NAME = "payment.downstream.requests";
+
+    private final String serviceName;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    DownstreamCallInterceptor(String serviceName, Bulkhead bulkhead, CircuitBreaker circuitBreaker,
+                              MeterRegistry meterRegistry) {
+        this.serviceName = serviceName;
+        this.bulkhead = bulkhead;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        try {
+            bulkhead.acquirePermission();
+        } catch (BulkheadFullException e) {
+            timer("REJECTED").record(0, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        try {
+            try {
+                circuitBreaker.acquirePermission();
+            } catch (CallNotPermittedException e) {
+                timer("CIRCUIT_OPEN").record(0, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+            long start = System.nanoTime();
+            try {
+                var response = execution.execute(request, body);
+                long elapsed = System.nanoTime() - start;
+                var status = response.getStatusCode();
+                if (status.is5xxServerError()) {
+                    circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS,
+                            new HttpServerErrorException(status));
+                    timer("SERVER_ERROR").record(elapsed, TimeUnit.NANOSECONDS);
+                } else {
+                    circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+                    timer(status.is4xxClientError() ? "CLIENT_ERROR" : "SUCCESS").record(elapsed, TimeUnit.NANOSECONDS);
+                }
+                return response;
+            } catch (IOException | RuntimeException e) {
+                long elapsed = System.nanoTime() - start;
+                circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, e);
+                timer("IO_ERROR").record(elapsed, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    private Timer timer(String outcome) {
+        // Micrometer returns the already-registered meter for the same name and tags
+        return Timer.builder(METER_NAME)
+                .description("Latency of outbound calls to downstream services")
+                .tag("service", serviceName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,89 @@
+package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.http;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Builds one {@link RestClient} per downstream service declared under {@code services.*}, each on its own
+ * JDK {@link HttpClient} (HTTP/2 over TLS, connection reuse) with timeouts, a bulkhead and a circuit breaker.
+ * Clients are created once and shared.
+ */
+public class DownstreamRestClientFactory {
+
+    private final Map<String, DownstreamServiceProperties> services;
+    private final MeterRegistry meterRegistry;
+    private final Executor executor;
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+    private final ConcurrentMap<String, RestClient> clients = new ConcurrentHashMap<>();
+
+    public DownstreamRestClientFactory(Map<String, DownstreamServiceProperties> services, MeterRegistry meterRegistry,
+                                       Executor executor) {
+        this.services = Map.copyOf(services);
+        this.meterRegistry = meterRegistry;
+        this.executor = executor;
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    public RestClient restClient(String serviceName) {
+        return clients.computeIfAbsent(serviceName, this::create);
+    }
+
+    public DownstreamServiceProperties properties(String serviceName) {
+        var properties = services.get(serviceName);
+        if (properties == null || properties.url() == null || properties.url().isBlank()) {
+            throw new IllegalArgumentException("No URL configured for downstream service '" + serviceName
+                    + "' (services." + serviceName + ".url)");
+        }
+        return properties;
+    }
+
+    private RestClient create(String serviceName) {
+        var properties = properties(serviceName);
+
+        var httpClient = HttpClient.newBuilder()
+                .version(properties.resolvedHttpVersion())
+                .connectTimeout(properties.connectTimeout());
+        if (executor != null) {
+            httpClient.executor(executor);
+        }
+        var requestFactory = new JdkClientHttpRequestFactory(httpClient.build());
+        requestFactory.setReadTimeout(properties.readTimeout());
+
+        var bulkheadProperties = properties.bulkhead();
+        var bulkhead = bulkheadRegistry.bulkhead(serviceName, BulkheadConfig.custom()
+                .maxConcurrentCalls(bulkheadProperties.maxConcurrentCalls())
+                .maxWaitDuration(bulkheadProperties.maxWait())
+                .build());
+
+        var breakerProperties = properties.circuitBreaker();
+        var circuitBreaker = circuitBreakerRegistry.circuitBreaker(serviceName, CircuitBreakerConfig.custom()
+                .failureRateThreshold(breakerProperties.failureRateThreshold())
+                .slowCallRateThreshold(breakerProperties.slowCallRateThreshold())
+                .slowCallDurationThreshold(breakerProperties.slowCallDuration())
+                .slidingWindowSize(breakerProperties.slidingWindowSize())
+                .minimumNumberOfCalls(breakerProperties.minimumNumberOfCalls())
+                .waitDurationInOpenState(breakerProperties.waitDurationInOpenState())
+                .build());
+
+        return RestClient.builder()
+                .baseUrl(properties.url())
+                .requestFactory(requestFactory)
+                .requestInterceptor(new DownstreamCallInterceptor(serviceName, bulkhead, circuitBreaker, meterRegistry))
+                .build();
+    }
+}
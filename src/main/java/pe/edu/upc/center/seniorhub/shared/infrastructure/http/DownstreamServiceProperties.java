@@ -0,0 +1,49 @@
+package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.http;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Settings for one entry under {@code services.<name>.*}. Only {@code url} is required; everything else
+ * falls back to the defaults below.
+ */
+public record DownstreamServiceProperties(
+        String url,
+        @DefaultValue("PT2S") Duration connectTimeout,
+        @DefaultValue("PT5S") Duration readTimeout,
+        HttpClient.Version httpVersion,
+        @DefaultValue Bulkhead bulkhead,
+        @DefaultValue CircuitBreaker circuitBreaker
+) {
+
+    /**
+     * HTTP/2 is negotiated through ALPN on https targets. Plain http targets default to HTTP/1.1 because the
+     * cleartext h2c upgrade is not handled reliably by every server; set http-version to force either one.
+     */
+    public HttpClient.Version resolvedHttpVersion() {
+        if (httpVersion != null) {
+            return httpVersion;
+        }
+        return url != null && url.startsWith("https:") ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+    }
+
+    /**
+     * Caps concurrent calls to the target. The JDK client multiplexes HTTP/2 streams over shared
+     * connections, so this is the effective per-target pool size.
+     */
+    public record Bulkhead(
+            @DefaultValue("20") int maxConcurrentCalls,
+            @DefaultValue("PT0.1S") Duration maxWait
+    ) {}
+
+    public record CircuitBreaker(
+            @DefaultValue("50") float failureRateThreshold,
+            @DefaultValue("50") float slowCallRateThreshold,
+            @DefaultValue("PT2S") Duration slowCallDuration,
+            @DefaultValue("20") int slidingWindowSize,
+            @DefaultValue("10") int minimumNumberOfCalls,
+            @DefaultValue("PT30S") Duration waitDurationInOpenState
+    ) {}
+}
@@ -0,0 +1,18 @@
+package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.persistence;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sends the read-only transactions started inside the annotated method to the primary instead of a read
+ * replica. Use it for reads that must see the caller's own writes; the transaction itself stays read-only.
+ * Applied by {@link ReadFromPrimaryAspect}, and only meaningful while {@link ReplicaRoutingDataSource} is in use.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ReadFromPrimary {
+}
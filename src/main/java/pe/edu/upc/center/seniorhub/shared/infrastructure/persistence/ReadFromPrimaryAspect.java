@@ -0,0 +1,22 @@
+package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.persistence;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Publishes the {@link ReadFromPrimary} hint to {@link ReplicaRoutingDataSource} for the duration of the call.
+ * Ordered outside the transaction interceptor so the hint is already set when the connection is routed.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReadFromPrimaryAspect {
+
+    @Around("@annotation(pe.edu.upc.center.seniorhub.payment.shared.infrastructure.persistence.ReadFromPrimary)"
+            + " || @within(pe.edu.upc.center.seniorhub.payment.shared.infrastructure.persistence.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        return ReplicaRoutingDataSource.readFromPrimary(joinPoint::proceed);
+    }
+}
@@ -0,0 +1,12 @@
+package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.persistence;
+
+/**
+ * Settings for one entry under {@code payment.datasource.replicas.<name>.*}. Only {@code url} is required;
+ * credentials and pool size fall back to the primary's {@code spring.datasource.*} values.
+ */
+public record ReplicaDataSourceProperties(
+        String url,
+        String username,
+        String password,
+        Integer maximumPoolSize
+) {}
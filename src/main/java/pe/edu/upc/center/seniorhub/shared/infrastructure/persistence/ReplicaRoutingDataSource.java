@@ -0,0 +1,171 @@
+package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a read replica and everything else to the primary. The lookup key is taken
+ * when a connection is first used, so this must sit behind a LazyConnectionDataSourceProxy: by then the
+ * transaction manager has published the {@code readOnly} flag of the {@code @Transactional} boundary.
+ * Read-only transactions inside a {@link ReadFromPrimary} method stay read-only but are served by the primary.
+ * <p>
+ * Every heartbeat stamps {@code replication_heartbeat} on the primary and reads each replica's copy of it; a
+ * replica whose copy is more than {@code maxLag} behind, or that cannot be read at all, stops receiving reads
+ * until it catches up. Reads fall back to the primary while no replica qualifies, so a reader sees data at most
+ * {@code maxLag} plus one heartbeat interval old.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final String READ_HEARTBEAT = "select beat_at from replication_heartbeat where id = 1";
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final Map<String, HikariDataSource> replicas;
+    private final Duration maxLag;
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final Map<String, JdbcTemplate> replicaJdbcTemplates = new HashMap<>();
+    private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter fallbackReads;
+
+    // Replicas start out unavailable until the first heartbeat has measured them
+    private volatile List<String> availableReplicas = List.of();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, Map<String, HikariDataSource> replicas, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = Map.copyOf(replicas);
+        this.maxLag = maxLag;
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, replica) -> {
+            targets.put(name, replica);
+            replicaJdbcTemplates.put(name, new JdbcTemplate(replica));
+            lagSeconds.put(name, Double.NaN);
+            Gauge.builder("payment.datasource.replica.lag", lagSeconds, lags -> lags.getOrDefault(name, Double.NaN))
+                    .description("Replication lag measured by the last heartbeat; NaN while the replica is unreadable")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        // Never resolve an unknown key to the primary silently
+        setLenientFallback(false);
+
+        this.replicaReads = Counter.builder("payment.datasource.reads")
+                .description("Read-only transactions by the data source that served them")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        this.fallbackReads = Counter.builder("payment.datasource.reads")
+                .description("Read-only transactions by the data source that served them")
+                .tag("target", "primary")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        var available = availableReplicas;
+        if (available.isEmpty() || PRIMARY_READS.get() != null) {
+            fallbackReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return available.get(Math.floorMod(nextReplica.getAndIncrement(), available.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${payment.datasource.heartbeat-interval:PT1S}")
+    public void heartbeat() {
+        Timestamp primaryBeat;
+        try {
+            primaryJdbcTemplate.update("update replication_heartbeat set beat_at = current_timestamp(6) where id = 1");
+            primaryBeat = primaryJdbcTemplate.queryForObject(READ_HEARTBEAT, Timestamp.class);
+        } catch (RuntimeException e) {
+            // Without a fresh primary beat the replicas cannot be measured; keep the last verdict
+            LOGGER.warn("Could not write the replication heartbeat on the primary: {}", e.getMessage());
+            return;
+        }
+        var available = new ArrayList<String>(replicas.size());
+        replicaJdbcTemplates.forEach((name, jdbcTemplate) -> {
+            Duration lag;
+            try {
+                var replicaBeat = jdbcTemplate.queryForObject(READ_HEARTBEAT, Timestamp.class);
+                lag = Duration.between(replicaBeat.toInstant(), primaryBeat.toInstant());
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not read the replication heartbeat on replica {}: {}", name, e.getMessage());
+                lagSeconds.put(name, Double.NaN);
+                return;
+            }
+            if (lag.isNegative()) {
+                lag = Duration.ZERO;
+            }
+            lagSeconds.put(name, lag.toNanos() / 1e9);
+            if (lag.compareTo(maxLag) <= 0) {
+                available.add(name);
+            }
+        });
+        available.sort(null);
+        if (!available.equals(availableReplicas)) {
+            LOGGER.info("Read replicas in rotation: {}", available.isEmpty() ? "none, reading from the primary" : available);
+        }
+        availableReplicas = List.copyOf(available);
+    }
+
+    /**
+     * Runs {@code call} with its read-only transactions routed to the primary. Nested calls keep the outermost
+     * hint in place.
+     */
+    public static <T> T readFromPrimary(PrimaryRead<T> call) throws Throwable {
+        if (PRIMARY_READS.get() != null) {
+            return call.run();
+        }
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return call.run();
+        } finally {
+            PRIMARY_READS.remove();
+        }
+    }
+
+    @FunctionalInterface
+    public interface PrimaryRead<T> {
+        T run() throws Throwable;
+    }
+
+    /** Replica names currently serving reads, as of the last heartbeat. */
+    public List<String> availableReplicas() {
+        return availableReplicas;
+    }
+
+    @Override
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+        primary.close();
+    }
+}
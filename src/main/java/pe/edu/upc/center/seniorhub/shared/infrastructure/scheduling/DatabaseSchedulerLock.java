@@ -0,0 +1,58 @@
+package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.scheduling;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Leader election for scheduled jobs through the {@code scheduler_lock} table, so a job runs on one replica
+ * at a time. A lock is a lease: a replica that dies stops blocking the others once {@code locked_until}
+ * passes, and long runs {@link #extend} it as they make progress. Lease times come from each replica's
+ * clock, so leases should be much longer than the expected clock skew.
+ */
+@Component
+public class DatabaseSchedulerLock {
+
+    private static final String TAKE_OVER = """
+            update scheduler_lock set locked_by = ?, locked_at = ?, locked_until = ?
+            where name = ? and (locked_until <= ? or locked_by = ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String instanceId;
+
+    public DatabaseSchedulerLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.instanceId = System.getenv().getOrDefault("HOSTNAME", "payment-service") + "/" + UUID.randomUUID();
+    }
+
+    public boolean tryAcquire(String name, Duration lease) {
+        var now = Instant.now();
+        if (jdbcTemplate.update(TAKE_OVER, instanceId, Timestamp.from(now), Timestamp.from(now.plus(lease)),
+                name, Timestamp.from(now), instanceId) == 1) {
+            return true;
+        }
+        try {
+            // First run of this job anywhere: create the row
+            return jdbcTemplate.update("insert into scheduler_lock (name, locked_by, locked_at, locked_until) values (?, ?, ?, ?)",
+                    name, instanceId, Timestamp.from(now), Timestamp.from(now.plus(lease))) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /** Pushes the lease forward; false if this instance no longer holds the lock. */
+    public boolean extend(String name, Duration lease) {
+        return jdbcTemplate.update("update scheduler_lock set locked_until = ? where name = ? and locked_by = ?",
+                Timestamp.from(Instant.now().plus(lease)), name, instanceId) == 1;
+    }
+
+    public void release(String name) {
+        jdbcTemplate.update("update scheduler_lock set locked_until = ? where name = ? and locked_by = ?",
+                Timestamp.from(Instant.now()), name, instanceId);
+    }
+}
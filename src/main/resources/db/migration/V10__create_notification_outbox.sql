@@ -0,0 +1,18 @@
+-- Transactional outbox for receipt notifications, written in the same transaction as the receipt change and
+-- delivered by NotificationOutboxDispatcher. dedup_key is unique; batch enqueues skip keys already queued.
+CREATE TABLE notification_outbox (
+    id              BIGINT        NOT NULL AUTO_INCREMENT,
+    dedup_key       VARCHAR(120)  NOT NULL,
+    user_id         BIGINT        NOT NULL,
+    message         VARCHAR(1000) NOT NULL,
+    status          VARCHAR(16)   NOT NULL,
+    attempts        INT           NOT NULL,
+    next_attempt_at DATETIME(6)   NOT NULL,
+    created_at      DATETIME(6)   NOT NULL,
+    sent_at         DATETIME(6),
+    last_error      VARCHAR(500),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_notification_outbox_dedup_key UNIQUE (dedup_key)
+);
+
+CREATE INDEX idx_notification_outbox_status_next_attempt ON notification_outbox (status, next_attempt_at);
@@ -0,0 +1,19 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+CREATE TABLE receipt (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at     DATETIME(6)  NOT NULL,
+    updated_at     DATETIME(6)  NOT NULL,
+    issue_date     DATE         NOT NULL,
+    due_date       DATE         NOT NULL,
+    total_amount   FLOAT        NOT NULL,
+    status         BIT          NOT NULL,
+    resident_id    BIGINT       NOT NULL,
+    payment_id     BIGINT,
+    payment_date   DATE         NOT NULL,
+    amount_paid    FLOAT        NOT NULL,
+    payment_method BIGINT       NOT NULL,
+    type           VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
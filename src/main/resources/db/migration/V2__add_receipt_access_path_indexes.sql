@@ -0,0 +1,8 @@
+-- Access paths used by ReceiptRepository and the reporting/overdue scans.
+-- resident_id leads the composite index, so it also serves plain per-resident lookups.
+CREATE INDEX idx_receipt_resident_issue_date ON receipt (resident_id, issue_date);
+CREATE INDEX idx_receipt_issue_date ON receipt (issue_date);
+CREATE INDEX idx_receipt_payment_date ON receipt (payment_date);
+-- Overdue scans filter on unpaid status and a due-date range
+CREATE INDEX idx_receipt_status_due_date ON receipt (status, due_date);
+
@@ -0,0 +1,29 @@
+-- Summary tables maintained incrementally by ReceiptSummaryRepository on every receipt write,
+-- so balance and collection reports read one row per group instead of scanning receipts.
+CREATE TABLE resident_balance (
+    resident_id   BIGINT NOT NULL,
+    receipt_count BIGINT NOT NULL,
+    total_amount  DOUBLE NOT NULL,
+    amount_paid   DOUBLE NOT NULL,
+    PRIMARY KEY (resident_id)
+);
+
+-- period_month is the payment date's month as yyyymm (e.g. 202610)
+CREATE TABLE receipt_collection_summary (
+    period_month     INT          NOT NULL,
+    payment_method   BIGINT       NOT NULL,
+    type             VARCHAR(255) NOT NULL,
+    receipt_count    BIGINT       NOT NULL,
+    amount_collected DOUBLE       NOT NULL,
+    PRIMARY KEY (period_month, payment_method, type)
+);
+
+INSERT INTO resident_balance (resident_id, receipt_count, total_amount, amount_paid)
+SELECT resident_id, COUNT(*), SUM(total_amount), SUM(amount_paid)
+FROM receipt
+GROUP BY resident_id;
+
+INSERT INTO receipt_collection_summary (period_month, payment_method, type, receipt_count, amount_collected)
+SELECT YEAR(payment_date) * 100 + MONTH(payment_date), payment_method, type, COUNT(*), SUM(amount_paid)
+FROM receipt
+GROUP BY YEAR(payment_date) * 100 + MONTH(payment_date), payment_method, type;
@@ -0,0 +1,41 @@
+-- Amounts move from FLOAT to exact BIGINT minor units (céntimos), see Money and MoneyAttributeConverter.
+-- ROUND absorbs the binary error of the old FLOAT values (100.1 is stored as 100.0999984...).
+ALTER TABLE receipt ADD COLUMN total_amount_minor BIGINT;
+ALTER TABLE receipt ADD COLUMN amount_paid_minor BIGINT;
+UPDATE receipt SET total_amount_minor = ROUND(total_amount * 100), amount_paid_minor = ROUND(amount_paid * 100);
+ALTER TABLE receipt MODIFY COLUMN total_amount_minor BIGINT NOT NULL;
+ALTER TABLE receipt MODIFY COLUMN amount_paid_minor BIGINT NOT NULL;
+ALTER TABLE receipt DROP COLUMN total_amount;
+ALTER TABLE receipt DROP COLUMN amount_paid;
+
+-- The summaries are derived data: rebuild them exactly from the converted receipts
+DROP TABLE resident_balance;
+DROP TABLE receipt_collection_summary;
+
+CREATE TABLE resident_balance (
+    resident_id        BIGINT NOT NULL,
+    receipt_count      BIGINT NOT NULL,
+    total_amount_minor BIGINT NOT NULL,
+    amount_paid_minor  BIGINT NOT NULL,
+    PRIMARY KEY (resident_id)
+);
+
+-- period_month is the payment date's month as yyyymm (e.g. 202610)
+CREATE TABLE receipt_collection_summary (
+    period_month           INT          NOT NULL,
+    payment_method         BIGINT       NOT NULL,
+    type                   VARCHAR(255) NOT NULL,
+    receipt_count          BIGINT       NOT NULL,
+    amount_collected_minor BIGINT       NOT NULL,
+    PRIMARY KEY (period_month, payment_method, type)
+);
+
+INSERT INTO resident_balance (resident_id, receipt_count, total_amount_minor, amount_paid_minor)
+SELECT resident_id, COUNT(*), SUM(total_amount_minor), SUM(amount_paid_minor)
+FROM receipt
+GROUP BY resident_id;
+
+INSERT INTO receipt_collection_summary (period_month, payment_method, type, receipt_count, amount_collected_minor)
+SELECT YEAR(payment_date) * 100 + MONTH(payment_date), payment_method, type, COUNT(*), SUM(amount_paid_minor)
+FROM receipt
+GROUP BY YEAR(payment_date) * 100 + MONTH(payment_date), payment_method, type;
@@ -0,0 +1,2 @@
+-- Optimistic-locking version for Receipt (@Version); also the basis of the receipt ETags
+ALTER TABLE receipt ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
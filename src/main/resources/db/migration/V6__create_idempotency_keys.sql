@@ -0,0 +1,14 @@
+-- One row per (scope, Idempotency-Key), keyed by the SHA-256 of both so the primary key stays 32 bytes
+-- whatever the client sends. response_status is null only while the first request is still running.
+CREATE TABLE idempotency_key (
+    key_hash        BINARY(32)  NOT NULL,
+    request_hash    BINARY(32)  NOT NULL,
+    response_status INT,
+    response_body   TEXT,
+    response_etag   VARCHAR(64),
+    created_at      DATETIME(6) NOT NULL,
+    expires_at      DATETIME(6) NOT NULL,
+    PRIMARY KEY (key_hash)
+);
+
+CREATE INDEX idx_idempotency_key_expires_at ON idempotency_key (expires_at);
@@ -0,0 +1,15 @@
+-- Set by OverdueReceiptSweeper when it marks an unpaid receipt overdue and queues its reminder
+ALTER TABLE receipt ADD COLUMN overdue_at DATETIME(6);
+
+-- The sweep's keyset walk: receipts already marked overdue sort outside the (false, NULL) prefix, so each
+-- hourly sweep reads only the unpaid receipts it still has to mark
+CREATE INDEX idx_receipt_status_overdue_due_date ON receipt (status, overdue_at, due_date, id);
+
+-- Cluster-wide locks for scheduled jobs: one row per job, held by the replica whose lease has not expired
+CREATE TABLE scheduler_lock (
+    name         VARCHAR(64)  NOT NULL,
+    locked_by    VARCHAR(255) NOT NULL,
+    locked_at    DATETIME(6)  NOT NULL,
+    locked_until DATETIME(6)  NOT NULL,
+    PRIMARY KEY (name)
+);
@@ -0,0 +1,32 @@
+-- Per-resident read model, projected asynchronously from receipt events by ResidentReceiptSummaryProjector.
+-- Replaces resident_balance, which every write used to upsert in its own transaction.
+CREATE TABLE resident_receipt_summary (
+    resident_id        BIGINT      NOT NULL,
+    receipt_count      BIGINT      NOT NULL,
+    unpaid_count       BIGINT      NOT NULL,
+    total_amount_minor BIGINT      NOT NULL,
+    amount_paid_minor  BIGINT      NOT NULL,
+    last_issue_date    DATE,
+    next_due_date      DATE,
+    last_payment_date  DATE,
+    refreshed_at       DATETIME(6) NOT NULL,
+    PRIMARY KEY (resident_id)
+);
+
+CREATE INDEX idx_resident_receipt_summary_refreshed_at ON resident_receipt_summary (refreshed_at);
+
+INSERT INTO resident_receipt_summary (resident_id, receipt_count, unpaid_count, total_amount_minor, amount_paid_minor,
+                                      last_issue_date, next_due_date, last_payment_date, refreshed_at)
+SELECT resident_id,
+       COUNT(*),
+       SUM(CASE WHEN status = FALSE THEN 1 ELSE 0 END),
+       SUM(total_amount_minor),
+       SUM(amount_paid_minor),
+       MAX(issue_date),
+       MIN(CASE WHEN status = FALSE THEN due_date END),
+       MAX(CASE WHEN amount_paid_minor > 0 THEN payment_date END),
+       CURRENT_TIMESTAMP(6)
+FROM receipt
+GROUP BY resident_id;
+
+DROP TABLE resident_balance;
@@ -0,0 +1,9 @@
+-- Single-row heartbeat stamped on the primary by ReplicaRoutingDataSource. Comparing the copy each read replica
+-- has applied with the primary's value gives that replica's lag in database time, free of application clock skew.
+CREATE TABLE replication_heartbeat (
+    id      INT         NOT NULL,
+    beat_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP(6));
@@ -2,8 +2,10 @@ package pe.edu.upc.center.seniorhub.payment;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest(classes = PaymentMicroserviceApplication.class)
+@ActiveProfiles("test")
 class PaymentMicroserviceApplicationTests {
 
     @Test
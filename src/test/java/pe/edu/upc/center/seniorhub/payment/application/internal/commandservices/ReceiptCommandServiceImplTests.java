@@ -0,0 +1,180 @@
+package pe.edu.upc.center.seniorhub.payment.application.internal.commandservices;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+import pe.edu.upc.center.seniorhub.payment.application.internal.eventhandlers.ResidentReceiptSummaryProjector;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.DeleteReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.RecordPaymentCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.UpdateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
+import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptCommandService;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.NotificationOutboxRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.ReceiptRepository;
+import pe.edu.upc.center.seniorhub.payment.support.StatementCounter;
+
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Guards the number of SQL statements each command issues, so extra round trips show up as test failures.
+ * Statements are counted at the DataSource, so JdbcTemplate writes count alongside Hibernate's.
+ */
+@SpringBootTest(classes = PaymentMicroserviceApplication.class)
+@ActiveProfiles("test")
+@Import(StatementCounter.class)
+class ReceiptCommandServiceImplTests {
+
+    @Autowired
+    private ReceiptCommandService receiptCommandService;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ResidentReceiptSummaryProjector projector;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAllInBatch();
+        receiptRepository.deleteAllInBatch();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statementCounter.reset();
+    }
+
+    @Test
+    void createIssuesReceiptOutboxAndSummaryWritesOnly() {
+        var receipt = receiptCommandService.handle(createCommand(1L));
+
+        assertThat(receipt).isPresent();
+        assertThat(receipt.get().getId()).isNotNull();
+        assertThat(statementCounter.statements()).hasSize(3)
+                .anyMatch(sql -> sql.startsWith("insert into receipt_collection_summary"));
+    }
+
+    @Test
+    void createAllowsSeveralReceiptsPerResident() {
+        receiptCommandService.handle(createCommand(1L));
+        receiptCommandService.handle(createCommand(1L));
+
+        assertThat(receiptRepository.count()).isEqualTo(2);
+        assertThat(outboxRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void updateIssuesOneSelectOneUpdateAndOneSummaryBatch() {
+        var receiptId = receiptCommandService.handle(createCommand(1L)).orElseThrow().getId();
+        statementCounter.reset();
+
+        var updated = receiptCommandService.handle(updateCommand(receiptId));
+
+        assertThat(updated).get().extracting(receipt -> receipt.getAmountPaid()).isEqualTo(Money.ofMinor(7500));
+        assertThat(statementCounter.statements()).hasSize(3);
+    }
+
+    @Test
+    void updateOfMissingReceiptFailsAfterOneSelect() {
+        assertThatThrownBy(() -> receiptCommandService.handle(updateCommand(999L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(statementCounter.statements()).hasSize(1);
+    }
+
+    @Test
+    void concurrentPaymentsAreAllApplied() throws Exception {
+        var receiptId = receiptCommandService.handle(createCommand(1L)).orElseThrow().getId();
+        var paidBefore = residentAmountPaid(1L);
+        statistics.clear();
+
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var payments = IntStream.range(0, 15)
+                    .mapToObj(i -> executor.submit(() -> receiptCommandService.handle(paymentCommand(receiptId, 500))))
+                    .toList();
+            for (var payment : payments) {
+                payment.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        var receipt = receiptRepository.findById(receiptId).orElseThrow();
+        assertThat(receipt.getAmountPaid()).isEqualTo(Money.ofMinor(7500));
+        assertThat(receipt.getStatus()).isTrue();
+        assertThat(receipt.getVersion()).isEqualTo(15L);
+        assertThat(residentAmountPaid(1L) - paidBefore).isEqualTo(7500L);
+        assertThatThrownBy(() -> receiptCommandService.handle(paymentCommand(receiptId, 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds the outstanding");
+        assertThat(receiptCommandService.handle(paymentCommand(999L, 1))).isEmpty();
+    }
+
+    @Test
+    void deleteIssuesProjectionSingleDeleteAndSummaryWrite() {
+        var receiptId = receiptCommandService.handle(createCommand(1L)).orElseThrow().getId();
+        statistics.clear();
+        statementCounter.reset();
+
+        receiptCommandService.handle(new DeleteReceiptCommand(receiptId));
+
+        assertThat(statementCounter.statements()).hasSize(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(receiptRepository.existsById(receiptId)).isFalse();
+    }
+
+    @Test
+    void deleteOfMissingReceiptFails() {
+        assertThatThrownBy(() -> receiptCommandService.handle(new DeleteReceiptCommand(999L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CreateReceiptCommand createCommand(Long residentId) {
+        var today = new Date();
+        return new CreateReceiptCommand(today, today, Money.ofMinor(7500), false, new ResidentId(residentId), null, today,
+                Money.ZERO, 1L, "MONTHLY");
+    }
+
+    private static RecordPaymentCommand paymentCommand(Long receiptId, long amountMinor) {
+        return new RecordPaymentCommand(receiptId, Money.ofMinor(amountMinor), 9L, new Date(), 2L, null);
+    }
+
+    private long residentAmountPaid(Long residentId) {
+        projector.flush();
+        return jdbcTemplate.queryForList("select amount_paid_minor from resident_receipt_summary where resident_id = ?",
+                Long.class, residentId).stream().findFirst().orElse(0L);
+    }
+
+    private static UpdateReceiptCommand updateCommand(Long receiptId) {
+        var today = new Date();
+        return new UpdateReceiptCommand(receiptId, today, today, Money.ofMinor(7500), true, new ResidentId(1L), 3L, today,
+                Money.ofMinor(7500), 2L, "MONTHLY", null);
+    }
+}
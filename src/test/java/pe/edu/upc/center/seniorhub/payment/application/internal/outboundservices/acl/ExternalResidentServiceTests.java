@@ -0,0 +1,201 @@
+package pe.edu.upc.center.seniorhub.payment.application.internal.outboundservices.acl;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+import pe.edu.upc.center.seniorhub.payment.application.internal.eventhandlers.ResidentReceiptSummaryProjector;
+import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.BulkCreateReceiptsCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.UpdateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.BulkCreateReceiptResult;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
+import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptCommandService;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.integration.ResidentServiceClient;
+import pe.edu.upc.center.seniorhub.payment.support.ResidentServiceStub;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = PaymentMicroserviceApplication.class, properties = "payment.residents.validation.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExternalResidentServiceTests {
+
+    private static final ResidentServiceStub residentService = ResidentServiceStub.start();
+
+    @DynamicPropertySource
+    static void residentServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("services.residents.url", residentService::baseUrl);
+    }
+
+    @Autowired
+    private ResidentServiceClient residentServiceClient;
+
+    @Autowired
+    private ExternalResidentService externalResidentService;
+
+    @Autowired
+    private ReceiptCommandService receiptCommandService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ResidentReceiptSummaryProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        residentService.reset();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        residentService.close();
+    }
+
+    @Test
+    void knownAndUnknownAnswersAreServedFromTheCache() {
+        residentService.register(1L);
+        var residents = residents(Duration.ofMinutes(1), 100);
+
+        assertThat(residents.exists(1L)).isTrue();
+        assertThat(residents.exists(1L)).isTrue();
+        assertThat(residents.exists(2L)).isFalse();
+        assertThat(residents.exists(2L)).isFalse();
+
+        assertThat(residentService.requests()).containsExactly(List.of(1L), List.of(2L));
+    }
+
+    @Test
+    void unknownResidentIsRecheckedOnceTheNegativeEntryExpires() throws InterruptedException {
+        var residents = residents(Duration.ofMillis(100), 100);
+        assertThat(residents.exists(9L)).isFalse();
+
+        residentService.register(9L);
+        Thread.sleep(150);
+
+        assertThat(residents.exists(9L)).isTrue();
+    }
+
+    @Test
+    void concurrentLookupsOfOneResidentShareOneCall() {
+        residentService.register(1L);
+        residentService.withLatency(Duration.ofMillis(200));
+        var residents = residents(Duration.ofMinutes(1), 100);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var lookups = IntStream.range(0, 20)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> residents.exists(1L), executor))
+                    .toList();
+            assertThat(lookups).allSatisfy(lookup -> assertThat(lookup.join()).isTrue());
+        }
+
+        assertThat(residentService.requests()).hasSize(1);
+    }
+
+    @Test
+    void cacheMissesAreLookedUpInBatches() {
+        residentService.register(1L, 2L, 3L, 4L, 5L);
+        var residents = residents(Duration.ofMinutes(1), 3);
+
+        assertThat(residents.findUnknown(LongStream.rangeClosed(1, 7).boxed().toList())).containsExactlyInAnyOrder(6L, 7L);
+        assertThat(residentService.requests()).hasSize(3)
+                .allSatisfy(request -> assertThat(request).hasSizeLessThanOrEqualTo(3));
+
+        // Only the id not seen before goes out
+        assertThat(residents.findUnknown(LongStream.rangeClosed(1, 8).boxed().toList())).containsExactlyInAnyOrder(6L, 7L, 8L);
+        assertThat(residentService.requests()).hasSize(4).last().isEqualTo(List.of(8L));
+    }
+
+    @Test
+    void failedLookupIsReportedAndNotCached() {
+        residentService.respondWith(500);
+        var residents = residents(Duration.ofMinutes(1), 100);
+        assertThatThrownBy(() -> residents.exists(1L)).isInstanceOf(ResidentServiceUnavailableException.class);
+
+        residentService.respondWith(200);
+        residentService.register(1L);
+        assertThat(residents.exists(1L)).isTrue();
+    }
+
+    @Test
+    void receiptsAreOnlyCreatedForKnownResidents() {
+        residentService.register(101L);
+
+        assertThat(receiptCommandService.handle(command(102L))).isEmpty();
+        assertThat(receiptCommandService.handle(command(101L))).isPresent();
+
+        var results = receiptCommandService.handle(new BulkCreateReceiptsCommand(List.of(command(101L), command(103L))));
+        assertThat(results).extracting(BulkCreateReceiptResult::error)
+                .containsExactly(null, "Resident 103 does not exist");
+    }
+
+    @Test
+    void residentLookupsHoldNoDatabaseConnection() throws Exception {
+        residentService.register(201L, 202L, 203L, 204L);
+        var pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        var activeConnectionsDuringLookups = new CopyOnWriteArrayList<Integer>();
+        residentService.onRequest(() -> activeConnectionsDuringLookups.add(pool.getActiveConnections()));
+
+        // The pool is shared with the read-model projector, which every write wakes up; it is drained after each
+        // write so the samples only count connections held by the command itself
+        var receipt = receiptCommandService.handle(command(201L)).orElseThrow();
+        projector.flush();
+        receiptCommandService.handle(new BulkCreateReceiptsCommand(List.of(command(202L))));
+        projector.flush();
+        mockMvc.perform(post("/api/v1/receipts").header("Idempotency-Key", "resident-203")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"issueDate":"2026-08-01","dueDate":"2026-08-31","totalAmount":75.0,"status":false,
+                                 "residentId":203,"paymentDate":"2026-08-01","amountPaid":0.0,"paymentMethod":1,
+                                 "type":"MONTHLY"}"""))
+                .andExpect(status().isCreated());
+        projector.flush();
+        var today = new Date();
+        var moved = receiptCommandService.handle(new UpdateReceiptCommand(receipt.getId(), today, today,
+                Money.ofMinor(7500), false, new ResidentId(204L), null, today, Money.ZERO, 1L, "MONTHLY", null));
+
+        assertThat(moved).map(Receipt::getResidentId).contains(new ResidentId(204L));
+        assertThat(residentService.requests()).hasSize(4);
+        assertThat(activeConnectionsDuringLookups).hasSize(4).containsOnly(0);
+    }
+
+    private ExternalResidentService residents(Duration negativeTtl, int maxBatchSize) {
+        return new ExternalResidentService(residentServiceClient, new SimpleMeterRegistry(), true, 1000,
+                Duration.ofMinutes(10), negativeTtl, maxBatchSize);
+    }
+
+    private static CreateReceiptCommand command(long residentId) {
+        var today = new Date();
+        return new CreateReceiptCommand(today, today, Money.ofMinor(7500), false, new ResidentId(residentId), null, today,
+                Money.ZERO, 1L, "MONTHLY");
+    }
+}
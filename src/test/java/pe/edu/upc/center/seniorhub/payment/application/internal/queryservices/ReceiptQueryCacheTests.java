@@ -0,0 +1,99 @@
+package pe.edu.upc.center.seniorhub.payment.application.internal.queryservices;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.DeleteReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.UpdateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptByReceiptIdQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsByResidentIdQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
+import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptCommandService;
+import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptQueryService;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.caching.ReceiptCacheNames;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.NotificationOutboxRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.ReceiptRepository;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = PaymentMicroserviceApplication.class)
+@ActiveProfiles("test")
+class ReceiptQueryCacheTests {
+
+    @Autowired
+    private ReceiptQueryService receiptQueryService;
+
+    @Autowired
+    private ReceiptCommandService receiptCommandService;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAllInBatch();
+        receiptRepository.deleteAllInBatch();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void lookupsAreServedFromCacheUntilACommandTouchesTheReceipt() {
+        var receiptId = receiptCommandService.handle(createCommand(3L)).orElseThrow().getId();
+
+        receiptQueryService.handle(new GetReceiptByReceiptIdQuery(receiptId));
+        receiptQueryService.handle(new GetReceiptsByResidentIdQuery(3L));
+        assertThat(cached(ReceiptCacheNames.RECEIPTS_BY_ID, receiptId)).isTrue();
+        assertThat(cached(ReceiptCacheNames.RECEIPTS_BY_RESIDENT, 3L)).isTrue();
+
+        // Moving the receipt to another resident must drop both the old and the new resident entries
+        receiptQueryService.handle(new GetReceiptsByResidentIdQuery(4L));
+        receiptCommandService.handle(updateCommand(receiptId, 4L));
+        assertThat(cached(ReceiptCacheNames.RECEIPTS_BY_ID, receiptId)).isFalse();
+        assertThat(cached(ReceiptCacheNames.RECEIPTS_BY_RESIDENT, 3L)).isFalse();
+        assertThat(cached(ReceiptCacheNames.RECEIPTS_BY_RESIDENT, 4L)).isFalse();
+
+        assertThat(receiptQueryService.handle(new GetReceiptsByResidentIdQuery(4L))).hasSize(1);
+        receiptCommandService.handle(new DeleteReceiptCommand(receiptId));
+        assertThat(cached(ReceiptCacheNames.RECEIPTS_BY_RESIDENT, 4L)).isFalse();
+        assertThat(receiptQueryService.handle(new GetReceiptByReceiptIdQuery(receiptId))).isEmpty();
+    }
+
+    @Test
+    void createEvictsNegativeLookupForTheResident() {
+        assertThat(receiptQueryService.handle(new GetReceiptsByResidentIdQuery(8L))).isEmpty();
+
+        receiptCommandService.handle(createCommand(8L));
+
+        assertThat(receiptQueryService.handle(new GetReceiptsByResidentIdQuery(8L))).hasSize(1);
+    }
+
+    private boolean cached(String cacheName, Long key) {
+        return cacheManager.getCache(cacheName).get(key) != null;
+    }
+
+    private static CreateReceiptCommand createCommand(Long residentId) {
+        var today = new Date();
+        return new CreateReceiptCommand(today, today, Money.ofMinor(5000), false, new ResidentId(residentId), null, today,
+                Money.ZERO, 1L, "MONTHLY");
+    }
+
+    private static UpdateReceiptCommand updateCommand(Long receiptId, Long residentId) {
+        var today = new Date();
+        return new UpdateReceiptCommand(receiptId, today, today, Money.ofMinor(5000), true, new ResidentId(residentId), 9L, today,
+                Money.ofMinor(5000), 1L, "MONTHLY", null);
+    }
+}
@@ -0,0 +1,314 @@
+package pe.edu.upc.center.seniorhub.payment.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+import pe.edu.upc.center.seniorhub.payment.support.NotificationServiceStub;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test of the receipt API: the application on a random port over the embedded database, with
+ * the notification service replaced by a local stub that answers after {@code loadtest.notification-latency}.
+ * {@code loadtest.concurrency} closed-loop clients run a weighted mix of create, per-resident read, update and
+ * delete for {@code loadtest.warmup} (discarded) and then {@code loadtest.duration}. Throughput and latency
+ * percentiles per operation are printed and written as JSON to {@code loadtest.output} for comparison between
+ * releases.
+ * <p>
+ * Run with {@code mvn test -Dtest=ReceiptApiLoadTests -Dbenchmarks=true}, e.g. adding
+ * {@code -Dloadtest.mix=create=10,read=80,update=8,delete=2}. Application properties can be overridden with
+ * system properties too, e.g. {@code -Dpayment.admission.enabled=true}.
+ */
+@SpringBootTest(classes = PaymentMicroserviceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "payment.notifications.outbox.poll-interval=PT0.1S")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ReceiptApiLoadTests {
+
+    private static final Duration WARMUP = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final int RESIDENTS = Integer.getInteger("loadtest.residents", 500);
+    private static final String MIX = System.getProperty("loadtest.mix", "create=30,read=50,update=15,delete=5");
+    private static final Duration NOTIFICATION_LATENCY =
+            Duration.parse(System.getProperty("loadtest.notification-latency", "PT0.02S"));
+    private static final Path OUTPUT = Path.of(System.getProperty("loadtest.output", "target/loadtest/receipt-api.json"));
+
+    private static final String RECEIPT_JSON = """
+            {"issueDate":"2026-08-01","dueDate":"2026-08-31","totalAmount":150.0,"status":%s,"residentId":%d,
+             "paymentDate":"2026-08-01","amountPaid":%s,"paymentMethod":1,"type":"MONTHLY"}""";
+
+    private static final NotificationServiceStub notificationService = NotificationServiceStub.start();
+
+    @DynamicPropertySource
+    static void notificationServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("services.notifications.url", notificationService::baseUrl);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    // Receipts created and not yet deleted; a worker takes one out while it updates or deletes it
+    private final ConcurrentLinkedQueue<CreatedReceipt> receipts = new ConcurrentLinkedQueue<>();
+
+    @AfterAll
+    static void stopStub() {
+        notificationService.close();
+    }
+
+    @Test
+    void receiptApiMixedWorkload() throws Exception {
+        notificationService.withLatency(NOTIFICATION_LATENCY);
+        var mix = Mix.parse(MIX);
+
+        run(mix, WARMUP);
+        int notificationsBefore = notificationService.requests().size();
+        var results = run(mix, DURATION);
+        int notifications = notificationService.requests().size() - notificationsBefore;
+
+        var report = report(results, notifications);
+        Files.createDirectories(OUTPUT.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(OUTPUT.toFile(), report);
+        results.forEach((operation, stats) -> System.out.printf(
+                "%-6s count=%d errors=%d throughput=%.1f/s p50=%dus p99=%dus p99.9=%dus max=%dus%n",
+                operation.tag, stats.latency.getTotalCount(), stats.errors.sum(),
+                stats.latency.getTotalCount() / seconds(DURATION), stats.latency.getValueAtPercentile(50),
+                stats.latency.getValueAtPercentile(99), stats.latency.getValueAtPercentile(99.9),
+                stats.latency.getMaxValue()));
+        System.out.println("Baseline written to " + OUTPUT.toAbsolutePath());
+
+        long succeeded = results.values().stream().mapToLong(stats -> stats.latency.getTotalCount()).sum();
+        long failed = results.values().stream().mapToLong(stats -> stats.errors.sum()).sum();
+        assertThat(succeeded).isPositive();
+        assertThat(failed).isLessThanOrEqualTo(succeeded / 100);
+    }
+
+    private Map<Operation, Stats> run(Mix mix, Duration duration) {
+        var results = new EnumMap<Operation, Stats>(Operation.class);
+        for (var operation : Operation.values()) {
+            results.put(operation, new Stats());
+        }
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (var workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                workers.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        execute(mix.next(), results);
+                    }
+                });
+            }
+        }
+        return results;
+    }
+
+    private void execute(Operation operation, Map<Operation, Stats> results) {
+        CreatedReceipt receipt = null;
+        if (operation == Operation.UPDATE || operation == Operation.DELETE) {
+            receipt = receipts.poll();
+            if (receipt == null) {
+                // Nothing to update or delete yet; create instead so the mix fills the pool
+                operation = Operation.CREATE;
+            }
+        }
+        var request = switch (operation) {
+            case CREATE -> post(ThreadLocalRandom.current().nextLong(1, RESIDENTS + 1));
+            case READ -> HttpRequest.newBuilder(uri("/resident/" + ThreadLocalRandom.current().nextLong(1, RESIDENTS + 1)))
+                    .GET().build();
+            case UPDATE -> HttpRequest.newBuilder(uri("/" + receipt.receiptId()))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(RECEIPT_JSON.formatted(true, receipt.residentId(), "150.0")))
+                    .build();
+            case DELETE -> HttpRequest.newBuilder(uri("/" + receipt.receiptId())).DELETE().build();
+        };
+
+        var stats = results.get(operation);
+        long start = System.nanoTime();
+        try {
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            if (!operation.expectedStatuses.contains(response.statusCode())) {
+                stats.errors.increment();
+                if (receipt != null) {
+                    receipts.offer(receipt);
+                }
+                return;
+            }
+            stats.latency.recordValue(elapsedMicros);
+            switch (operation) {
+                case CREATE -> {
+                    var created = objectMapper.readTree(response.body());
+                    receipts.offer(new CreatedReceipt(created.get("receiptId").asLong(), created.get("residentId").asLong()));
+                }
+                case UPDATE -> receipts.offer(receipt);
+                default -> {
+                }
+            }
+        } catch (IOException e) {
+            stats.errors.increment();
+            if (receipt != null) {
+                receipts.offer(receipt);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest post(long residentId) {
+        return HttpRequest.newBuilder(uri(""))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(RECEIPT_JSON.formatted(false, residentId, "0.0")))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + port + "/api/v1/receipts" + path);
+    }
+
+    private Map<String, Object> report(Map<Operation, Stats> results, int notifications) {
+        var configuration = new LinkedHashMap<String, Object>();
+        configuration.put("warmup", WARMUP.toString());
+        configuration.put("duration", DURATION.toString());
+        configuration.put("concurrency", CONCURRENCY);
+        configuration.put("residents", RESIDENTS);
+        configuration.put("mix", MIX);
+        configuration.put("notificationLatency", NOTIFICATION_LATENCY.toString());
+
+        var operations = new LinkedHashMap<String, Object>();
+        var all = new Histogram(3);
+        long errors = 0;
+        for (var entry : results.entrySet()) {
+            var stats = entry.getValue();
+            all.add(stats.latency);
+            errors += stats.errors.sum();
+            operations.put(entry.getKey().tag, summary(stats.latency, stats.errors.sum()));
+        }
+
+        var report = new LinkedHashMap<String, Object>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("configuration", configuration);
+        report.put("total", summary(all, errors));
+        report.put("operations", operations);
+        report.put("notificationRequests", notifications);
+        return report;
+    }
+
+    private static Map<String, Object> summary(Histogram latency, long errors) {
+        var percentiles = new LinkedHashMap<String, Object>();
+        for (var percentile : new double[] {50, 90, 95, 99, 99.9}) {
+            percentiles.put("p" + (percentile % 1 == 0 ? Integer.toString((int) percentile) : Double.toString(percentile)),
+                    latency.getValueAtPercentile(percentile));
+        }
+        percentiles.put("max", latency.getMaxValue());
+        percentiles.put("mean", Math.round(latency.getMean()));
+
+        var summary = new LinkedHashMap<String, Object>();
+        summary.put("count", latency.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughputPerSecond", Math.round(latency.getTotalCount() / seconds(DURATION) * 10) / 10d);
+        summary.put("latencyMicros", percentiles);
+        return summary;
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1e9;
+    }
+
+    private enum Operation {
+        CREATE("create", 201),
+        // 204 for a resident without receipts yet
+        READ("read", 200, 204),
+        UPDATE("update", 200),
+        DELETE("delete", 204);
+
+        private final String tag;
+        private final Set<Integer> expectedStatuses;
+
+        Operation(String tag, Integer... expectedStatuses) {
+            this.tag = tag;
+            this.expectedStatuses = Set.of(expectedStatuses);
+        }
+    }
+
+    private record Stats(Histogram latency, LongAdder errors) {
+        Stats() {
+            this(new ConcurrentHistogram(3), new LongAdder());
+        }
+    }
+
+    private record CreatedReceipt(long receiptId, long residentId) {}
+
+    /** Weighted operation mix parsed from {@code create=30,read=50,...}. */
+    private record Mix(Operation[] operations, int[] cumulativeWeights) {
+
+        static Mix parse(String mix) {
+            var operations = new ArrayList<Operation>();
+            var weights = new ArrayList<Integer>();
+            int total = 0;
+            for (var part : mix.split(",")) {
+                var nameAndWeight = part.strip().split("=");
+                if (nameAndWeight.length != 2) {
+                    throw new IllegalArgumentException("Invalid load test mix entry: " + part);
+                }
+                var operation = Operation.valueOf(nameAndWeight[0].strip().toUpperCase());
+                total += Integer.parseInt(nameAndWeight[1].strip());
+                operations.add(operation);
+                weights.add(total);
+            }
+            if (total <= 0) {
+                throw new IllegalArgumentException("Load test mix needs a positive total weight: " + mix);
+            }
+            return new Mix(operations.toArray(Operation[]::new), weights.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        Operation next() {
+            int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (roll < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException("Unreachable");
+        }
+    }
+}
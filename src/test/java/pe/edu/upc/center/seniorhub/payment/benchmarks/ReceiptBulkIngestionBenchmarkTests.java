@@ -0,0 +1,82 @@
+package pe.edu.upc.center.seniorhub.payment.benchmarks;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.BulkCreateReceiptsCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
+import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptCommandService;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.NotificationOutboxRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.ReceiptRepository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares month-end ingestion through the per-row command handler against the bulk handler.
+ * Run with {@code mvn test -Dtest=ReceiptBulkIngestionBenchmarkTests -Dbenchmarks=true}.
+ */
+@SpringBootTest(classes = PaymentMicroserviceApplication.class)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ReceiptBulkIngestionBenchmarkTests {
+
+    private static final int RECEIPTS = Integer.getInteger("benchmarks.receipts", 10_000);
+
+    @Autowired
+    private ReceiptCommandService receiptCommandService;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAllInBatch();
+        receiptRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void perRowVersusBulkIngestion() {
+        var perRowCommands = commands(1, RECEIPTS);
+        var bulkCommands = commands(RECEIPTS + 1, RECEIPTS);
+
+        // Warm up both paths before timing
+        receiptCommandService.handle(commands(10 * RECEIPTS + 1, 200).get(0));
+        receiptCommandService.handle(new BulkCreateReceiptsCommand(commands(11 * RECEIPTS + 1, 200)));
+
+        var perRowStart = System.nanoTime();
+        perRowCommands.forEach(receiptCommandService::handle);
+        var perRowMillis = (System.nanoTime() - perRowStart) / 1_000_000;
+
+        var bulkStart = System.nanoTime();
+        var results = receiptCommandService.handle(new BulkCreateReceiptsCommand(bulkCommands));
+        var bulkMillis = (System.nanoTime() - bulkStart) / 1_000_000;
+
+        System.out.printf("receipts=%d per-row=%dms (%.0f/s) bulk=%dms (%.0f/s) speedup=%.1fx%n",
+                RECEIPTS, perRowMillis, RECEIPTS * 1000.0 / Math.max(perRowMillis, 1),
+                bulkMillis, RECEIPTS * 1000.0 / Math.max(bulkMillis, 1),
+                (double) perRowMillis / Math.max(bulkMillis, 1));
+
+        assertThat(results).allMatch(result -> result.isCreated());
+    }
+
+    private static List<CreateReceiptCommand> commands(long firstResidentId, int count) {
+        var today = new Date();
+        return LongStream.range(firstResidentId, firstResidentId + count)
+                .mapToObj(residentId -> new CreateReceiptCommand(today, today, Money.ofMinor(15_000), false,
+                        new ResidentId(residentId), null, today, Money.ZERO, 1L, "MONTHLY"))
+                .toList();
+    }
+}
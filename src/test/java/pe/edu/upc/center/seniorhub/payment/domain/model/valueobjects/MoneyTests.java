@@ -0,0 +1,67 @@
+package pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.serialization.MoneyJacksonModule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new MoneyJacksonModule());
+
+    @Test
+    void parsesPlainDecimalsIntoMinorUnits() {
+        assertThat(Money.parse("120").minorUnits()).isEqualTo(12_000);
+        assertThat(Money.parse("100.1").minorUnits()).isEqualTo(10_010);
+        assertThat(Money.parse("-0.05").minorUnits()).isEqualTo(-5);
+        assertThat(Money.parse("80.000").minorUnits()).isEqualTo(8_000);
+        assertThat(Money.parse(".5").minorUnits()).isEqualTo(50);
+    }
+
+    @Test
+    void rejectsSubCentPrecisionAndMalformedInput() {
+        assertThatThrownBy(() -> Money.parse("1.005")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.parse("1e3")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.parse("-")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.parse("99999999999999999999")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void formatsWithTwoDecimalsIncludingExtremes() {
+        assertThat(Money.ofMinor(10_010)).hasToString("100.10");
+        assertThat(Money.ofMinor(-5)).hasToString("-0.05");
+        assertThat(Money.ZERO).hasToString("0.00");
+        assertThat(Money.ofMinor(Long.MIN_VALUE)).hasToString("-92233720368547758.08");
+    }
+
+    @Test
+    void sumsAreExact() {
+        var total = Money.ZERO;
+        for (int i = 0; i < 1_000; i++) {
+            total = total.plus(Money.parse("0.10"));
+        }
+        assertThat(total).isEqualTo(Money.parse("100"));
+        assertThatThrownBy(() -> Money.ZERO.plus(new Money(1, "USD"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void jsonRoundTripUsesPlainNumbers() throws Exception {
+        assertThat(objectMapper.writeValueAsString(Money.ofMinor(12_050))).isEqualTo("120.50");
+        assertThat(objectMapper.readValue("120.5", Money.class)).isEqualTo(Money.ofMinor(12_050));
+        assertThat(objectMapper.readValue("120", Money.class)).isEqualTo(Money.ofMinor(12_000));
+        assertThat(objectMapper.readValue("\"7.25\"", Money.class)).isEqualTo(Money.ofMinor(725));
+        assertThat(objectMapper.readValue("1.5e2", Money.class)).isEqualTo(Money.ofMinor(15_000));
+        assertThatThrownBy(() -> objectMapper.readValue("0.001", Money.class)).isInstanceOf(InvalidFormatException.class);
+    }
+
+    @Test
+    void jsonIntegersBeyondTheRangeAreReportedAsOutOfRange() {
+        assertThatThrownBy(() -> objectMapper.readValue("92233720368547759", Money.class))
+                .isInstanceOf(InvalidFormatException.class).hasMessageContaining("Amount is out of range");
+        assertThatThrownBy(() -> objectMapper.readValue("99999999999999999999", Money.class))
+                .isInstanceOf(InvalidFormatException.class).hasMessageContaining("Amount is out of range");
+    }
+}
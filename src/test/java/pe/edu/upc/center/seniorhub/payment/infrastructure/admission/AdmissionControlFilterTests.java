@@ -0,0 +1,110 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void clientOverItsBulkRateGets429WhileOthersAndItsReadsPass() throws Exception {
+        var filter = filter(100);
+
+        assertThat(send(filter, "POST", "/api/v1/receipts/bulk", "billing-batch").getStatus()).isEqualTo(200);
+        assertThat(send(filter, "POST", "/api/v1/receipts/bulk", "billing-batch").getStatus()).isEqualTo(200);
+        var limited = send(filter, "POST", "/api/v1/receipts/bulk", "billing-batch");
+
+        assertThat(limited.getStatus()).isEqualTo(429);
+        // Half a token per second: the next one is two seconds away
+        assertThat(limited.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(send(filter, "POST", "/api/v1/receipts/bulk", "front-office").getStatus()).isEqualTo(200);
+        assertThat(send(filter, "GET", "/api/v1/receipts", "billing-batch").getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("payment.admission.requests")
+                .tags("priority", "bulk", "outcome", "rate-limited").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rotatingTheClientHeaderBuysNoFreshBuckets() throws Exception {
+        var filter = filter(100);
+
+        // Two ids get their own buckets within the address; every further id shares the address's buckets
+        for (var client : new String[]{"a", "a", "b", "b", "c", "d"}) {
+            assertThat(send(filter, "POST", "/api/v1/receipts/bulk", client).getStatus()).isEqualTo(200);
+        }
+        assertThat(send(filter, "POST", "/api/v1/receipts/bulk", "e").getStatus()).isEqualTo(429);
+        assertThat(send(filter, "POST", "/api/v1/receipts/bulk", null).getStatus()).isEqualTo(429);
+
+        // Another address, or an authenticated caller behind the same one, has buckets of its own
+        assertThat(send(filter, "POST", "/api/v1/receipts/bulk", "f",
+                request -> request.setRemoteAddr("10.0.0.2")).getStatus()).isEqualTo(200);
+        assertThat(send(filter, "POST", "/api/v1/receipts/bulk", "g",
+                request -> request.setUserPrincipal(() -> "billing")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void overloadShedsBulkWorkBeforeReads() throws Exception {
+        var filter = filter(4);
+        var limiter = filter.concurrencyLimiter();
+        assertThat(limiter.tryAcquire(AdmissionPriority.READ)).isTrue();
+        assertThat(limiter.tryAcquire(AdmissionPriority.READ)).isTrue();
+
+        // Two of four slots busy: bulk work has used its half, reads still get in
+        var shed = send(filter, "POST", "/api/v1/receipts/exports", "nightly");
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(send(filter, "GET", "/api/v1/receipts/stream", "nightly").getStatus()).isEqualTo(503);
+        assertThat(send(filter, "GET", "/api/v1/receipts/7", "front-office").getStatus()).isEqualTo(200);
+
+        assertThat(limiter.tryAcquire(AdmissionPriority.READ)).isTrue();
+        assertThat(limiter.tryAcquire(AdmissionPriority.READ)).isTrue();
+        assertThat(send(filter, "GET", "/api/v1/receipts/7", "front-office").getStatus()).isEqualTo(503);
+        assertThat(meterRegistry.get("payment.admission.requests")
+                .tags("priority", "read", "outcome", "shed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void admittedRequestsReleaseTheirSlot() throws Exception {
+        var filter = filter(4);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(send(filter, "PUT", "/api/v1/receipts/7", "front-office").getStatus()).isEqualTo(200);
+        }
+
+        assertThat(filter.concurrencyLimiter().inFlight()).isZero();
+    }
+
+    private AdmissionControlFilter filter(int concurrencyLimit) {
+        var rate = new AdmissionControlProperties.Rate(100, 100, 100, 100, 0.5, 2);
+        var concurrency = new AdmissionControlProperties.Concurrency(concurrencyLimit, concurrencyLimit, concurrencyLimit,
+                50, 1.5, 600);
+        return new AdmissionControlFilter(new AdmissionControlProperties("X-Client-Id", 1000, 2, Duration.ofSeconds(1),
+                rate, concurrency), meterRegistry);
+    }
+
+    private static MockHttpServletResponse send(AdmissionControlFilter filter, String method, String path, String client)
+            throws Exception {
+        return send(filter, method, path, client, request -> {});
+    }
+
+    private static MockHttpServletResponse send(AdmissionControlFilter filter, String method, String path, String client,
+                                                Consumer<MockHttpServletRequest> customizer) throws Exception {
+        var request = new MockHttpServletRequest(method, path);
+        if (client != null) {
+            request.addHeader("X-Client-Id", client);
+        }
+        customizer.accept(request);
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
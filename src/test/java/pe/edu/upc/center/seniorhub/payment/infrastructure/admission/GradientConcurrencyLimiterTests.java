@@ -0,0 +1,81 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientConcurrencyLimiterTests {
+
+    @Test
+    void limitGrowsWhileLatencyHoldsAtTheBaseline() {
+        var limiter = limiter(10, 2, 100);
+
+        for (int i = 0; i < 10; i++) {
+            saturate(limiter, 10);
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(10);
+    }
+
+    @Test
+    void limitShrinksWhenRequestsStartQueueing() {
+        var limiter = limiter(20, 2, 100);
+        for (int i = 0; i < 5; i++) {
+            saturate(limiter, 10);
+        }
+        int beforeSlowdown = limiter.limit();
+
+        for (int i = 0; i < 20; i++) {
+            saturate(limiter, 100);
+        }
+
+        assertThat(limiter.limit()).isLessThan(beforeSlowdown / 2);
+        assertThat(limiter.limit()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void lightTrafficLeavesTheLimitAlone() {
+        var limiter = limiter(20, 2, 100);
+
+        // One request at a time never gets near the limit, whatever its latency
+        for (int i = 0; i < 50; i++) {
+            assertThat(limiter.tryAcquire(AdmissionPriority.READ)).isTrue();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(i % 2 == 0 ? 10 : 500));
+        }
+
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void bulkAndWritesGetOnlyTheirShareOfTheLimit() {
+        var limiter = limiter(10, 10, 10);
+
+        assertThat(acquireAll(limiter, AdmissionPriority.BULK)).isEqualTo(5);
+        assertThat(acquireAll(limiter, AdmissionPriority.WRITE)).isEqualTo(3);
+        assertThat(acquireAll(limiter, AdmissionPriority.READ)).isEqualTo(2);
+        assertThat(limiter.inFlight()).isEqualTo(10);
+    }
+
+    private static GradientConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new GradientConcurrencyLimiter(initialLimit, minLimit, maxLimit, 10, 1.5, 600, new SimpleMeterRegistry());
+    }
+
+    // Fills the current limit, then completes every request with the given latency
+    private static void saturate(GradientConcurrencyLimiter limiter, long rttMillis) {
+        int admitted = acquireAll(limiter, AdmissionPriority.READ);
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+        }
+    }
+
+    private static int acquireAll(GradientConcurrencyLimiter limiter, AdmissionPriority priority) {
+        int admitted = 0;
+        while (limiter.tryAcquire(priority)) {
+            admitted++;
+        }
+        return admitted;
+    }
+}
@@ -0,0 +1,41 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.aot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
+import pe.edu.upc.center.seniorhub.payment.interfaces.rest.resources.CreateReceiptResource;
+import pe.edu.upc.center.seniorhub.payment.shared.infrastructure.persistence.ReplicaDataSourceProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentRuntimeHintsTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new PaymentRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void persistentTypesAreOpenToHibernate() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Receipt.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ResidentId.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS))
+                .accepts(hints);
+    }
+
+    @Test
+    void manuallyBoundTypesAndMigrationsAreRegistered() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(CreateReceiptResource.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ReplicaDataSourceProperties.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/V1__create_receipt_schema.sql"))
+                .accepts(hints);
+    }
+}
@@ -0,0 +1,103 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.export;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.ReceiptExportRow;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.ReceiptRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = PaymentMicroserviceApplication.class)
+@ActiveProfiles("test")
+class ReceiptExporterTests {
+
+    @Autowired
+    private ReceiptExporter exporter;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${payment.receipts.export.directory}")
+    private Path directory;
+
+    @BeforeEach
+    void setUp() {
+        receiptRepository.deleteAllInBatch();
+        jdbcTemplate.update("delete from scheduler_lock");
+        // Five receipts with a row group size of 2: two full groups and a short last one
+        LongStream.rangeClosed(1, 5).forEach(residentId -> save(residentId, residentId == 3 ? "EXTRA, \"late\"" : "MONTHLY"));
+    }
+
+    @Test
+    void exportWritesCsvAndColumnarFilesWithEveryReceipt() throws Exception {
+        var result = exporter.export("full-export").orElseThrow();
+
+        assertThat(result.completed()).isTrue();
+        assertThat(result.resumed()).isFalse();
+        assertThat(result.rows()).isEqualTo(5);
+        var lines = Files.readAllLines(directory.resolve("full-export.csv"));
+        assertThat(lines).hasSize(6);
+        assertThat(lines.getFirst()).startsWith("receipt_id,issue_date,due_date,total_amount");
+        assertThat(lines.get(3)).endsWith(",\"EXTRA, \"\"late\"\"\"").contains(",2026-08-01,2026-08-31,100.00,0,3,,");
+        assertThat(readColumnar("full-export")).extracting(ReceiptExportRow::residentId)
+                .containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(readColumnar("full-export").get(2).type()).isEqualTo("EXTRA, \"late\"");
+        assertThat(directory.resolve("full-export.checkpoint")).doesNotExist();
+    }
+
+    @Test
+    void interruptedExportResumesFromItsCheckpoint() throws Exception {
+        var stopped = exporter.export("resumed-export", 1).orElseThrow();
+        assertThat(stopped.completed()).isFalse();
+        assertThat(stopped.rows()).isEqualTo(2);
+        assertThat(directory.resolve("resumed-export.checkpoint")).exists();
+
+        // Rows written after the checkpoint by a crashed run are discarded on resume
+        Files.writeString(directory.resolve("resumed-export.csv.part"), "garbage\r\n",
+                StandardOpenOption.APPEND);
+
+        var resumed = exporter.export("resumed-export").orElseThrow();
+        assertThat(resumed.completed()).isTrue();
+        assertThat(resumed.resumed()).isTrue();
+        assertThat(resumed.rows()).isEqualTo(5);
+        assertThat(Files.readAllLines(directory.resolve("resumed-export.csv")))
+                .hasSize(6)
+                .doesNotContain("garbage");
+        assertThat(readColumnar("resumed-export")).extracting(ReceiptExportRow::residentId)
+                .containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    private List<ReceiptExportRow> readColumnar(String name) throws Exception {
+        var rows = new ArrayList<ReceiptExportRow>();
+        ColumnarReceiptExportReader.read(directory.resolve(name + ".rcol"), rows::add);
+        return rows;
+    }
+
+    private void save(long residentId, String type) {
+        var issued = Date.valueOf(LocalDate.of(2026, 8, 1));
+        var due = Date.valueOf(LocalDate.of(2026, 8, 31));
+        receiptRepository.save(new Receipt(issued, due, Money.ofMinor(10_000), false, new ResidentId(residentId), null,
+                issued, Money.ZERO, 1L, type));
+    }
+}
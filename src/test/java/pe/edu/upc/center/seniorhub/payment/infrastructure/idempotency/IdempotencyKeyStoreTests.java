@@ -0,0 +1,68 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.IdempotencyKeyRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.IdempotencyRecord;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = PaymentMicroserviceApplication.class)
+@ActiveProfiles("test")
+class IdempotencyKeyStoreTests {
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private IdempotencyKeyStore idempotencyKeyStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from idempotency_key");
+    }
+
+    @Test
+    void liveKeyCannotBeClaimedTwice() {
+        var now = Instant.now();
+        assertThat(idempotencyKeyRepository.claim(hash(1), hash(10), now, now.plus(Duration.ofHours(1)))).isTrue();
+        idempotencyKeyRepository.complete(hash(1), new IdempotencyRecord(hash(10), 201, "{}", null));
+
+        assertThat(idempotencyKeyRepository.claim(hash(1), hash(11), now, now.plus(Duration.ofHours(1)))).isFalse();
+        var stored = idempotencyKeyRepository.find(hash(1), now);
+        assertThat(stored).isPresent();
+        assertThat(stored.get().matches(hash(10))).isTrue();
+        assertThat(stored.get().responseStatus()).isEqualTo(201);
+    }
+
+    @Test
+    void expiredKeyIsReclaimedAndPurged() {
+        var past = Instant.now().minus(Duration.ofDays(2));
+        idempotencyKeyRepository.claim(hash(1), hash(10), past, past.plus(Duration.ofHours(1)));
+        idempotencyKeyRepository.claim(hash(2), hash(20), past, past.plus(Duration.ofHours(1)));
+        assertThat(idempotencyKeyRepository.find(hash(1), Instant.now())).isEmpty();
+
+        var now = Instant.now();
+        assertThat(idempotencyKeyRepository.claim(hash(1), hash(11), now, now.plus(Duration.ofHours(1)))).isTrue();
+
+        idempotencyKeyStore.purgeExpired();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from idempotency_key", Long.class)).isEqualTo(1);
+    }
+
+    private static byte[] hash(int seed) {
+        var hash = new byte[32];
+        hash[0] = (byte) seed;
+        return hash;
+    }
+}
@@ -0,0 +1,123 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+import pe.edu.upc.center.seniorhub.payment.support.NotificationServiceStub;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = PaymentMicroserviceApplication.class)
+@ActiveProfiles("test")
+class BatchingNotificationSenderTests {
+
+    private static final NotificationServiceStub notificationService = NotificationServiceStub.start();
+
+    @DynamicPropertySource
+    static void notificationServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("services.notifications.url", notificationService::baseUrl);
+    }
+
+    @Autowired
+    private NotificationServiceClient notificationServiceClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        notificationService.reset();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        notificationService.close();
+    }
+
+    @Test
+    void messagesWithinTheWindowBecomeOneDigestPerUserAndSizeLimit() {
+        var sender = sender(Duration.ofMillis(200), 100, 100, 1);
+        try {
+            var results = IntStream.range(0, 25)
+                    .mapToObj(i -> sender.submit(i < 5 ? 1L : 2L, "message " + i, "key-" + i))
+                    .toList();
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+            assertThat(results).allSatisfy(result -> assertThat(result.join()).isTrue());
+            // User 1: one digest of 5; user 2: 20 messages split at the digest limit of 10
+            assertThat(notificationService.requests()).hasSize(3);
+            assertThat(notificationService.requests()).filteredOn(request -> request.body().contains("5 notifications:"))
+                    .hasSize(1);
+        } finally {
+            sender.shutdown();
+        }
+    }
+
+    @Test
+    void messageRedeliveredInAnotherDigestKeepsItsOwnDedupKey() throws Exception {
+        var sender = sender(Duration.ofMillis(200), 100, 100, 1);
+        try {
+            // First delivery succeeds, but the outbox never hears back and later retries receipt-created:1
+            sendAll(sender, "receipt-created:1", "receipt-created:2");
+            sendAll(sender, "receipt-created:1", "receipt-created:3");
+
+            var digests = notificationService.requests();
+            assertThat(digests).hasSize(2);
+            assertThat(digests).extracting(NotificationServiceStub.RecordedRequest::idempotencyKey).doesNotHaveDuplicates();
+            assertThat(itemKeys(digests.get(0))).containsExactly("receipt-created:1", "receipt-created:2");
+            assertThat(itemKeys(digests.get(1))).containsExactly("receipt-created:1", "receipt-created:3");
+        } finally {
+            sender.shutdown();
+        }
+    }
+
+    @Test
+    void fullQueueRejectsInsteadOfBufferingWithoutLimit() {
+        notificationService.withLatency(Duration.ofMillis(500));
+        var sender = sender(Duration.ZERO, 1, 2, 1);
+        try {
+            // One digest in flight, one held by the flusher waiting for the send permit, two queued
+            var results = IntStream.range(0, 6)
+                    .mapToObj(i -> sender.submit((long) i, "message " + i, "key-" + i))
+                    .toList();
+
+            assertThat(results).filteredOn(CompletableFuture::isCompletedExceptionally).isNotEmpty()
+                    .allSatisfy(result -> assertThat(result.exceptionNow()).isInstanceOf(RejectedExecutionException.class));
+        } finally {
+            sender.shutdown();
+        }
+    }
+
+    private static void sendAll(BatchingNotificationSender sender, String... dedupKeys) {
+        var results = Arrays.stream(dedupKeys).map(key -> sender.submit(1L, "message " + key, key)).toList();
+        assertThat(results).allSatisfy(result -> assertThat(result.join()).isTrue());
+    }
+
+    private List<String> itemKeys(NotificationServiceStub.RecordedRequest request) throws Exception {
+        var items = objectMapper.readTree(request.body()).get("items");
+        var keys = new ArrayList<String>();
+        items.forEach(item -> keys.add(item.get("dedupKey").asText()));
+        return keys;
+    }
+
+    private BatchingNotificationSender sender(Duration window, int maxBatchSize, int queueCapacity, int maxConcurrency) {
+        return new BatchingNotificationSender(notificationServiceClient, new SimpleMeterRegistry(), window, maxBatchSize,
+                10, queueCapacity, Duration.ofMillis(50), maxConcurrency, false);
+    }
+}
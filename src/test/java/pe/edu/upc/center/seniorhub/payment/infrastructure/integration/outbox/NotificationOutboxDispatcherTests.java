@@ -0,0 +1,125 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.integration.outbox;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.BulkCreateReceiptsCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
+import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptCommandService;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.NotificationOutboxRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.ReceiptRepository;
+import pe.edu.upc.center.seniorhub.payment.support.NotificationServiceStub;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = PaymentMicroserviceApplication.class)
+@ActiveProfiles("test")
+class NotificationOutboxDispatcherTests {
+
+    private static final NotificationServiceStub notificationService = NotificationServiceStub.start();
+
+    @DynamicPropertySource
+    static void notificationServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("services.notifications.url", notificationService::baseUrl);
+    }
+
+    @Autowired
+    private NotificationOutboxDispatcher dispatcher;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private ReceiptCommandService receiptCommandService;
+
+    @BeforeEach
+    void setUp() {
+        notificationService.reset();
+        outboxRepository.deleteAllInBatch();
+        receiptRepository.deleteAllInBatch();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        notificationService.close();
+    }
+
+    @Test
+    void createReceiptQueuesNotificationWithoutCallingTheService() {
+        receiptCommandService.handle(createCommand(7L));
+
+        assertThat(notificationService.requests()).isEmpty();
+        assertThat(outboxRepository.countByStatus(NotificationOutboxStatus.PENDING)).isEqualTo(1);
+    }
+
+    @Test
+    void dispatchBatchDeliversPendingEntriesOnce() {
+        var receiptId = receiptCommandService.handle(createCommand(7L)).orElseThrow().getId();
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(1);
+        assertThat(dispatcher.dispatchBatch()).isZero();
+
+        assertThat(notificationService.requests()).singleElement()
+                .satisfies(request -> assertThat(request.idempotencyKey()).isEqualTo("receipt-created:" + receiptId));
+        assertThat(outboxRepository.countByStatus(NotificationOutboxStatus.SENT)).isEqualTo(1);
+    }
+
+    @Test
+    void bulkRunIsCoalescedIntoOneDigestPerResident() {
+        var receipts = IntStream.range(0, 30).mapToObj(i -> createCommand(1L + i % 3)).toList();
+        receiptCommandService.handle(new BulkCreateReceiptsCommand(receipts));
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(30);
+
+        assertThat(notificationService.requests()).hasSize(3)
+                .allSatisfy(request -> {
+                    assertThat(request.body()).contains("10 notifications:");
+                    assertThat(request.idempotencyKey()).startsWith("digest:");
+                });
+        assertThat(outboxRepository.countByStatus(NotificationOutboxStatus.SENT)).isEqualTo(30);
+    }
+
+    @Test
+    void failedSendIsRescheduledWithBackoff() {
+        notificationService.respondWith(503);
+        receiptCommandService.handle(createCommand(7L));
+
+        dispatcher.dispatchBatch();
+        var entry = outboxRepository.findAll().get(0);
+        assertThat(entry.getStatus()).isEqualTo(NotificationOutboxStatus.PENDING);
+        assertThat(entry.getAttempts()).isEqualTo(1);
+        assertThat(entry.getNextAttemptAt()).isAfter(entry.getCreatedAt());
+
+        // Not due yet: the backoff keeps the entry out of the next batch
+        assertThat(dispatcher.dispatchBatch()).isZero();
+        assertThat(notificationService.requests()).hasSize(1);
+    }
+
+    @Test
+    void backoffGrowsExponentiallyUpToTheCap() {
+        assertThat(dispatcher.backoffFor(1)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(dispatcher.backoffFor(3)).isEqualTo(Duration.ofSeconds(20));
+        assertThat(dispatcher.backoffFor(30)).isEqualTo(Duration.ofMinutes(30));
+    }
+
+    private static CreateReceiptCommand createCommand(Long residentId) {
+        var today = new Date();
+        return new CreateReceiptCommand(today, today, Money.ofMinor(12_000), false, new ResidentId(residentId), null, today,
+                Money.ZERO, 1L, "MONTHLY");
+    }
+}
@@ -0,0 +1,100 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upgrades a database the way production has it before Flyway: only the receipt table that
+ * ddl-auto=update generated from the original Receipt entity, baselined at V1 by baseline-on-migrate.
+ * Every later migration must apply to it and end at the same schema a fresh database gets.
+ */
+class FlywayBaselineMigrationTests {
+
+    private static final String PRE_FLYWAY_SCHEMA = """
+            CREATE TABLE receipt (
+                id             BIGINT       NOT NULL AUTO_INCREMENT,
+                created_at     DATETIME(6)  NOT NULL,
+                updated_at     DATETIME(6)  NOT NULL,
+                issue_date     DATE         NOT NULL,
+                due_date       DATE         NOT NULL,
+                total_amount   FLOAT        NOT NULL,
+                status         BIT          NOT NULL,
+                resident_id    BIGINT       NOT NULL,
+                payment_id     BIGINT,
+                payment_date   DATE         NOT NULL,
+                amount_paid    FLOAT        NOT NULL,
+                payment_method BIGINT       NOT NULL,
+                type           VARCHAR(255) NOT NULL,
+                PRIMARY KEY (id)
+            )""";
+
+    @Test
+    void baselinedDatabaseReceivesEveryLaterMigration() {
+        var baselined = jdbcTemplate("payment_baselined");
+        baselined.execute(PRE_FLYWAY_SCHEMA);
+        baselined.update("""
+                INSERT INTO receipt (created_at, updated_at, issue_date, due_date, total_amount, status, resident_id,
+                                     payment_date, amount_paid, payment_method, type)
+                VALUES (CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, DATE '2026-08-01', DATE '2026-08-31', 100.1, TRUE, 7,
+                        DATE '2026-08-05', 100.1, 1, 'MONTHLY')""");
+
+        var result = flyway(baselined).migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(result.migrations).extracting(migration -> migration.version).first().isEqualTo("2");
+        assertThat(baselined.queryForObject("select total_amount_minor from receipt", Long.class)).isEqualTo(10010L);
+        assertThat(baselined.queryForObject("select unpaid_count from resident_receipt_summary where resident_id = 7",
+                Long.class)).isZero();
+        assertThat(baselined.queryForObject("select count(*) from notification_outbox", Long.class)).isZero();
+    }
+
+    @Test
+    void baselinedAndFreshDatabasesEndWithTheSameSchema() {
+        var baselined = jdbcTemplate("payment_baselined_schema");
+        baselined.execute(PRE_FLYWAY_SCHEMA);
+        flyway(baselined).migrate();
+
+        var fresh = jdbcTemplate("payment_fresh_schema");
+        flyway(fresh).migrate();
+
+        assertThat(columns(baselined)).isNotEmpty().isEqualTo(columns(fresh));
+        assertThat(indexes(baselined)).contains("receipt.idx_receipt_resident_issue_date").isEqualTo(indexes(fresh));
+    }
+
+    private static JdbcTemplate jdbcTemplate(String database) {
+        var url = "jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+
+    // Same settings as spring.flyway.* in application.properties
+    private static Flyway flyway(JdbcTemplate jdbcTemplate) {
+        return Flyway.configure()
+                .dataSource(jdbcTemplate.getDataSource())
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    private static List<String> columns(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForList("""
+                select table_name || '.' || column_name || ' ' || data_type || ' ' || is_nullable
+                from information_schema.columns
+                where table_schema = 'public' and table_name <> 'flyway_schema_history'
+                order by table_name, column_name""", String.class);
+    }
+
+    private static List<String> indexes(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForList("""
+                select table_name || '.' || index_name
+                from information_schema.indexes
+                where table_schema = 'public' and table_name <> 'flyway_schema_history'
+                  and index_name not like 'primary_key%'
+                order by table_name, index_name""", String.class);
+    }
+}
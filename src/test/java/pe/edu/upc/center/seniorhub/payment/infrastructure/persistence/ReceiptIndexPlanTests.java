@@ -0,0 +1,66 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the embedded database (schema built by the Flyway migrations) for each receipt access path
+ * and checks the planner picks an index instead of a table scan.
+ */
+@SpringBootTest(classes = PaymentMicroserviceApplication.class)
+@ActiveProfiles("test")
+class ReceiptIndexPlanTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void residentLookupUsesAnIndex() {
+        assertThat(explain("select * from receipt where resident_id = 7"))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void residentAndIssueDateLookupUsesCompositeIndex() {
+        assertThat(explain("select * from receipt where resident_id = 7 and issue_date >= date '2026-01-01'"))
+                .contains("idx_receipt_resident_issue_date")
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void issueDateLookupUsesIssueDateIndex() {
+        assertThat(explain("select 1 from receipt where issue_date = date '2026-01-01' limit 1"))
+                .contains("idx_receipt_issue_date");
+    }
+
+    @Test
+    void paymentDateLookupUsesPaymentDateIndex() {
+        assertThat(explain("select * from receipt where payment_date = date '2026-01-01'"))
+                .contains("idx_receipt_payment_date");
+    }
+
+    @Test
+    void overdueScanUsesStatusDueDateIndex() {
+        assertThat(explain("select * from receipt where status = false and due_date < date '2026-01-01'"))
+                .contains("idx_receipt_status_due_date");
+    }
+
+    @Test
+    void paymentDateRangeSearchUsesPaymentDateIndex() {
+        assertThat(explain("""
+                select id, payment_date from receipt
+                where payment_date between date '2026-01-01' and date '2026-01-31'
+                order by payment_date, id limit 100"""))
+                .contains("idx_receipt_payment_date");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class).toLowerCase();
+    }
+}
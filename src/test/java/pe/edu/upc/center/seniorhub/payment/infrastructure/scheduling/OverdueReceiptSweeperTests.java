@@ -0,0 +1,126 @@
+package pe.edu.upc.center.seniorhub.payment.infrastructure.scheduling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.integration.outbox.NotificationOutboxEntry;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.OverdueReceipt;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jdbc.OverdueReceiptRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.NotificationOutboxRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.ReceiptRepository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = PaymentMicroserviceApplication.class)
+@ActiveProfiles("test")
+class OverdueReceiptSweeperTests {
+
+    @Autowired
+    private OverdueReceiptSweeper sweeper;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private OverdueReceiptRepository overdueReceiptRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAllInBatch();
+        receiptRepository.deleteAllInBatch();
+        jdbcTemplate.update("delete from scheduler_lock");
+        var today = LocalDate.now();
+        // Five overdue and unpaid, spread over two due dates so chunks split inside a date
+        LongStream.rangeClosed(1, 5).forEach(residentId ->
+                save(residentId, today.minusDays(residentId % 2 + 1), false));
+        save(6L, today.minusDays(3), true);
+        save(7L, today, false);
+        save(8L, today.plusDays(5), false);
+    }
+
+    @Test
+    void sweepMarksOverdueReceiptsOnceAndQueuesReminders() {
+        sweeper.sweep();
+
+        assertThat(jdbcTemplate.queryForList("select resident_id from receipt where overdue_at is not null order by resident_id",
+                Long.class)).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(outboxRepository.findAll()).extracting(NotificationOutboxEntry::getUserId)
+                .containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        assertThat(outboxRepository.findAll()).allMatch(entry -> entry.getDedupKey().startsWith("receipt-overdue:")
+                && entry.getMessage().contains("outstanding=100.00"));
+
+        sweeper.sweep();
+        assertThat(outboxRepository.count()).isEqualTo(5);
+    }
+
+    @Test
+    void remarkingReceiptsDoesNotQueueTheirRemindersTwice() {
+        sweeper.sweep();
+        var firstIds = outboxRepository.findAll().stream().map(NotificationOutboxEntry::getId).toList();
+
+        // Reminders already queued under the same dedup keys are skipped instead of failing the chunk
+        jdbcTemplate.update("update receipt set overdue_at = null");
+        sweeper.sweep();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from receipt where overdue_at is not null", Long.class))
+                .isEqualTo(5L);
+        assertThat(outboxRepository.findAll()).extracting(NotificationOutboxEntry::getId)
+                .containsExactlyInAnyOrderElementsOf(firstIds);
+    }
+
+    @Test
+    void receiptPaidAfterItWasReadIsNotMarked() {
+        var candidates = overdueReceiptRepository.findUnmarked(LocalDate.now(), null, 10);
+        assertThat(candidates).hasSize(5);
+
+        // Candidates are read without locks, so a payment can land before the guarded update
+        jdbcTemplate.update("update receipt set status = true where resident_id = 1");
+        var marked = overdueReceiptRepository.markOverdue(candidates.stream().map(OverdueReceipt::receiptId).toList(),
+                Instant.now().truncatedTo(ChronoUnit.MICROS));
+
+        assertThat(marked).extracting(OverdueReceipt::residentId).containsExactlyInAnyOrder(2L, 3L, 4L, 5L);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from receipt where overdue_at is not null", Long.class))
+                .isEqualTo(4L);
+    }
+
+    @Test
+    void sweepIsSkippedWhileAnotherReplicaHoldsTheLock() {
+        var now = Instant.now();
+        jdbcTemplate.update("insert into scheduler_lock (name, locked_by, locked_at, locked_until) values (?, ?, ?, ?)",
+                OverdueReceiptSweeper.LOCK_NAME, "other-replica", Timestamp.from(now),
+                Timestamp.from(now.plus(5, ChronoUnit.MINUTES)));
+
+        sweeper.sweep();
+        assertThat(outboxRepository.count()).isZero();
+
+        jdbcTemplate.update("update scheduler_lock set locked_until = ?", Timestamp.from(now.minusSeconds(1)));
+        sweeper.sweep();
+        assertThat(outboxRepository.count()).isEqualTo(5);
+    }
+
+    private void save(long residentId, LocalDate dueDate, boolean paid) {
+        var due = Date.valueOf(dueDate);
+        receiptRepository.save(new Receipt(due, due, Money.ofMinor(10_000), paid, new ResidentId(residentId), null, due,
+                paid ? Money.ofMinor(10_000) : Money.ZERO, 1L, "MONTHLY"));
+    }
+}
@@ -0,0 +1,321 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest;
+
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.idempotency.IdempotentRequestExecutor;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.NotificationOutboxRepository;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.ReceiptRepository;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = PaymentMicroserviceApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReceiptControllerTests {
+
+    private static final String UPDATE_BODY = """
+            {"issueDate":"2026-10-01","dueDate":"2026-10-31","totalAmount":75.0,"status":false,"residentId":1,
+             "paymentDate":"2026-10-01","amountPaid":0.0,"paymentMethod":1,"type":"MONTHLY"}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        receiptRepository.deleteAllInBatch();
+        var today = new Date();
+        LongStream.rangeClosed(1, 5).forEach(residentId -> receiptRepository.save(
+                new Receipt(today, today, Money.ofMinor(10_000), false, new ResidentId(residentId), null, today, Money.ZERO, 1L, "MONTHLY")));
+    }
+
+    @Test
+    void getAllReceiptsWalksPagesWithCursor() throws Exception {
+        var firstPage = mockMvc.perform(get("/api/v1/receipts").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(header().exists(ReceiptController.NEXT_CURSOR_HEADER))
+                .andReturn();
+
+        var cursor = firstPage.getResponse().getHeader(ReceiptController.NEXT_CURSOR_HEADER);
+        mockMvc.perform(get("/api/v1/receipts").param("size", "3").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().doesNotExist(ReceiptController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAllReceiptsRejectsMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/receipts").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchFiltersSortsAndWalksPagesWithoutLoadingEntities() throws Exception {
+        receiptRepository.deleteAllInBatch();
+        LongStream.rangeClosed(1, 6).forEach(residentId -> receiptRepository.save(new Receipt(
+                date("2026-09-01"), date("2026-10-0" + (residentId % 3 + 1)), Money.ofMinor(residentId * 1_000),
+                residentId % 2 == 0, new ResidentId(residentId), null, date("2026-09-0" + residentId),
+                Money.ZERO, 1L, "MONTHLY")));
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var firstPage = mockMvc.perform(get("/api/v1/receipts/search")
+                        .param("status", "false")
+                        .param("minTotalAmount", "10.00")
+                        .param("sort", "dueDate,desc")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].residentId").value(5))
+                .andExpect(jsonPath("$[1].residentId").value(1))
+                .andExpect(jsonPath("$[0].totalAmount").value(50.0))
+                .andReturn();
+        var cursor = firstPage.getResponse().getHeader(ReceiptController.NEXT_CURSOR_HEADER);
+        mockMvc.perform(get("/api/v1/receipts/search")
+                        .param("status", "false")
+                        .param("minTotalAmount", "10.00")
+                        .param("sort", "dueDate,desc")
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].residentId").value(3))
+                .andExpect(header().doesNotExist(ReceiptController.NEXT_CURSOR_HEADER));
+
+        mockMvc.perform(get("/api/v1/receipts/search")
+                        .param("paymentDateFrom", "2026-09-02")
+                        .param("paymentDateTo", "2026-09-04")
+                        .param("maxTotalAmount", "30"))
+                .andExpect(jsonPath("$[*].residentId").value(contains(2, 3)));
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void searchRejectsInvalidCriteria() throws Exception {
+        mockMvc.perform(get("/api/v1/receipts/search").param("sort", "residentName"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/receipts/search").param("minTotalAmount", "1.005"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/receipts/search").param("dueDateFrom", "2026-10-02").param("dueDateTo", "2026-10-01"))
+                .andExpect(status().isBadRequest());
+
+        var cursor = mockMvc.perform(get("/api/v1/receipts/search").param("size", "1"))
+                .andReturn().getResponse().getHeader(ReceiptController.NEXT_CURSOR_HEADER);
+        mockMvc.perform(get("/api/v1/receipts/search").param("sort", "dueDate").param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamAllReceiptsWritesOneLinePerReceipt() throws Exception {
+        var asyncResult = mockMvc.perform(get("/api/v1/receipts/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(5).allMatch(line -> line.startsWith("{\"receiptId\":"));
+    }
+
+    @Test
+    void createReceiptsInBulkReportsEachItem() throws Exception {
+        var body = """
+                [
+                  {"issueDate":"2026-10-01","dueDate":"2026-10-31","totalAmount":80.0,"status":false,"residentId":10,
+                   "paymentDate":"2026-10-01","amountPaid":0.0,"paymentMethod":1,"type":"MONTHLY"},
+                  {"issueDate":"2026-10-01","dueDate":"2026-10-31","totalAmount":80.0,"status":false,"residentId":1,
+                   "paymentDate":"2026-10-01","amountPaid":0.0,"paymentMethod":1,"type":"MONTHLY"},
+                  {"issueDate":"2026-10-01","dueDate":"2026-10-31","totalAmount":80.0,"status":false,"residentId":0,
+                   "paymentDate":"2026-10-01","amountPaid":0.0,"paymentMethod":1,"type":"MONTHLY"},
+                  {"issueDate":"2026-10-01","dueDate":"2026-10-31","totalAmount":80.0,"status":false,"residentId":10,
+                   "paymentDate":"2026-10-01","amountPaid":0.0,"paymentMethod":1,"type":"MONTHLY"}
+                ]""";
+
+        mockMvc.perform(post("/api/v1/receipts/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(3))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[1].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[2].status").value("REJECTED"))
+                .andExpect(jsonPath("$.items[3].status").value("CREATED"));
+
+        assertThat(receiptRepository.count()).isEqualTo(8);
+    }
+
+    @Test
+    void createReceiptsInBulkAcceptsNdjson() throws Exception {
+        var body = """
+                {"issueDate":"2026-10-01","dueDate":"2026-10-31","totalAmount":80.0,"status":false,"residentId":20,"paymentDate":"2026-10-01","amountPaid":0.0,"paymentMethod":1,"type":"MONTHLY"}
+                {"issueDate":"2026-10-01","dueDate":"2026-10-31","totalAmount":80.0,"status":false,"residentId":21,"paymentDate":"2026-10-01","amountPaid":0.0,"paymentMethod":1,"type":"MONTHLY"}
+                """;
+
+        mockMvc.perform(post("/api/v1/receipts/bulk").contentType(ReceiptController.NDJSON_MEDIA_TYPE).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.items[1].receiptId").isNumber());
+    }
+
+    @Test
+    void createReceiptWithIdempotencyKeyRunsOnce() throws Exception {
+        outboxRepository.deleteAllInBatch();
+        var idempotencyKey = UUID.randomUUID().toString();
+        var body = """
+                {"issueDate":"2026-10-01","dueDate":"2026-10-31","totalAmount":80.0,"status":false,"residentId":1,
+                 "paymentDate":"2026-10-01","amountPaid":0.0,"paymentMethod":1,"type":"MONTHLY"}""";
+
+        var created = mockMvc.perform(post("/api/v1/receipts").header(IdempotentRequestExecutor.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotentRequestExecutor.REPLAYED_HEADER))
+                .andReturn().getResponse().getContentAsString();
+        Integer receiptId = JsonPath.read(created, "$.receiptId");
+
+        for (int retry = 0; retry < 3; retry++) {
+            mockMvc.perform(post("/api/v1/receipts").header(IdempotentRequestExecutor.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string(IdempotentRequestExecutor.REPLAYED_HEADER, "true"))
+                    .andExpect(jsonPath("$.receiptId").value(receiptId))
+                    .andExpect(jsonPath("$.totalAmount").value(80.0));
+        }
+        mockMvc.perform(post("/api/v1/receipts").header(IdempotentRequestExecutor.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON).content(body.replace("80.0", "90.0")))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertThat(receiptRepository.count()).isEqualTo(6);
+        assertThat(outboxRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordPaymentAddsToAmountPaidOnce() throws Exception {
+        var receiptId = receiptRepository.findAll().getFirst().getId();
+        var idempotencyKey = UUID.randomUUID().toString();
+        var payment = """
+                {"amount":40.00,"paymentId":7,"paymentDate":"2026-10-05","paymentMethod":2}""";
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(patch("/api/v1/receipts/{receiptId}/payments", receiptId)
+                            .header(IdempotentRequestExecutor.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                            .contentType(MediaType.APPLICATION_JSON).content(payment))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                    .andExpect(jsonPath("$.amountPaid").value(40.0))
+                    .andExpect(jsonPath("$.status").value(false));
+        }
+        mockMvc.perform(patch("/api/v1/receipts/{receiptId}/payments", receiptId).header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(payment.replace("40.00", "60.00")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.amountPaid").value(100.0))
+                .andExpect(jsonPath("$.status").value(true))
+                .andExpect(jsonPath("$.paymentMethod").value(2));
+
+        mockMvc.perform(patch("/api/v1/receipts/{receiptId}/payments", receiptId)
+                        .contentType(MediaType.APPLICATION_JSON).content(payment.replace("40.00", "0.01")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/v1/receipts/{receiptId}/payments", receiptId).header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(payment))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/v1/receipts/{receiptId}/payments", receiptId + 1000)
+                        .contentType(MediaType.APPLICATION_JSON).content(payment))
+                .andExpect(status().isNotFound());
+        assertThat(receiptRepository.findById(receiptId).orElseThrow().getAmountPaid()).isEqualTo(Money.ofMinor(10_000));
+    }
+
+    @Test
+    void getReceiptRevalidatesWithETag() throws Exception {
+        var receiptId = receiptRepository.findAll().getFirst().getId();
+        var eTag = mockMvc.perform(get("/api/v1/receipts/{receiptId}", receiptId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/receipts/{receiptId}", receiptId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/api/v1/receipts/{receiptId}", receiptId).contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE_BODY))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/receipts/{receiptId}", receiptId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    void getReceiptsByResidentRevalidatesWithETag() throws Exception {
+        var eTag = mockMvc.perform(get("/api/v1/receipts/resident/{residentId}", 1))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+
+        mockMvc.perform(get("/api/v1/receipts/resident/{residentId}", 1).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/receipts/resident/{residentId}", 99).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void updateReceiptHonoursIfMatch() throws Exception {
+        var receiptId = receiptRepository.findAll().getFirst().getId();
+        var eTag = mockMvc.perform(get("/api/v1/receipts/{receiptId}", receiptId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        var newETag = mockMvc.perform(put("/api/v1/receipts/{receiptId}", receiptId).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalAmount").value(75.0))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isNotEqualTo(eTag);
+
+        // A second writer still holding the old ETag must not overwrite the first one's change
+        mockMvc.perform(put("/api/v1/receipts/{receiptId}", receiptId).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/v1/receipts/{receiptId}", receiptId).header(HttpHeaders.IF_MATCH, "W/" + newETag)
+                        .contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private static Date date(String isoDate) {
+        return java.sql.Date.valueOf(LocalDate.parse(isoDate));
+    }
+}
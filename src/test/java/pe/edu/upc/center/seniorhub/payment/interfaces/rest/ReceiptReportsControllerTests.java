@@ -0,0 +1,187 @@
+package pe.edu.upc.center.seniorhub.payment.interfaces.rest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+import pe.edu.upc.center.seniorhub.payment.application.internal.eventhandlers.ResidentReceiptSummaryProjector;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.ReceiptRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = PaymentMicroserviceApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReceiptReportsControllerTests {
+
+    private static final String RECEIPT_JSON = """
+            {"issueDate":"%s","dueDate":"%s","totalAmount":%s,"status":%s,"residentId":%d,
+             "paymentDate":"%s","amountPaid":%s,"paymentMethod":%d,"type":"%s"}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ResidentReceiptSummaryProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        receiptRepository.deleteAllInBatch();
+        jdbcTemplate.update("delete from resident_receipt_summary");
+        jdbcTemplate.update("delete from receipt_collection_summary");
+    }
+
+    @Test
+    void balancesAndCollectionsFollowCreateUpdateAndDelete() throws Exception {
+        create(receipt(1, "2026-08-05", "100.1", "0.0", false, 1, "MONTHLY", "2026-08-31"));
+        create(receipt(2, "2026-08-10", "80.0", "80.0", true, 2, "MONTHLY", "2026-08-31"));
+        var bulk = "[" + receipt(3, "2026-09-03", "50.0", "20.0", false, 1, "EXTRA", "2026-09-30") + ","
+                + receipt(4, "2026-09-04", "60.0", "60.0", true, 1, "EXTRA", "2026-09-30") + "]";
+        mockMvc.perform(post("/api/v1/receipts/bulk").contentType(MediaType.APPLICATION_JSON).content(bulk))
+                .andExpect(jsonPath("$.created").value(2));
+
+        // Resident 1 pays in full in September; resident 4's receipt is removed
+        var residentOneReceipt = receiptRepository.findAll().stream()
+                .filter(receipt -> receipt.getResidentId().getValue() == 1L).findFirst().orElseThrow();
+        mockMvc.perform(put("/api/v1/receipts/" + residentOneReceipt.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(receipt(1, "2026-09-15", "100.1", "100.1", true, 2, "MONTHLY", "2026-08-31")))
+                .andExpect(status().isOk());
+        var residentFourReceipt = receiptRepository.findAll().stream()
+                .filter(receipt -> receipt.getResidentId().getValue() == 4L).findFirst().orElseThrow();
+        mockMvc.perform(delete("/api/v1/receipts/" + residentFourReceipt.getId()))
+                .andExpect(status().isNoContent());
+
+        // Balances come from the asynchronously projected read model
+        projector.flush();
+        mockMvc.perform(get("/api/v1/receipts/reports/balances"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].residentId").value(1))
+                .andExpect(jsonPath("$[0].amountPaid").value(100.1))
+                .andExpect(jsonPath("$[0].outstanding").value(0.0));
+        mockMvc.perform(get("/api/v1/receipts/reports/balances").param("outstandingOnly", "true"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].residentId").value(3))
+                .andExpect(jsonPath("$[0].outstanding").value(30.0));
+
+        mockMvc.perform(get("/api/v1/receipts/reports/collections")
+                        .param("from", "2026-08").param("to", "2026-09").param("groupBy", "period"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].period").value("2026-08"))
+                .andExpect(jsonPath("$[0].receiptCount").value(1))
+                .andExpect(jsonPath("$[0].amountCollected").value(80.0))
+                .andExpect(jsonPath("$[0].type").doesNotExist())
+                .andExpect(jsonPath("$[1].period").value("2026-09"))
+                .andExpect(jsonPath("$[1].receiptCount").value(2))
+                .andExpect(jsonPath("$[1].amountCollected").value(120.1));
+        mockMvc.perform(get("/api/v1/receipts/reports/collections")
+                        .param("from", "2026-08").param("to", "2026-09").param("groupBy", "paymentMethod"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].paymentMethod").value(2))
+                .andExpect(jsonPath("$[1].amountCollected").value(180.1));
+
+        assertSummariesMatchReceipts();
+    }
+
+    @Test
+    void overdueTotalsCountUnpaidReceiptsDueBeforeReferenceDate() throws Exception {
+        create(receipt(1, "2026-08-05", "100.0", "40.0", false, 1, "MONTHLY", "2026-08-31"));
+        create(receipt(2, "2026-08-05", "100.0", "0.0", false, 1, "MONTHLY", "2026-10-31"));
+        create(receipt(3, "2026-08-05", "100.0", "100.0", true, 1, "MONTHLY", "2026-08-31"));
+
+        mockMvc.perform(get("/api/v1/receipts/reports/overdue").param("asOf", "2026-09-15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].type").value("MONTHLY"))
+                .andExpect(jsonPath("$[0].receiptCount").value(1))
+                .andExpect(jsonPath("$[0].outstanding").value(60.0));
+    }
+
+    @Test
+    void collectionsRejectInvalidRangeAndGrouping() throws Exception {
+        mockMvc.perform(get("/api/v1/receipts/reports/collections").param("from", "2026-09").param("to", "2026-08"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/receipts/reports/collections").param("groupBy", "resident"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void create(String body) throws Exception {
+        mockMvc.perform(post("/api/v1/receipts").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+    }
+
+    private static String receipt(long residentId, String paymentDate, String totalAmount, String amountPaid,
+                                  boolean status, long paymentMethod, String type, String dueDate) {
+        return RECEIPT_JSON.formatted("2026-08-01", dueDate, totalAmount, status, residentId, paymentDate, amountPaid,
+                paymentMethod, type);
+    }
+
+    @Test
+    void residentSummaryIsProjectedAndRebuiltFromReceipts() throws Exception {
+        create(receipt(7, "2026-08-05", "100.0", "40.0", false, 1, "MONTHLY", "2026-08-31"));
+        create(receipt(7, "2026-09-05", "50.0", "50.0", true, 1, "EXTRA", "2026-09-30"));
+        projector.flush();
+
+        mockMvc.perform(get("/api/v1/receipts/resident/7/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receiptCount").value(2))
+                .andExpect(jsonPath("$.unpaidCount").value(1))
+                .andExpect(jsonPath("$.amountPaid").value(90.0))
+                .andExpect(jsonPath("$.outstanding").value(60.0))
+                .andExpect(jsonPath("$.nextDueDate").exists())
+                .andExpect(jsonPath("$.refreshedAt").exists());
+        mockMvc.perform(get("/api/v1/receipts/resident/8/summary"))
+                .andExpect(status().isNotFound());
+
+        // Drift the model behind the projector's back; a replay from the receipts restores it
+        jdbcTemplate.update("update resident_receipt_summary set amount_paid_minor = 0 where resident_id = 7");
+        jdbcTemplate.update("""
+                insert into resident_receipt_summary (resident_id, receipt_count, unpaid_count, total_amount_minor,
+                                                      amount_paid_minor, refreshed_at)
+                values (8, 1, 1, 10000, 0, timestamp '2020-01-01 00:00:00')""");
+        mockMvc.perform(post("/api/v1/receipts/reports/balances/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.residentsProjected").value(1));
+        mockMvc.perform(get("/api/v1/receipts/resident/7/summary"))
+                .andExpect(jsonPath("$.amountPaid").value(90.0));
+        mockMvc.perform(get("/api/v1/receipts/resident/8/summary"))
+                .andExpect(status().isNotFound());
+        assertSummariesMatchReceipts();
+    }
+
+    // The projected rows must equal a full GROUP BY over the receipts, to the cent
+    private void assertSummariesMatchReceipts() {
+        var balances = jdbcTemplate.queryForList("""
+                select resident_id, receipt_count, total_amount_minor, amount_paid_minor
+                from resident_receipt_summary order by resident_id""");
+        var expectedBalances = jdbcTemplate.queryForList("""
+                select resident_id, count(*) as receipt_count, sum(total_amount_minor) as total_amount_minor,
+                       sum(amount_paid_minor) as amount_paid_minor
+                from receipt group by resident_id order by resident_id""");
+        assertThat(balances).hasSameSizeAs(expectedBalances);
+        for (int i = 0; i < balances.size(); i++) {
+            for (var column : List.of("resident_id", "receipt_count", "total_amount_minor", "amount_paid_minor")) {
+                assertThat(((Number) balances.get(i).get(column)).longValue())
+                        .as(column)
+                        .isEqualTo(((Number) expectedBalances.get(i).get(column)).longValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package pe.edu.upc.center.seniorhub.payment.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the notification service. Records every request it receives and can be told to
+ * answer slowly or with an error status.
+ */
+public class NotificationServiceStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final List<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger responseStatus = new AtomicInteger(201);
+    private volatile Duration latency = Duration.ZERO;
+
+    private NotificationServiceStub(HttpServer server) {
+        this.server = server;
+    }
+
+    public static NotificationServiceStub start() {
+        try {
+            var server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            var stub = new NotificationServiceStub(server);
+            server.createContext("/api/v1/notifications", stub::handle);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start notification service stub", e);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            var body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            requests.add(new RecordedRequest(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                    exchange.getRequestHeaders().getFirst("Idempotency-Key"), body));
+            if (!latency.isZero()) {
+                Thread.sleep(latency);
+            }
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public List<RecordedRequest> requests() {
+        return List.copyOf(requests);
+    }
+
+    public void respondWith(int status) {
+        responseStatus.set(status);
+    }
+
+    public void withLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public void reset() {
+        requests.clear();
+        responseStatus.set(201);
+        latency = Duration.ZERO;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    public record RecordedRequest(String method, String path, String idempotencyKey, String body) {}
+}
@@ -0,0 +1,113 @@
+package pe.edu.upc.center.seniorhub.payment.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Local stand-in for the residents service's {@code GET /api/v1/residents?ids=...}. Answers with the
+ * registered residents among the requested ids and records the ids of every request.
+ */
+public class ResidentServiceStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Set<Long> residents = ConcurrentHashMap.newKeySet();
+    private final List<List<Long>> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger responseStatus = new AtomicInteger(200);
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Runnable onRequest = () -> {};
+
+    private ResidentServiceStub(HttpServer server) {
+        this.server = server;
+    }
+
+    public static ResidentServiceStub start() {
+        try {
+            var server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            var stub = new ResidentServiceStub(server);
+            server.createContext("/api/v1/residents", stub::handle);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start residents service stub", e);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            var query = exchange.getRequestURI().getQuery();
+            var ids = query == null || !query.startsWith("ids=") ? List.<Long>of()
+                    : Arrays.stream(query.substring(4).split(",")).map(Long::valueOf).toList();
+            requests.add(ids);
+            onRequest.run();
+            if (!latency.isZero()) {
+                Thread.sleep(latency);
+            }
+            if (responseStatus.get() != 200) {
+                exchange.sendResponseHeaders(responseStatus.get(), -1);
+                return;
+            }
+            var body = ids.stream()
+                    .filter(residents::contains)
+                    .map(id -> "{\"id\":" + id + ",\"name\":\"Resident " + id + "\"}")
+                    .collect(Collectors.joining(",", "[", "]"))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void register(Long... residentIds) {
+        residents.addAll(Arrays.asList(residentIds));
+    }
+
+    public List<List<Long>> requests() {
+        return List.copyOf(requests);
+    }
+
+    public void respondWith(int status) {
+        responseStatus.set(status);
+    }
+
+    public void withLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    /** Runs {@code hook} on the stub's thread while each request is being answered. */
+    public void onRequest(Runnable hook) {
+        this.onRequest = hook;
+    }
+
+    public void reset() {
+        residents.clear();
+        requests.clear();
+        responseStatus.set(200);
+        latency = Duration.ZERO;
+        onRequest = () -> {};
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,89 @@
+package pe.edu.upc.center.seniorhub.payment.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every statement executed through the {@code dataSource} bean, whether it comes from Hibernate or a
+ * JdbcTemplate. A batch counts once, as one round trip. Only statements run on the thread that last called
+ * {@link #reset()} are recorded, so asynchronous projections and scheduled jobs do not disturb the counts.
+ * Add it to a test context with {@code @Import(StatementCounter.class)}.
+ */
+public class StatementCounter implements BeanPostProcessor {
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+    private volatile Thread recordedThread;
+
+    /** Clears the recorded statements and starts recording those of the calling thread. */
+    public void reset() {
+        statements.clear();
+        recordedThread = Thread.currentThread();
+    }
+
+    /** The SQL of each statement executed since {@link #reset()}, in order. */
+    public List<String> statements() {
+        return List.copyOf(statements);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return proxy(Connection.class, super.getConnection(), null);
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return proxy(Connection.class, super.getConnection(username, password), null);
+                }
+            };
+        }
+        return bean;
+    }
+
+    private <T> T proxy(Class<T> type, T target, String sql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            var result = invoke(method, target, args);
+            if (result instanceof Statement statement && method.getName().matches("prepareStatement|prepareCall|createStatement")) {
+                return proxy(statementType(method), statement, args != null && args.length > 0 ? (String) args[0] : null);
+            }
+            if (target instanceof Statement && method.getName().startsWith("execute")) {
+                record(args != null && args.length > 0 && args[0] instanceof String executed ? executed : sql);
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Statement> statementType(Method method) {
+        return (Class<Statement>) method.getReturnType();
+    }
+
+    private void record(String sql) {
+        if (Thread.currentThread() == recordedThread) {
+            statements.add(sql);
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = PaymentMicroserviceApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsConfigTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusEndpointExposesEndpointHandlerRepositoryAndPoolMetrics() throws Exception {
+        mockMvc.perform(get("/api/v1/receipts")).andExpect(status().isOk());
+
+        var scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("payment_receipt_queries_seconds_count{application=\"payment-service\"")
+                .contains("query=\"page\"")
+                .contains("spring_data_repository_invocations_seconds_count")
+                .contains("hikaricp_connections_pending")
+                .contains("jvm_gc_max_data_size_bytes");
+    }
+}
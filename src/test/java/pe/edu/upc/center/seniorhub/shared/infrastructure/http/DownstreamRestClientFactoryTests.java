@@ -0,0 +1,95 @@
+package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.http;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import pe.edu.upc.center.seniorhub.payment.support.NotificationServiceStub;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DownstreamRestClientFactoryTests {
+
+    private NotificationServiceStub notificationService;
+    private SimpleMeterRegistry meterRegistry;
+    private DownstreamRestClientFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = NotificationServiceStub.start();
+        meterRegistry = new SimpleMeterRegistry();
+        var source = new MapConfigurationPropertySource(Map.of(
+                "services.notifications.url", notificationService.baseUrl(),
+                // Leaves room for the cold first call of a loaded test JVM, still well under the slow stub's latency
+                "services.notifications.read-timeout", "PT1S",
+                "services.notifications.circuit-breaker.sliding-window-size", "4",
+                "services.notifications.circuit-breaker.minimum-number-of-calls", "4"));
+        var services = new Binder(source)
+                .bind("services", Bindable.mapOf(String.class, DownstreamServiceProperties.class))
+                .get();
+        factory = new DownstreamRestClientFactory(services, meterRegistry, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationService.close();
+    }
+
+    @Test
+    void bindsDefaultsForUnsetProperties() {
+        var properties = factory.properties("notifications");
+
+        assertThat(properties.readTimeout()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(properties.connectTimeout()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(properties.bulkhead().maxConcurrentCalls()).isEqualTo(20);
+        assertThat(properties.resolvedHttpVersion()).isEqualTo(HttpClient.Version.HTTP_1_1);
+    }
+
+    @Test
+    void recordsLatencyPerServiceAndOutcome() {
+        factory.restClient("notifications").post().uri("/api/v1/notifications").retrieve().toBodilessEntity();
+
+        var timer = meterRegistry.get(DownstreamCallInterceptor.METER_NAME)
+                .tags("service", "notifications", "outcome", "SUCCESS").timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void readTimeoutBoundsSlowCalls() {
+        notificationService.withLatency(Duration.ofSeconds(2));
+
+        assertThatThrownBy(() -> factory.restClient("notifications").post().uri("/api/v1/notifications")
+                .retrieve().toBodilessEntity())
+                .isInstanceOf(ResourceAccessException.class);
+    }
+
+    @Test
+    void circuitOpensAfterRepeatedServerErrors() {
+        notificationService.respondWith(503);
+        var client = factory.restClient("notifications");
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.post().uri("/api/v1/notifications").retrieve().toBodilessEntity())
+                    .isInstanceOf(HttpServerErrorException.class);
+        }
+
+        assertThatThrownBy(() -> client.post().uri("/api/v1/notifications").retrieve().toBodilessEntity())
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(notificationService.requests()).hasSize(4);
+    }
+
+    @Test
+    void unknownServiceIsRejected() {
+        assertThatThrownBy(() -> factory.restClient("billing")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
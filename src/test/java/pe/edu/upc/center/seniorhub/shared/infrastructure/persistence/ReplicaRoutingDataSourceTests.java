@@ -0,0 +1,192 @@
+package pe.edu.upc.center.seniorhub.payment.shared.infrastructure.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import pe.edu.upc.center.seniorhub.payment.PaymentMicroserviceApplication;
+import pe.edu.upc.center.seniorhub.payment.domain.model.aggregates.Receipt;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.CreateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.commands.UpdateReceiptCommand;
+import pe.edu.upc.center.seniorhub.payment.domain.model.projections.ReceiptVersion;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptByReceiptIdQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptVersionQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsByResidentIdQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsPageQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.queries.GetReceiptsVersionByResidentIdQuery;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.Money;
+import pe.edu.upc.center.seniorhub.payment.domain.model.valueobjects.ResidentId;
+import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptCommandService;
+import pe.edu.upc.center.seniorhub.payment.domain.services.ReceiptQueryService;
+import pe.edu.upc.center.seniorhub.payment.infrastructure.persistence.jpa.repositories.ReceiptRepository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A second embedded database stands in for the read replica. Nothing replicates into it, so a read that
+ * returns the primary's rows must have been routed to the primary.
+ */
+@SpringBootTest(classes = PaymentMicroserviceApplication.class, properties = {
+        "payment.datasource.routing.enabled=true",
+        "payment.datasource.replicas.replica1.url=" + ReplicaRoutingDataSourceTests.REPLICA_URL,
+        "payment.datasource.heartbeat-interval=PT1H"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingDataSourceTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:payment_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate REPLICA = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReceiptQueryService receiptQueryService;
+
+    @Autowired
+    private ReceiptCommandService receiptCommandService;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void migrateReplica() {
+        // In production the replica receives the schema through replication
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        receiptRepository.deleteAllInBatch();
+        REPLICA.update("delete from receipt");
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaOnlyWhileItIsCaughtUp() {
+        save(1L);
+
+        // Replica an hour behind: out of rotation, reads fall back to the primary
+        REPLICA.update("update replication_heartbeat set beat_at = ?", Timestamp.from(Instant.now().minusSeconds(3600)));
+        routingDataSource.heartbeat();
+        assertThat(routingDataSource.availableReplicas()).isEmpty();
+        assertThat(receiptQueryService.handle(new GetReceiptsPageQuery(0L, 10))).hasSize(1);
+
+        // Replica caught up with the primary's heartbeat: reads move to it and see only what it has applied
+        REPLICA.update("update replication_heartbeat set beat_at = ?",
+                jdbcTemplate.queryForObject("select beat_at from replication_heartbeat", Timestamp.class));
+        routingDataSource.heartbeat();
+        assertThat(routingDataSource.availableReplicas()).containsExactly("replica1");
+        assertThat(receiptQueryService.handle(new GetReceiptsPageQuery(0L, 10))).isEmpty();
+
+        // Writes and non-transactional JDBC keep going to the primary
+        save(2L);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from receipt", Long.class)).isEqualTo(2L);
+        assertThat(REPLICA.queryForObject("select count(*) from receipt", Long.class)).isZero();
+    }
+
+    @Test
+    void readsBehindCachesAndETagsSeeWritesTheReplicaHasNotApplied() {
+        // Replica in rotation but lagging: it has none of the writes below
+        REPLICA.update("update replication_heartbeat set beat_at = ?",
+                jdbcTemplate.queryForObject("select beat_at from replication_heartbeat", Timestamp.class));
+        routingDataSource.heartbeat();
+        assertThat(routingDataSource.availableReplicas()).containsExactly("replica1");
+
+        var receipt = receiptCommandService.handle(createCommand(5L)).orElseThrow();
+        assertThat(receiptQueryService.handle(new GetReceiptByReceiptIdQuery(receipt.getId()))).isPresent();
+        assertThat(receiptQueryService.handle(new GetReceiptsByResidentIdQuery(5L))).hasSize(1);
+
+        // The update evicts both cache entries after commit; the refill must not come from the replica
+        var today = new java.util.Date();
+        receiptCommandService.handle(new UpdateReceiptCommand(receipt.getId(), today, today, Money.ofMinor(20_000),
+                false, new ResidentId(5L), null, today, Money.ZERO, 1L, "MONTHLY", null));
+
+        assertThat(receiptQueryService.handle(new GetReceiptByReceiptIdQuery(receipt.getId())))
+                .map(Receipt::getTotalAmount).contains(Money.ofMinor(20_000));
+        assertThat(receiptQueryService.handle(new GetReceiptsByResidentIdQuery(5L)))
+                .extracting(Receipt::getTotalAmount).containsExactly(Money.ofMinor(20_000));
+        assertThat(receiptQueryService.handle(new GetReceiptVersionQuery(receipt.getId())))
+                .map(ReceiptVersion::version).contains(receipt.getVersion() + 1);
+        assertThat(receiptQueryService.handle(new GetReceiptsVersionByResidentIdQuery(5L)).receiptCount()).isEqualTo(1L);
+        assertThat(REPLICA.queryForObject("select count(*) from receipt", Long.class)).isZero();
+    }
+
+    @Test
+    void primaryReadsStayReadOnlyTransactions() {
+        REPLICA.update("update replication_heartbeat set beat_at = ?",
+                jdbcTemplate.queryForObject("select beat_at from replication_heartbeat", Timestamp.class));
+        routingDataSource.heartbeat();
+        assertThat(routingDataSource.availableReplicas()).containsExactly("replica1");
+        var receipt = receiptCommandService.handle(createCommand(6L)).orElseThrow();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        // payment.datasource.reads counts read-only transactions only, so the primary count rising by one per
+        // query shows each reached the primary as a read-only transaction
+        double primaryReads = reads("primary");
+        double replicaReads = reads("replica");
+        receiptQueryService.handle(new GetReceiptByReceiptIdQuery(receipt.getId()));
+        receiptQueryService.handle(new GetReceiptsByResidentIdQuery(6L));
+        receiptQueryService.handle(new GetReceiptVersionQuery(receipt.getId()));
+        receiptQueryService.handle(new GetReceiptsVersionByResidentIdQuery(6L));
+        assertThat(reads("primary") - primaryReads).isEqualTo(4.0);
+        assertThat(reads("replica")).isEqualTo(replicaReads);
+
+        // Outside @ReadFromPrimary the hint is gone and read-only transactions go back to the replica
+        receiptQueryService.handle(new GetReceiptsPageQuery(0L, 10));
+        assertThat(reads("replica") - replicaReads).isEqualTo(1.0);
+    }
+
+    @Test
+    void unreadableReplicaIsTakenOutOfRotation() {
+        REPLICA.update("update replication_heartbeat set beat_at = ?",
+                jdbcTemplate.queryForObject("select beat_at from replication_heartbeat", Timestamp.class));
+        routingDataSource.heartbeat();
+        assertThat(routingDataSource.availableReplicas()).containsExactly("replica1");
+
+        REPLICA.execute("alter table replication_heartbeat rename to replication_heartbeat_moved");
+        try {
+            routingDataSource.heartbeat();
+            assertThat(routingDataSource.availableReplicas()).isEmpty();
+        } finally {
+            REPLICA.execute("alter table replication_heartbeat_moved rename to replication_heartbeat");
+        }
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("payment.datasource.reads").tag("target", target).counter().count();
+    }
+
+    private static CreateReceiptCommand createCommand(long residentId) {
+        var today = new java.util.Date();
+        return new CreateReceiptCommand(today, today, Money.ofMinor(10_000), false, new ResidentId(residentId), null,
+                today, Money.ZERO, 1L, "MONTHLY");
+    }
+
+    private void save(long residentId) {
+        var issued = Date.valueOf(LocalDate.of(2026, 8, 1));
+        receiptRepository.save(new Receipt(issued, Date.valueOf(LocalDate.of(2026, 8, 31)), Money.ofMinor(10_000),
+                false, new ResidentId(residentId), null, issued, Money.ZERO, 1L, "MONTHLY"));
+    }
+}